@@ -0,0 +1,79 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * CPU spent per request on the body of a full similar products response: serialized, and compressed with the
+ * default levels, on every request, against a lookup of the pre-encoded bodies in the {@link EncodedBodyCache}
+ * (the ETag is computed in both cases, so it is left out). The brotli benchmarks need the native library of brotli4j.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodedBodyBenchmark {
+
+    @Param({"10", "50"})
+    public int products;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ResponseCacheProperties props = new ResponseCacheProperties();
+
+    private List<ProductDetail> payload;
+
+    private EncodedBodyCache cache;
+
+    @Setup
+    public void setUp() {
+        payload = IntStream.range(0, products)
+                .mapToObj(i -> new ProductDetail(String.valueOf(10_000 + i), "Linen blend relaxed fit shirt " + i,
+                        19.95 + i, i % 3 != 0))
+                .toList();
+        cache = new EncodedBodyCache(objectMapper, props, new SimpleMeterRegistry());
+        cache.get("1", "\"etag\"", payload);
+    }
+
+    @Benchmark
+    public byte[] perRequestJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] perRequestGzip() throws JsonProcessingException {
+        return ContentEncoding.GZIP.encode(objectMapper.writeValueAsBytes(payload), props.getGzipLevel());
+    }
+
+    @Benchmark
+    public byte[] perRequestGzipFast() throws JsonProcessingException {
+        return ContentEncoding.GZIP.encode(objectMapper.writeValueAsBytes(payload), 1);
+    }
+
+    @Benchmark
+    public byte[] perRequestBrotli() throws JsonProcessingException {
+        return ContentEncoding.BROTLI.encode(objectMapper.writeValueAsBytes(payload), props.getBrotliQuality());
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        EncodedBody body = cache.get("1", "\"etag\"", payload);
+        return body.bytes(body.negotiate("gzip, deflate"));
+    }
+
+    @Benchmark
+    public byte[] cachedBrotli() {
+        EncodedBody body = cache.get("1", "\"etag\"", payload);
+        return body.bytes(body.negotiate("gzip, deflate, br, zstd"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The parsing of the product API responses by {@link ProductResponses}, against the data binding of the
+ * {@code RestTemplate} message converters it replaced ({@code String[]} then a list copy, and a {@link ProductDetail}).
+ * Run with the GC profiler of the {@code BenchmarkRunner} to compare the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductResponseParsingBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int similarIds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] similarIdsBody;
+
+    private byte[] productDetailBody;
+
+    @Setup
+    public void setUp() {
+        similarIdsBody = IntStream.range(0, similarIds)
+                .mapToObj(i -> "\"" + (10_000 + i) + "\"")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        productDetailBody = "{\"id\":\"12345\",\"name\":\"Linen blend relaxed fit shirt\",\"price\":39.95,\"availability\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<String> streamingSimilarIds() throws IOException {
+        return ProductResponses.readSimilarIds(new ByteArrayInputStream(similarIdsBody), 1_000);
+    }
+
+    @Benchmark
+    public List<String> databindSimilarIds() throws IOException {
+        return Arrays.stream(objectMapper.readValue(new ByteArrayInputStream(similarIdsBody), String[].class)).toList();
+    }
+
+    @Benchmark
+    public ProductDetail streamingProductDetail() throws IOException {
+        return ProductResponses.readProductDetail(new ByteArrayInputStream(productDetailBody));
+    }
+
+    @Benchmark
+    public ProductDetail databindProductDetail() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(productDetailBody), ProductDetail.class);
+    }
+}
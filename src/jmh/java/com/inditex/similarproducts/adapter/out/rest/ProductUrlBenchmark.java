@@ -0,0 +1,41 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL construction of {@link ProductAdapter} through {@code UriComponentsBuilder}, done on every API call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductUrlBenchmark {
+
+    private ProductAdapter adapter;
+
+    private ExternalApiProperties props;
+
+    @Setup
+    public void setUp() {
+        props = new ExternalApiProperties();
+        props.setBaseUrl("http://localhost:3001");
+        props.setProductDetailPath("/product/{productId}");
+        props.setSimilarIdsPath("/product/{productId}/similarids");
+        adapter = new ProductAdapter(null, props, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String productDetailUrl() {
+        return adapter.url(props.getProductDetailPath(), "12345");
+    }
+
+    @Benchmark
+    public String similarIdsUrl() {
+        return adapter.url(props.getSimilarIdsPath(), "12345");
+    }
+}
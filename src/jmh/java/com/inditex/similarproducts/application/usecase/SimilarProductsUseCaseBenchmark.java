@@ -0,0 +1,121 @@
+package com.inditex.similarproducts.application.usecase;
+
+import com.inditex.similarproducts.application.port.out.ProductPort;
+import com.inditex.similarproducts.application.port.out.SimilarProductsCachePort;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.infrastructure.cache.PinnedKeys;
+import com.inditex.similarproducts.infrastructure.config.HotKeysProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.HotKeyTracker;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * {@link SimilarProductsUseCaseImpl#getSimilarProducts(String, Deadline)} over a stub {@link ProductPort} that answers after
+ * {@code latencyMicros} per call (one call for the similar IDs, one for the batch of details, as the cached
+ * {@code ProductAdapter} does), for lists of {@code similarProducts} products.
+ * {@code assembled} builds the response every time; {@code assembledCacheHit} serves it from the assembled cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarProductsUseCaseBenchmark {
+
+    @Param({"0", "100"})
+    public long latencyMicros;
+
+    @Param({"5", "50"})
+    public int similarProducts;
+
+    private SimilarProductsUseCaseImpl uncached;
+
+    private SimilarProductsUseCaseImpl cached;
+
+    @Setup
+    public void setUp() {
+        List<String> similarIds = IntStream.range(0, similarProducts).mapToObj(i -> String.valueOf(10_000 + i)).toList();
+        ProductPort productPort = new StubProductPort(similarIds, TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        MetricsRecorder metrics = new MetricsRecorder(new SimpleMeterRegistry());
+        HotKeyTracker hotKeys = new HotKeyTracker(new HotKeysProperties(), new PinnedKeys(), new SimpleMeterRegistry());
+
+        uncached = new SimilarProductsUseCaseImpl(productPort, metrics, new MapSimilarProductsCache(false), hotKeys);
+        cached = new SimilarProductsUseCaseImpl(productPort, metrics, new MapSimilarProductsCache(true), hotKeys);
+        cached.getSimilarProducts("1", Deadline.none());
+    }
+
+    @Benchmark
+    public List<ProductDetail> assembled() {
+        return uncached.getSimilarProducts("1", Deadline.none());
+    }
+
+    @Benchmark
+    public List<ProductDetail> assembledCacheHit() {
+        return cached.getSimilarProducts("1", Deadline.none());
+    }
+
+    private record StubProductPort(List<String> similarIds, long latencyNanos) implements ProductPort {
+
+        @Override
+        public ProductDetail getProductDetail(String productId, Deadline deadline) {
+            pause();
+            return detail(productId);
+        }
+
+        @Override
+        public List<String> getSimilarIds(String productId, Deadline deadline) {
+            pause();
+            return similarIds;
+        }
+
+        @Override
+        public Map<String, ProductDetailLookup> getProductDetails(Collection<String> productIds, Deadline deadline) {
+            pause();
+            Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+            productIds.forEach(id -> lookups.put(id, ProductDetailLookup.found(id, detail(id))));
+            return lookups;
+        }
+
+        private void pause() {
+            if (latencyNanos > 0) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+        }
+
+        private static ProductDetail detail(String productId) {
+            return new ProductDetail(productId, "Product " + productId, 19.95, true);
+        }
+    }
+
+    private static final class MapSimilarProductsCache implements SimilarProductsCachePort {
+        private final Map<String, SimilarProducts> entries = new ConcurrentHashMap<>();
+        private final boolean enabled;
+
+        private MapSimilarProductsCache(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        @Override
+        public Optional<SimilarProducts> get(String productId) {
+            return Optional.ofNullable(entries.get(productId));
+        }
+
+        @Override
+        public void put(String productId, SimilarProducts similarProducts) {
+            if (enabled) {
+                entries.put(productId, similarProducts);
+            }
+        }
+    }
+}
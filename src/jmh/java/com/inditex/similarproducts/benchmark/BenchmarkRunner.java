@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler, so every result reports the allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) next to the throughput. Results are also written to
+ * {@code target/jmh-result.json} to compare runs.
+ * <p>
+ * Usage: {@code mvn -Pbenchmark test-compile exec:exec [-Dbenchmark=<regex>]}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 && !args[0].isBlank() ? args[0] : ".*Benchmark.*";
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build())
+                .run();
+    }
+}
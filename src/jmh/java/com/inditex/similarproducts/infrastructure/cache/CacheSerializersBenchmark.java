@@ -0,0 +1,83 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The Redis value serializers built by {@link CacheSerializers} (the ones {@code CacheConfig} and
+ * {@code ReactiveConfig} use), for a product detail and for an assembled response of 50 products.
+ * {@code codec} is {@code json}, {@code binary}, {@code binary-lz4} or {@code binary-deflate}; the compression
+ * threshold is the default one, so only the assembled response gets compressed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializersBenchmark {
+
+    @Param({"json", "binary", "binary-lz4", "binary-deflate"})
+    public String codec;
+
+    private RedisSerializer<CacheEntry<ProductDetail>> productDetailSerializer;
+
+    private RedisSerializer<CacheEntry<SimilarProducts>> similarProductsSerializer;
+
+    private CacheEntry<ProductDetail> productDetail;
+
+    private CacheEntry<SimilarProducts> similarProducts;
+
+    private byte[] productDetailBytes;
+
+    private byte[] similarProductsBytes;
+
+    @Setup
+    public void setUp() {
+        CacheProperties properties = new CacheProperties();
+        String[] parts = codec.split("-");
+        properties.getCodec().setFormat(CacheProperties.Codec.Format.valueOf(parts[0].toUpperCase()));
+        properties.getCodec().setCompression(parts.length > 1
+                ? CacheCompression.valueOf(parts[1].toUpperCase()) : CacheCompression.NONE);
+        CacheSerializers serializers = new CacheSerializers(new ObjectMapper(), properties);
+        productDetailSerializer = serializers.productDetail();
+        similarProductsSerializer = serializers.similarProducts();
+
+        productDetail = CacheEntry.of(new ProductDetail("12345", "Linen blend relaxed fit shirt", 39.95, true));
+        List<ProductDetail> products = IntStream.range(0, 50)
+                .mapToObj(i -> new ProductDetail(String.valueOf(10_000 + i), "Linen blend relaxed fit shirt " + i,
+                        19.95 + i, i % 3 != 0))
+                .toList();
+        similarProducts = CacheEntry.of(new SimilarProducts(products.stream().map(ProductDetail::id).toList(), products));
+        productDetailBytes = productDetailSerializer.serialize(productDetail);
+        similarProductsBytes = similarProductsSerializer.serialize(similarProducts);
+    }
+
+    @Benchmark
+    public byte[] serializeProductDetail() {
+        return productDetailSerializer.serialize(productDetail);
+    }
+
+    @Benchmark
+    public CacheEntry<ProductDetail> deserializeProductDetail() {
+        return productDetailSerializer.deserialize(productDetailBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeSimilarProducts() {
+        return similarProductsSerializer.serialize(similarProducts);
+    }
+
+    @Benchmark
+    public CacheEntry<SimilarProducts> deserializeSimilarProducts() {
+        return similarProductsSerializer.deserialize(similarProductsBytes);
+    }
+}
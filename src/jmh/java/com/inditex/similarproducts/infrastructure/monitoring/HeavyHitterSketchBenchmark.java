@@ -0,0 +1,48 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link HeavyHitterSketch#add(String)} with the default dimensions of {@code hot-keys.*}, over 100k product IDs
+ * drawn with a skewed (roughly Zipfian) distribution, from a single thread and from four threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeavyHitterSketchBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private HeavyHitterSketch sketch;
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        sketch = new HeavyHitterSketch(8192, 4, 100);
+        keys = IntStream.range(0, KEYS).mapToObj(i -> String.valueOf(10_000 + i)).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public long add() {
+        return sketch.add(nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long addContended() {
+        return sketch.add(nextKey());
+    }
+
+    private String nextKey() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return keys[(int) (KEYS * u * u * u)];
+    }
+}
@@ -0,0 +1,38 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MetricsRecorder#recordRequest(String, MetricsType)} on the Prometheus registry used in production,
+ * from a single thread and from four threads recording the same counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsRecorderBenchmark {
+
+    private MetricsRecorder metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new MetricsRecorder(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordRequestContended() {
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.domain.model.ProductDetail;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of a {@link ProductDetail} that a response can be projected on ({@code fields=id,price}), so that clients
+ * only needing some of them do not pay for the serialization and transfer of the others.
+ */
+enum ProductDetailField {
+    ID("id", ProductDetail::id),
+    NAME("name", ProductDetail::name),
+    PRICE("price", ProductDetail::price),
+    AVAILABILITY("availability", ProductDetail::availability);
+
+    private final String jsonName;
+    private final Function<ProductDetail, Object> accessor;
+
+    ProductDetailField(String jsonName, Function<ProductDetail, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Parses a comma separated list of field names.
+     *
+     * @param fields the field names, as serialized in a {@link ProductDetail}.
+     * @return the fields, in declaration order.
+     * @throws IllegalArgumentException if a name is not the one of a field.
+     */
+    static Set<ProductDetailField> parse(String fields) {
+        Set<ProductDetailField> parsed = EnumSet.noneOf(ProductDetailField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.jsonName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(String.format(
+                            "Unknown field '%s' in the 'fields' parameter, expected some of %s", trimmed,
+                            Arrays.stream(values()).map(field -> field.jsonName).collect(Collectors.joining(","))))));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("The 'fields' parameter must name at least one field");
+        }
+        return parsed;
+    }
+
+    /**
+     * Keeps only {@code fields} of every product.
+     */
+    static List<Map<String, Object>> project(List<ProductDetail> products, Set<ProductDetailField> fields) {
+        return products.stream()
+                .map(product -> {
+                    Map<String, Object> projected = new LinkedHashMap<>();
+                    fields.forEach(field -> projected.put(field.jsonName, field.accessor.apply(product)));
+                    return projected;
+                })
+                .toList();
+    }
+}
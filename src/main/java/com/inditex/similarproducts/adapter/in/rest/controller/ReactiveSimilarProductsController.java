@@ -0,0 +1,133 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.application.port.in.ReactiveSimilarProductsUseCase;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.infrastructure.config.DeadlineProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Same endpoints as {@link SimilarProductsController}, served when {@code execution.mode=reactive}.
+ * The request thread is released as soon as the pipeline is assembled; the response is written when the
+ * {@link Mono} completes, and errors go through the same exception handlers. As in blocking mode, every request gets
+ * a {@link Deadline} of {@code deadline.request-timeout} as soon as it is handled, which bounds all the upstream calls
+ * of its pipeline.
+ */
+@RestController
+@RequestMapping("/product")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "execution.mode", havingValue = "reactive")
+public class ReactiveSimilarProductsController {
+    private final ReactiveSimilarProductsUseCase service;
+    private final DeadlineProperties deadlineProps;
+
+    @Operation(summary = "Retrieve similar products",
+            description = "Given a productId, returns a list of similar products with their details. "
+                    + "`offset`, `limit`, `availableOnly` and `fields` select the same slice and fields as in "
+                    + "blocking mode. Responses carry a strong `ETag`; a request whose `If-None-Match` matches it "
+                    + "is answered with a 304 and no body. Responses are not pre-compressed.")
+    @ApiResponse(responseCode = "200", description = "List of similar products found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDetail.class)))
+    @ApiResponse(responseCode = "304", description = "The similar products match the If-None-Match ETag")
+    @ApiResponse(responseCode = "400", description = "Invalid offset, limit or fields")
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    @ApiResponse(responseCode = "504", description = "The similar products could not be retrieved in time")
+    @GetMapping("/{productId}/similar")
+    public Mono<ResponseEntity<?>> getSimilarProducts(
+            @Parameter(description = "ID of the base product", required = true, example = "10")
+            @PathVariable @NotBlank (message = "The 'productId' parameter is required") String productId,
+            @Parameter(description = "Position in the similar products to start from", example = "0")
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "The 'offset' parameter must not be negative") int offset,
+            @Parameter(description = "Maximum number of products to return", example = "4")
+            @RequestParam(required = false) @Min(value = 1, message = "The 'limit' parameter must be positive") Integer limit,
+            @Parameter(description = "Whether to return available products only", example = "false")
+            @RequestParam(defaultValue = "false") boolean availableOnly,
+            @Parameter(description = "Comma separated fields to return for every product", example = "id,price")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SimilarProductsQuery query = new SimilarProductsQuery(offset,
+                limit == null ? SimilarProductsQuery.UNLIMITED : limit, availableOnly);
+        Set<ProductDetailField> projection = fields == null ? null : ProductDetailField.parse(fields);
+        return service.getSimilarProducts(productId, query, requestDeadline()).map(products -> {
+            String etag = SimilarProductsETag.of(query, projection, products);
+            String matched = SimilarProductsETag.match(ifNoneMatch, etag);
+            if (matched != null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(matched).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .body(projection == null ? products : ProductDetailField.project(products, projection));
+        });
+    }
+
+    @Operation(summary = "Stream similar products",
+            description = "Same as the JSON representation, but every product is written as soon as it is retrieved "
+                    + "(as NDJSON lines or `product` events), followed by a summary record with the outcome.")
+    @ApiResponse(responseCode = "200", description = "Stream of similar products followed by a summary",
+            content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)})
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    @GetMapping(value = "/{productId}/similar", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<ResponseBodyEmitter> streamSimilarProducts(
+            @Parameter(description = "ID of the base product", required = true, example = "10")
+            @PathVariable @NotBlank (message = "The 'productId' parameter is required") String productId,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        SimilarProductsStream stream = SimilarProductsStream.forAccept(accept);
+        Disposable subscription = service.streamSimilarProducts(productId, requestDeadline(), stream::product)
+                .subscribe(stream::complete, stream::fail);
+        stream.onClose(subscription::dispose);
+        return stream.response();
+    }
+
+    @Operation(summary = "Retrieve the similar products of several products",
+            description = "Given a list of productIds, returns the similar products of each one, resolved in one pass: "
+                    + "products similar to several of them are retrieved once. Every entry has the status and the "
+                    + "products that the single product endpoint would have answered.")
+    @ApiResponse(responseCode = "200", description = "Similar products of every distinct productId, with their status")
+    @ApiResponse(responseCode = "400", description = "Missing, blank or too many productIds")
+    @PostMapping(value = "/similar:batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Map<String, SimilarProductsBatchEntry>>> getSimilarProductsBatch(
+            @RequestBody @Valid SimilarProductsBatchRequest request) {
+        return service.getSimilarProductsBatch(request.productIds(), requestDeadline()).map(lookups -> {
+            Map<String, SimilarProductsBatchEntry> entries = new LinkedHashMap<>();
+            lookups.forEach((productId, lookup) -> entries.put(productId, SimilarProductsBatchEntry.of(lookup)));
+            return ResponseEntity.ok(entries);
+        });
+    }
+
+    private Deadline requestDeadline() {
+        return Deadline.after(deadlineProps.getRequestTimeout());
+    }
+}
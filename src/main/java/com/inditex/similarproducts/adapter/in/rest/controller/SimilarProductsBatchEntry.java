@@ -0,0 +1,45 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+
+import java.util.List;
+
+import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.*;
+import static org.springframework.http.HttpStatus.*;
+
+/**
+ * Entry of a batch similar products response: the status and body that {@code GET /product/{productId}/similar}
+ * would have answered for the same product, errors included, as mapped by the
+ * {@link com.inditex.similarproducts.adapter.in.rest.error.ExceptionHandlerController}.
+ *
+ * @param status the HTTP status of the entry.
+ * @param products the similar products, empty when the entry failed.
+ * @param error the error message, only when the entry failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SimilarProductsBatchEntry(
+        int status,
+        List<ProductDetail> products,
+        String error
+) {
+    static SimilarProductsBatchEntry of(SimilarProductsLookup lookup) {
+        if (lookup.isFound()) {
+            return new SimilarProductsBatchEntry(OK.value(), lookup.products(), null);
+        }
+        return switch (lookup.error()) {
+            case NotFoundException ex -> failed(NOT_FOUND.value(), PRODUCT_NOT_FOUND.getMessage());
+            case DeadlineExceededException ex -> failed(GATEWAY_TIMEOUT.value(), DEADLINE_EXCEEDED.getMessage());
+            case ExternalServiceException ex -> failed(ex.getStatus(), ex.getMessage());
+            default -> failed(INTERNAL_SERVER_ERROR.value(), INTERNAL_ERROR.getMessage());
+        };
+    }
+
+    private static SimilarProductsBatchEntry failed(int status, String error) {
+        return new SimilarProductsBatchEntry(status, List.of(), error);
+    }
+}
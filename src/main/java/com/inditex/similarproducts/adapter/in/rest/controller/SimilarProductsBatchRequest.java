@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Body of a batch similar products request.
+ *
+ * @param productIds the IDs of the base products; duplicates are resolved once.
+ */
+public record SimilarProductsBatchRequest(
+        @Schema(description = "IDs of the base products", example = "[\"1\", \"2\", \"3\"]")
+        @NotEmpty(message = "The 'productIds' list is required")
+        @Size(max = SimilarProductsBatchRequest.MAX_PRODUCT_IDS,
+                message = "At most " + SimilarProductsBatchRequest.MAX_PRODUCT_IDS + " 'productIds' per batch")
+        List<@NotBlank(message = "The 'productIds' must not be blank") String> productIds
+) {
+    public static final int MAX_PRODUCT_IDS = 100;
+}
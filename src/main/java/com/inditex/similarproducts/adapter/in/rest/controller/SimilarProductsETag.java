@@ -0,0 +1,120 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.adapter.in.rest.encoding.ContentEncoding;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import org.springframework.http.ETag;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Strong ETag of a similar products response, computed from the products themselves rather than from the
+ * serialized body: a 64-bit FNV-1a hash over their fields, the slice and the projection of the request. It costs a
+ * pass over a few short strings, so a matching {@code If-None-Match} is answered with a 304 before anything is
+ * projected or serialized.
+ */
+final class SimilarProductsETag {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private SimilarProductsETag() {
+    }
+
+    /**
+     * @param projection the fields of the response, {@code null} for all of them.
+     * @return the quoted ETag of the response.
+     */
+    static String of(SimilarProductsQuery query, Set<ProductDetailField> projection, List<ProductDetail> products) {
+        long hash = OFFSET_BASIS;
+        hash = mix(hash, query.offset());
+        hash = mix(hash, query.limit());
+        hash = mix(hash, query.availableOnly() ? 1 : 0);
+        long fields = -1;
+        if (projection != null) {
+            fields = 0;
+            for (ProductDetailField field : projection) {
+                fields |= 1L << field.ordinal();
+            }
+        }
+        hash = mix(hash, fields);
+        hash = mix(hash, products.size());
+        for (ProductDetail product : products) {
+            hash = mix(hash, product.id());
+            hash = mix(hash, product.name());
+            hash = mix(hash, Double.doubleToLongBits(product.price()));
+            hash = mix(hash, product.availability() ? 1 : 0);
+        }
+        return '"' + toHex(finish(hash)) + '"';
+    }
+
+    /**
+     * @param ifNoneMatch the {@code If-None-Match} header of the request, {@code null} when absent.
+     * @return whether the client already has the response of {@code etag}, in any content coding.
+     * @see #match(String, String)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        return match(ifNoneMatch, etag) != null;
+    }
+
+    /**
+     * Finds the ETag of {@code If-None-Match} that the client has for the response of {@code etag}: the ETag
+     * itself or the ETag of one of its content codings (see {@link ContentEncoding#etag(String)}), compared weakly
+     * as for any {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header of the request, {@code null} when absent.
+     * @return the matching ETag, as sent by the client, or {@code etag} for a wildcard; {@code null} when none
+     * matches.
+     */
+    static String match(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard()) {
+                return etag;
+            }
+            for (ContentEncoding encoding : ContentEncoding.values()) {
+                if (candidate.compare(ETag.create(encoding.etag(etag)), false)) {
+                    return candidate.formattedTag();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1);
+        }
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 16) {
+            hash = (hash ^ ((value >>> shift) & 0xffff)) * PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Final avalanche (MurmurHash3 fmix64), so that close inputs do not give close ETags.
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static String toHex(long hash) {
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,99 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streamed representation of the similar products of a product: one record per product, written as soon as it is
+ * retrieved, followed by a {@link SimilarProductsSummary}. As NDJSON every record is a JSON document on its own line;
+ * as Server-Sent Events products are {@code product} events and the summary is a final {@code summary} event.
+ * Writing fails with an unchecked exception once the client is gone or the response has timed out, and keeps failing
+ * without writing from then on, so the producer can stop early.
+ */
+final class SimilarProductsStream {
+    private static final String PRODUCT_EVENT = "product";
+    private static final String SUMMARY_EVENT = "summary";
+
+    private final ResponseBodyEmitter emitter;
+    private final MediaType mediaType;
+    private volatile boolean closed;
+
+    private SimilarProductsStream(ResponseBodyEmitter emitter, MediaType mediaType) {
+        this.emitter = emitter;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Picks Server-Sent Events when the client accepts {@code text/event-stream}, and NDJSON otherwise.
+     */
+    static SimilarProductsStream forAccept(String accept) {
+        boolean sse = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM));
+        return sse
+                ? new SimilarProductsStream(new SseEmitter(), MediaType.TEXT_EVENT_STREAM)
+                : new SimilarProductsStream(new ResponseBodyEmitter(), MediaType.APPLICATION_NDJSON);
+    }
+
+    ResponseEntity<ResponseBodyEmitter> response() {
+        return ResponseEntity.ok().contentType(mediaType).body(emitter);
+    }
+
+    /**
+     * Registers {@code callback} to run once the response is over, whether it completed, timed out or the client
+     * went away; from then on writing fails.
+     */
+    void onClose(Runnable callback) {
+        emitter.onCompletion(() -> close(callback));
+        emitter.onTimeout(() -> close(callback));
+        emitter.onError(ex -> close(callback));
+    }
+
+    void product(ProductDetail detail) {
+        send(PRODUCT_EVENT, detail);
+    }
+
+    void complete(SimilarProductsSummary summary) {
+        send(SUMMARY_EVENT, summary);
+        emitter.complete();
+    }
+
+    void fail(Throwable ex) {
+        if (!closed) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private void close(Runnable callback) {
+        closed = true;
+        callback.run();
+    }
+
+    private void send(String event, Object data) {
+        if (closed) {
+            throw new IllegalStateException("The similar products stream is closed");
+        }
+        try {
+            if (emitter instanceof SseEmitter sse) {
+                sse.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } else {
+                Set<ResponseBodyEmitter.DataWithMediaType> line = new LinkedHashSet<>(List.of(
+                        new ResponseBodyEmitter.DataWithMediaType(data, MediaType.APPLICATION_JSON),
+                        new ResponseBodyEmitter.DataWithMediaType("\n", MediaType.TEXT_PLAIN)));
+                emitter.send(line);
+            }
+        } catch (IOException ex) {
+            closed = true;
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
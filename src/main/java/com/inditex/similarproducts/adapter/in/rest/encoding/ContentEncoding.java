@@ -0,0 +1,91 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings a response body can be sent with. Brotli needs a native library of brotli4j, packaged for Linux
+ * x86_64 and aarch64 and for the platform the application was built on; elsewhere, bodies are never encoded with
+ * brotli.
+ */
+@Getter
+public enum ContentEncoding {
+    IDENTITY("identity") {
+        @Override
+        byte[] encode(byte[] body, int level) {
+            return body;
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        byte[] encode(byte[] body, int level) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(level);
+                }
+            }) {
+                gzip.write(body);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+    },
+    BROTLI("br") {
+        @Override
+        byte[] encode(byte[] body, int level) {
+            try {
+                return Encoder.compress(body, new Encoder.Parameters().setQuality(level));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return BROTLI_AVAILABLE;
+        }
+    };
+
+    private static final boolean BROTLI_AVAILABLE = Brotli4jLoader.isAvailable();
+
+    /** Token of the coding in {@code Accept-Encoding} and {@code Content-Encoding}. */
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Encodes {@code body}.
+     *
+     * @param level the compression level, in the range of the coding ({@link Deflater} levels for gzip, 0 to 11
+     *              for brotli).
+     */
+    abstract byte[] encode(byte[] body, int level);
+
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * ETag of a body sent with this coding: the ETag of its content suffixed with the token of the coding, since
+     * every coding is a different representation with different bytes. Identity keeps the ETag of the content.
+     *
+     * @param etag the quoted ETag of the content.
+     */
+    public String etag(String etag) {
+        if (this == IDENTITY) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + '-' + token + '"';
+    }
+}
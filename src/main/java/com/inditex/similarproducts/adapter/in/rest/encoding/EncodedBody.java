@@ -0,0 +1,86 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * JSON body of a response together with its pre-compressed variants, all of the same version of the content.
+ *
+ * @param etag the ETag of the content the variants encode.
+ * @param variants the encoded bytes of the body, by coding; always holds {@link ContentEncoding#IDENTITY}.
+ */
+public record EncodedBody(String etag, Map<ContentEncoding, byte[]> variants) {
+    /** Codings preferred when the client accepts several with the same quality, smallest output first. */
+    private static final ContentEncoding[] PREFERENCE = {ContentEncoding.BROTLI, ContentEncoding.GZIP};
+
+    /**
+     * @return the bytes of the body in {@code encoding}.
+     */
+    public byte[] bytes(ContentEncoding encoding) {
+        return variants.get(encoding);
+    }
+
+    /**
+     * Picks the variant to send for an {@code Accept-Encoding} header: the available coding with the highest
+     * quality value, preferring brotli to gzip and any of them to identity on ties. Identity is the fallback, and
+     * is only preferred to the accepted codings when listed with a higher quality value.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, {@code null} when absent.
+     */
+    public ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank() || variants.size() == 1) {
+            return ContentEncoding.IDENTITY;
+        }
+        double wildcard = -1;
+        double identity = -1;
+        double[] qualities = new double[PREFERENCE.length];
+        Arrays.fill(qualities, -1);
+        for (String part : acceptEncoding.split(",")) {
+            int semicolon = part.indexOf(';');
+            String token = (semicolon < 0 ? part : part.substring(0, semicolon)).trim();
+            double quality = semicolon < 0 ? 1 : quality(part.substring(semicolon + 1));
+            if (token.equals("*")) {
+                wildcard = quality;
+            } else if (token.equalsIgnoreCase(ContentEncoding.IDENTITY.getToken())) {
+                identity = quality;
+            } else {
+                for (int i = 0; i < PREFERENCE.length; i++) {
+                    if (token.equalsIgnoreCase(PREFERENCE[i].getToken())) {
+                        qualities[i] = quality;
+                    }
+                }
+            }
+        }
+        ContentEncoding best = ContentEncoding.IDENTITY;
+        double bestQuality = Math.max(identity, 0);
+        for (int i = PREFERENCE.length - 1; i >= 0; i--) {
+            double quality = qualities[i] >= 0 ? qualities[i] : wildcard;
+            if (quality > 0 && quality >= bestQuality && variants.containsKey(PREFERENCE[i])) {
+                best = PREFERENCE[i];
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Total size of the variants, the weight of the body in the cache.
+     */
+    public int size() {
+        return variants.values().stream().mapToInt(bytes -> bytes.length).sum();
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
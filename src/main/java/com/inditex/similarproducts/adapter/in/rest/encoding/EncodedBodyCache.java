@@ -0,0 +1,89 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.infrastructure.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * In-process cache of the encoded bodies of the full similar products responses, keyed by base product ID:
+ * the JSON bytes and their gzip and brotli variants, so a popular product is serialized and compressed once per
+ * version of its similar products instead of on every request. An entry is only served for the ETag it was built
+ * for; a request that sees another version rebuilds it, so entries never need to be invalidated.
+ * Entries are bounded by {@code response-cache.maximum-size}. Lookups are counted as {@code response.body.cache{result=hit|miss}}.
+ */
+@Component
+@Slf4j
+public class EncodedBodyCache {
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties props;
+    private final Cache<String, EncodedBody> bodies;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EncodedBodyCache(ObjectMapper objectMapper, ResponseCacheProperties props, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(props.getMaximumSize().toBytes())
+                .weigher((String productId, EncodedBody body) -> body.size())
+                .build();
+        this.hits = Counter.builder("response.body.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("response.body.cache").tag("result", "miss").register(meterRegistry);
+        if (!ContentEncoding.BROTLI.isAvailable()) {
+            log.warn("Brotli is not available on this platform, response bodies are only compressed with gzip");
+        }
+    }
+
+    /**
+     * Returns the encoded body of the response of {@code productId}, building it from {@code content} when the
+     * cached one is missing or of another version.
+     *
+     * @param etag the ETag of {@code content}.
+     * @param content the value serialized as the JSON body.
+     */
+    public EncodedBody get(String productId, String etag, Object content) {
+        if (!props.isEnabled()) {
+            return encode(etag, content);
+        }
+        EncodedBody body = bodies.getIfPresent(productId);
+        if (body != null && body.etag().equals(etag)) {
+            hits.increment();
+            return body;
+        }
+        misses.increment();
+        body = encode(etag, content);
+        bodies.put(productId, body);
+        return body;
+    }
+
+    /**
+     * Serializes {@code content} and compresses it with every available coding.
+     */
+    EncodedBody encode(String etag, Object content) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(content);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Map<ContentEncoding, byte[]> variants = new EnumMap<>(ContentEncoding.class);
+        variants.put(ContentEncoding.IDENTITY, json);
+        if (json.length >= props.getMinCompressSize().toBytes()) {
+            variants.put(ContentEncoding.GZIP, ContentEncoding.GZIP.encode(json, props.getGzipLevel()));
+            if (ContentEncoding.BROTLI.isAvailable()) {
+                variants.put(ContentEncoding.BROTLI, ContentEncoding.BROTLI.encode(json, props.getBrotliQuality()));
+            }
+        }
+        return new EncodedBody(etag, variants);
+    }
+}
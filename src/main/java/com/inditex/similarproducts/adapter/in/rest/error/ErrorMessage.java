@@ -7,7 +7,9 @@ public enum ErrorMessage {
     PRODUCT_NOT_FOUND("Product not found"),
     VALIDATION_ERROR("Validation error"),
     PRODUCT_API_ERROR("Product API error"),
-    INTERNAL_ERROR("Internal error");
+    INTERNAL_ERROR("Internal error"),
+    SERVICE_OVERLOADED("Service overloaded, retry later"),
+    DEADLINE_EXCEEDED("Request deadline exceeded");
 
     private final String message;
 
@@ -1,5 +1,6 @@
 package com.inditex.similarproducts.adapter.in.rest.error;
 
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
 import com.inditex.similarproducts.domain.exception.ExternalServiceException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
@@ -8,10 +9,15 @@ import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.stream.Collectors;
+
 import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.*;
 import static org.springframework.http.HttpStatus.*;
 
@@ -21,13 +27,24 @@ import static org.springframework.http.HttpStatus.*;
 public class ExceptionHandlerController {
     private final MetricsRecorder metrics;
 
-    @ExceptionHandler({IllegalArgumentException.class, ConstraintViolationException.class})
+    @ExceptionHandler({IllegalArgumentException.class, ConstraintViolationException.class,
+            HttpMessageNotReadableException.class})
     public ResponseEntity<String> handleBadRequest(Exception ex) {
         log.warn("Bad request: {}", ex.getMessage());
         metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.BAD_REQUEST);
         return ResponseEntity.status(BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<String> handleInvalidBody(MethodArgumentNotValidException ex) {
+        String message = ex.getBindingResult().getAllErrors().stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+        log.warn("Bad request: {}", message);
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.BAD_REQUEST);
+        return ResponseEntity.status(BAD_REQUEST).body(message);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<String> handleNotFound(NotFoundException ex) {
         log.info("Not found exception: {}", ex.getMessage());
@@ -42,6 +59,13 @@ public class ExceptionHandlerController {
         return ResponseEntity.status(ex.getStatus()).body(ex.getMessage());
     }
 
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<String> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.DEADLINE_EXCEEDED);
+        return ResponseEntity.status(GATEWAY_TIMEOUT).body(DEADLINE_EXCEEDED.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneric(Exception ex) {
         log.error("Unhandled error", ex);
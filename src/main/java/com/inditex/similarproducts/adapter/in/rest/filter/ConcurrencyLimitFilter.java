@@ -0,0 +1,114 @@
+package com.inditex.similarproducts.adapter.in.rest.filter;
+
+import com.inditex.similarproducts.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.inditex.similarproducts.infrastructure.config.ConcurrencyLimitProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.SERVICE_OVERLOADED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Sheds load on the similar products endpoints (single and batch): requests beyond the limit of the {@link AdaptiveConcurrencyLimiter}
+ * are rejected at once with 503 and {@code Retry-After} instead of waiting for a servlet thread.
+ * Asynchronous requests (reactive mode and streams) keep their slot until the async processing completes.
+ * Registered by {@link com.inditex.similarproducts.infrastructure.config.ConcurrencyLimitConfig}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Pattern LIMITED_PATH = Pattern.compile("^/product/([^/]+/similar|similar:batch)$");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties props;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !LIMITED_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            log.warn("Rejecting {}: {} requests in flight, limit {}",
+                    request.getRequestURI(), limiter.getInFlight(), limiter.getLimit());
+            reject(response);
+            return;
+        }
+        Slot slot = new Slot(System.nanoTime());
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            slot.release(true);
+            throw ex;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(slot);
+        } else {
+            slot.release(false);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, props.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(SERVICE_OVERLOADED.getMessage());
+    }
+
+    /**
+     * Slot of one request, released exactly once: when the filter chain returns, or when the async processing ends.
+     */
+    private class Slot implements AsyncListener {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Slot(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(startNanos, dropped);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the slot stays attached to the new async cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.inditex.similarproducts.adapter.out.cache;
+
+import com.inditex.similarproducts.application.port.out.SimilarProductsCachePort;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.infrastructure.cache.CacheBatches;
+import com.inditex.similarproducts.infrastructure.cache.DependencyIndex;
+import com.inditex.similarproducts.infrastructure.cache.DependencyTrackingCacheManager;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implements the {@link SimilarProductsCachePort} on the {@value #CACHE_NAME} cache. Each entry is registered in
+ * the {@link DependencyIndex} as built from the similar IDs of its product and from the product details of its
+ * similar products, so the {@link DependencyTrackingCacheManager} evicts it when any of them changes.
+ * When the cache manager has no such cache, every lookup is a miss.
+ */
+@Component
+@Slf4j
+public class SimilarProductsCacheAdapter implements SimilarProductsCachePort {
+    public static final String CACHE_NAME = "similarProducts";
+    private static final String PRODUCT_DETAIL_CACHE = "productDetail";
+    private static final String SIMILAR_IDS_CACHE = "similarIds";
+
+    private final CacheManager cacheManager;
+    private final DependencyIndex dependencyIndex;
+    private final Counter hits;
+    private final Counter misses;
+
+    public SimilarProductsCacheAdapter(CacheManager cacheManager,
+                                       DependencyIndex dependencyIndex,
+                                       MetricsRecorder metrics) {
+        this.cacheManager = cacheManager;
+        this.dependencyIndex = dependencyIndex;
+        this.hits = metrics.assembledCacheGets(CACHE_NAME, true);
+        this.misses = metrics.assembledCacheGets(CACHE_NAME, false);
+    }
+
+    @Override
+    public Optional<SimilarProducts> get(String productId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        SimilarProducts similarProducts = cache == null ? null : cache.get(productId, SimilarProducts.class);
+        (similarProducts != null ? hits : misses).increment();
+        return Optional.ofNullable(similarProducts);
+    }
+
+    /**
+     * Looks up the assembled responses of several products in a single batch.
+     */
+    @Override
+    public Map<String, SimilarProducts> getAll(Collection<String> productIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Object, Object> values = cache == null ? Map.of() : CacheBatches.getAll(cache, productIds);
+        Map<String, SimilarProducts> found = new HashMap<>();
+        for (String productId : productIds) {
+            if (values.get(productId) instanceof SimilarProducts similarProducts) {
+                found.put(productId, similarProducts);
+            }
+            (found.containsKey(productId) ? hits : misses).increment();
+        }
+        return found;
+    }
+
+    /**
+     * Stores the assembled response of a product. A component change racing with this write may go unnoticed;
+     * {@code cache.similar-products-ttl} bounds how long such an entry is served.
+     */
+    @Override
+    public void put(String productId, SimilarProducts similarProducts) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        dependencyIndex.register(productId, SIMILAR_IDS_CACHE, List.of(productId));
+        dependencyIndex.register(productId, PRODUCT_DETAIL_CACHE, similarProducts.similarIds());
+        cache.put(productId, similarProducts);
+        log.debug("Cached the assembled similar products of {}", productId);
+    }
+}
@@ -5,60 +5,177 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inditex.similarproducts.application.port.out.ProductPort;
 import com.inditex.similarproducts.domain.exception.ExternalServiceException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.config.MockApiProperties;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Simulated product API of the {@code local} profile ({@code mock-api.*}).
+ * The products of {@code mock-api.json} are indexed once on startup, and a synthetic catalog of any size can be
+ * added with {@code mock-api.catalog.size}. Every call waits for a latency sampled from the distribution of its
+ * endpoint and may fail with injected 500s and 404s, and slowdown episodes can stretch all latencies, so the
+ * behaviour of the service under a slow or failing upstream can be reproduced without the product API.
+ * Batches are looked up concurrently through the {@link FanOutExecutor}, like the real adapter does.
+ */
 @Component
+@Slf4j
 @Profile("local")
 public class MockProductAdapter implements ProductPort {
-    private final JsonNode root;
+    private static final String NOT_FOUND = "NOT_FOUND";
+    private static final String ERROR = "ERROR";
 
-    public MockProductAdapter(ObjectMapper objectMapper) throws Exception {
-        InputStream input = getClass().getClassLoader().getResourceAsStream("mock-api.json");
-        this.root = objectMapper.readTree(input);
+    private final MockApiProperties props;
+    private final FanOutExecutor fanOutExecutor;
+    private final SimulatedUpstream upstream;
+    private final SyntheticCatalog catalog;
+    private final Map<String, ProductDetail> productDetails;
+    private final Map<String, List<String>> similarIds;
+    /** {@code NOT_FOUND} or {@code ERROR} answers of the file, by product ID. */
+    private final Map<String, String> productDetailFaults;
+    private final Map<String, String> similarIdsFaults;
+
+    public MockProductAdapter(ObjectMapper objectMapper, MockApiProperties props, FanOutExecutor fanOutExecutor)
+            throws IOException {
+        this(objectMapper, props, fanOutExecutor, new SimulatedUpstream(props));
     }
 
-    @Override
-    public ProductDetail getProductDetail(String productId) {
-        JsonNode node = root.path("product-details").path(productId);
+    MockProductAdapter(ObjectMapper objectMapper, MockApiProperties props, FanOutExecutor fanOutExecutor,
+                       SimulatedUpstream upstream) throws IOException {
+        this.props = props;
+        this.fanOutExecutor = fanOutExecutor;
+        this.upstream = upstream;
+        this.catalog = new SyntheticCatalog(props.getCatalog());
 
-        if (node.isMissingNode()) {
-            throw new NotFoundException("Mock: product not found " + productId);
-        }
-        if (node.isTextual()) {
-            switch (node.asText()) {
-                case "NOT_FOUND" -> throw new NotFoundException("Mock: product not found " + productId);
-                case "ERROR" -> throw new ExternalServiceException("Mock: error for " + productId, 500);
+        JsonNode root = readFile(objectMapper, props.getFile());
+        Map<String, ProductDetail> details = new HashMap<>();
+        Map<String, String> detailFaults = new HashMap<>();
+        root.path("product-details").properties().forEach(entry -> {
+            JsonNode node = entry.getValue();
+            if (node.isTextual()) {
+                detailFaults.put(entry.getKey(), node.asText());
+            } else {
+                details.put(entry.getKey(), new ProductDetail(
+                        node.get("id").asText(),
+                        node.get("name").asText(),
+                        node.get("price").asDouble(),
+                        node.get("availability").asBoolean()));
+            }
+        });
+        Map<String, List<String>> ids = new HashMap<>();
+        Map<String, String> idsFaults = new HashMap<>();
+        root.path("similar-ids").properties().forEach(entry -> {
+            JsonNode node = entry.getValue();
+            if (node.isTextual()) {
+                idsFaults.put(entry.getKey(), node.asText());
+            } else {
+                List<String> similar = new ArrayList<>(node.size());
+                node.forEach(n -> similar.add(n.asText()));
+                ids.put(entry.getKey(), List.copyOf(similar));
+            }
+        });
+        this.productDetails = Map.copyOf(details);
+        this.productDetailFaults = Map.copyOf(detailFaults);
+        this.similarIds = Map.copyOf(ids);
+        this.similarIdsFaults = Map.copyOf(idsFaults);
+        log.info("Mock product API: {} products from {}, {} synthetic products", productDetails.size(),
+                props.getFile(), catalog.size());
+    }
+
+    private JsonNode readFile(ObjectMapper objectMapper, String file) throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(file)) {
+            if (input == null) {
+                throw new IOException("Mock API file not found on the classpath: " + file);
             }
+            return objectMapper.readTree(input);
         }
-        return new ProductDetail(
-                node.get("id").asText(),
-                node.get("name").asText(),
-                node.get("price").asDouble(),
-                node.get("availability").asBoolean()
-        );
     }
 
     @Override
-    public List<String> getSimilarIds(String productId) {
-        JsonNode node = root.path("similar-ids").path(productId);
+    public ProductDetail getProductDetail(String productId, Deadline deadline) {
+        upstream.call(props.getProductDetail(), "mock product detail " + productId, deadline);
+        ProductDetail detail = productDetails.get(productId);
+        if (detail != null) {
+            return detail;
+        }
+        String fault = productDetailFaults.get(productId);
+        if (ERROR.equals(fault)) {
+            throw new ExternalServiceException("Mock: error for " + productId, 500);
+        }
+        detail = fault == null ? catalog.productDetail(productId) : null;
+        if (detail == null) {
+            throw new NotFoundException("Mock: product not found " + productId);
+        }
+        return detail;
+    }
 
-        if (node.isMissingNode()) {
-            return List.of();
+    @Override
+    public List<String> getSimilarIds(String productId, Deadline deadline) {
+        upstream.call(props.getSimilarIds(), "mock similar ids " + productId, deadline);
+        List<String> ids = similarIds.get(productId);
+        if (ids != null) {
+            return ids;
         }
-        if (node.isTextual()) {
-            switch (node.asText()) {
-                case "NOT_FOUND" -> throw new NotFoundException("Mock: not found similar ids for " + productId);
-                case "ERROR" -> throw new ExternalServiceException("Mock: error similarIds for " + productId, 500);
-            }
+        String fault = similarIdsFaults.get(productId);
+        if (NOT_FOUND.equals(fault)) {
+            throw new NotFoundException("Mock: not found similar ids for " + productId);
+        }
+        if (ERROR.equals(fault)) {
+            throw new ExternalServiceException("Mock: error similarIds for " + productId, 500);
         }
-        List<String> ids = new ArrayList<>();
-        node.forEach(n -> ids.add(n.asText()));
-        return ids;
+        ids = catalog.similarIds(productId);
+        return ids == null ? List.of() : ids;
+    }
+
+    @Override
+    public Map<String, ProductDetailLookup> getProductDetails(Collection<String> productIds, Deadline deadline) {
+        Map<String, ProductDetailLookup> resolved = new HashMap<>();
+        streamProductDetails(productIds, deadline, lookup -> resolved.put(lookup.productId(), lookup));
+
+        Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+        productIds.stream().distinct().forEach(id -> lookups.put(id, resolved.get(id)));
+        return lookups;
+    }
+
+    @Override
+    public void streamProductDetails(Collection<String> productIds, Deadline deadline,
+                                     Consumer<ProductDetailLookup> onResolved) {
+        fanOutExecutor.forEachCompleted(productIds.stream().distinct().toList(), id -> {
+            try {
+                return ProductDetailLookup.found(id, getProductDetail(id, deadline));
+            } catch (RuntimeException ex) {
+                return ProductDetailLookup.failed(id, ex);
+            }
+        }, onResolved);
+    }
+
+    @Override
+    public Map<String, SimilarIdsLookup> getAllSimilarIds(Collection<String> productIds, Deadline deadline) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        List<SimilarIdsLookup> resolved = fanOutExecutor.mapOrdered(distinctIds, id -> {
+            try {
+                return SimilarIdsLookup.found(id, getSimilarIds(id, deadline));
+            } catch (RuntimeException ex) {
+                return SimilarIdsLookup.failed(id, ex);
+            }
+        });
+        Map<String, SimilarIdsLookup> lookups = new LinkedHashMap<>();
+        resolved.forEach(lookup -> lookups.put(lookup.productId(), lookup));
+        return lookups;
     }
 }
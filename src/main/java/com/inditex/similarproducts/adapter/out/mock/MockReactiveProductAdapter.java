@@ -0,0 +1,48 @@
+package com.inditex.similarproducts.adapter.out.mock;
+
+import com.inditex.similarproducts.application.port.out.ReactiveProductPort;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive view of the {@link MockProductAdapter}. Its simulated latencies block, so calls are made on the
+ * bounded elastic scheduler.
+ */
+@Component
+@Profile("local")
+@ConditionalOnProperty(name = "execution.mode", havingValue = "reactive")
+@RequiredArgsConstructor
+public class MockReactiveProductAdapter implements ReactiveProductPort {
+    private final MockProductAdapter mockProductAdapter;
+
+    @Override
+    public Mono<ProductDetail> getProductDetail(String productId, Deadline deadline) {
+        return Mono.fromCallable(() -> mockProductAdapter.getProductDetail(productId, deadline))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<String>> getSimilarIds(String productId, Deadline deadline) {
+        return Mono.fromCallable(() -> mockProductAdapter.getSimilarIds(productId, deadline))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<ProductDetailLookup> streamProductDetails(Collection<String> productIds, Deadline deadline) {
+        return Mono.fromCallable(() -> mockProductAdapter.getProductDetails(productIds, deadline))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(Map::values);
+    }
+}
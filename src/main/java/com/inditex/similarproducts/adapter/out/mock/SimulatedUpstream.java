@@ -0,0 +1,113 @@
+package com.inditex.similarproducts.adapter.out.mock;
+
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.infrastructure.config.MockApiProperties;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * The timing and the faults of a simulated API call: each call waits for a latency sampled from the distribution of
+ * its endpoint (stretched during slowdown episodes), then may fail with an injected 500 or 404.
+ * The wait never outlasts the deadline of the call: once it has passed, the call fails the way a timed out call does.
+ */
+final class SimulatedUpstream {
+    private static final long MAX_TAIL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final MockApiProperties props;
+    private final Supplier<RandomGenerator> random;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+
+    SimulatedUpstream(MockApiProperties props) {
+        this(props, ThreadLocalRandom::current, System::nanoTime);
+    }
+
+    SimulatedUpstream(MockApiProperties props, Supplier<RandomGenerator> random, LongSupplier nanoClock) {
+        this.props = props;
+        this.random = random;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Simulates a call to {@code endpoint}.
+     *
+     * @param operation the call, for the messages of the exceptions.
+     * @throws com.inditex.similarproducts.domain.exception.DeadlineExceededException if the deadline passes first.
+     * @throws ExternalServiceException if a 500 is injected.
+     * @throws NotFoundException if a 404 is injected.
+     */
+    void call(MockApiProperties.Endpoint endpoint, String operation, Deadline deadline) {
+        deadline.check(operation);
+        sleep(latency(endpoint.getLatency()), deadline, operation);
+        double draw = random.get().nextDouble();
+        if (draw < endpoint.getErrorRate()) {
+            throw new ExternalServiceException("Mock: injected error for " + operation, 500);
+        }
+        if (draw < endpoint.getErrorRate() + endpoint.getNotFoundRate()) {
+            throw new NotFoundException("Mock: injected not found for " + operation);
+        }
+    }
+
+    /**
+     * Samples a latency of {@code latency}, stretched if a slowdown episode is under way.
+     *
+     * @return the latency, in nanoseconds.
+     */
+    long latency(MockApiProperties.Latency latency) {
+        long median = latency.getMedian().toNanos();
+        long sampled = switch (latency.getDistribution()) {
+            case FIXED -> median;
+            case LOGNORMAL -> logNormal(median, latency.getSigma());
+            case LONG_TAIL -> random.get().nextDouble() < latency.getTailProbability()
+                    ? pareto(latency.getTailLatency().toNanos(), latency.getTailAlpha())
+                    : logNormal(median, latency.getSigma());
+        };
+        if (isSlowdown()) {
+            sampled = (long) (sampled * props.getSlowdown().getFactor());
+        }
+        return Math.min(sampled, latency.getMax().toNanos());
+    }
+
+    /**
+     * @return {@code true} during the first {@code slowdown.duration} of every {@code slowdown.every}.
+     */
+    boolean isSlowdown() {
+        Duration every = props.getSlowdown().getEvery();
+        if (every == null || every.isZero() || every.isNegative()) {
+            return false;
+        }
+        long elapsed = nanoClock.getAsLong() - startNanos;
+        return elapsed % every.toNanos() < props.getSlowdown().getDuration().toNanos();
+    }
+
+    private long logNormal(long median, double sigma) {
+        return (long) (median * Math.exp(sigma * random.get().nextGaussian()));
+    }
+
+    private long pareto(long scale, double alpha) {
+        double uniform = 1 - random.get().nextDouble(); // (0, 1]
+        return (long) Math.min(MAX_TAIL_NANOS, scale / Math.pow(uniform, 1 / alpha));
+    }
+
+    private static void sleep(long nanos, Deadline deadline, String operation) {
+        long waited = Math.min(nanos, deadline.remaining().toNanos());
+        if (waited > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(waited));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ExternalServiceException("Mock: interrupted " + operation, ex, 500);
+            }
+        }
+        if (waited < nanos) {
+            deadline.check("the end of " + operation);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.inditex.similarproducts.adapter.out.mock;
+
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.config.MockApiProperties;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Catalog of {@code size} synthetic products with the IDs {@code 1} to {@code size}. Nothing is stored: the detail
+ * and the similar IDs of a product are derived from the seed and its ID on every lookup, so they are the same on
+ * every call, every node and every run with the same seed.
+ */
+final class SyntheticCatalog {
+    private static final String[] ADJECTIVES = {"Linen", "Cotton", "Oversize", "Slim fit", "Cropped", "Relaxed",
+            "Striped", "Knit", "Denim", "Wool blend", "Satin", "Pleated"};
+    private static final String[] ITEMS = {"shirt", "jeans", "sneakers", "dress", "blazer", "skirt", "sweater",
+            "coat", "T-shirt", "trousers", "boots", "bag"};
+
+    private final MockApiProperties.Catalog props;
+
+    SyntheticCatalog(MockApiProperties.Catalog props) {
+        this.props = props;
+    }
+
+    int size() {
+        return props.getSize();
+    }
+
+    /**
+     * @return the detail of the product, or {@code null} if it is not part of the catalog.
+     */
+    ProductDetail productDetail(String productId) {
+        long id = parse(productId);
+        if (id < 0) {
+            return null;
+        }
+        SplittableRandom random = random(id, 0);
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + ITEMS[random.nextInt(ITEMS.length)];
+        double price = random.nextInt(495, 20_000) / 100.0;
+        return new ProductDetail(productId, name, price, random.nextDouble() < props.getAvailableShare());
+    }
+
+    /**
+     * @return the similar IDs of the product, never itself, or {@code null} if it is not part of the catalog.
+     */
+    List<String> similarIds(String productId) {
+        long id = parse(productId);
+        if (id < 0) {
+            return null;
+        }
+        int size = props.getSize();
+        if (size < 2) {
+            return List.of();
+        }
+        SplittableRandom random = random(id, 1);
+        int min = Math.max(0, props.getMinSimilarIds());
+        int count = Math.min(size - 1, min + random.nextInt(Math.max(1, props.getMaxSimilarIds() - min + 1)));
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            long similar = 1 + random.nextLong(size - 1);
+            ids[i] = String.valueOf(similar >= id ? similar + 1 : similar);
+        }
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+
+    /**
+     * @return the ID of the product, or -1 if it is not the canonical form of an ID of the catalog.
+     */
+    private long parse(String productId) {
+        int length = productId.length();
+        if (length == 0 || length > 10 || productId.charAt(0) == '0') {
+            return -1;
+        }
+        long id = 0;
+        for (int i = 0; i < length; i++) {
+            char c = productId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id <= props.getSize() ? id : -1;
+    }
+
+    private SplittableRandom random(long id, int stream) {
+        return new SplittableRandom(props.getSeed() ^ (id * 0x9E3779B97F4A7C15L + stream));
+    }
+}
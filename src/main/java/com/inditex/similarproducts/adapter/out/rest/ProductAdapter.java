@@ -3,22 +3,48 @@ package com.inditex.similarproducts.adapter.out.rest;
 import com.inditex.similarproducts.application.port.out.ProductPort;
 import com.inditex.similarproducts.domain.exception.ExternalServiceException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.exception.ResponseTooLargeException;
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
+import com.inditex.similarproducts.infrastructure.cache.CacheBatches;
+import com.inditex.similarproducts.infrastructure.cache.CacheEntry;
+import com.inditex.similarproducts.infrastructure.cache.CacheRefresher;
+import com.inditex.similarproducts.infrastructure.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.concurrency.RequestHedger;
+import com.inditex.similarproducts.infrastructure.concurrency.SingleFlight;
 import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import com.inditex.similarproducts.infrastructure.http.CallTimeout;
+import com.inditex.similarproducts.infrastructure.monitoring.HotKeyTracker;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import com.inditex.similarproducts.infrastructure.resilience.DeadlineAwareRetry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.INTERNAL_ERROR;
 import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.PRODUCT_API_ERROR;
@@ -30,42 +56,213 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 /**
  * This class implements the {@link ProductPort} interface and acts as a gateway
  * between the application and the external API. It uses a {@link RestTemplate}
- * to perform HTTP requests and applies resilience patterns like
- * {@link io.github.resilience4j.retry.annotation.Retry} and
- * {@link io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker}.
+ * to perform HTTP requests and applies resilience patterns like retries, through the {@link DeadlineAwareRetry},
+ * and {@link io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker}.
+ * Every call made on behalf of a request is bounded by its {@link Deadline}: retries, backoffs and read timeouts
+ * are derived from the time left, and no call is started once it has passed.
+ * Batches of product details are read from and written to the cache in bulk, and only the misses
+ * are fetched from the API, concurrently through the {@link FanOutExecutor}.
+ * Every API call on a cache miss goes through {@link SingleFlight}, so concurrent misses for the same key
+ * result in a single upstream call per node. Entries past their soft TTL are reloaded in the background by
+ * the {@link CacheRefresher}. A 404 of the API is remembered for a short while in the {@link NotFoundCache},
+ * which answers the next lookups of that product without calling the API. Product detail calls made on behalf of
+ * a request may be hedged by the {@link RequestHedger} to cut their tail latency.
+ * API responses are parsed straight from the response body by {@link ProductResponses}; similar IDs responses with
+ * more than {@code external.api.max-similar-ids} IDs are rejected while they are read. Every call returns the
+ * {@link CacheEntry} it fetched, with the ETag the API answered with, and misses, batches and refreshes all cache
+ * that entry as it is, so concurrent misses and refreshes of the same key can share a flight and every entry is
+ * revalidated with its ETag once past its soft TTL: a 304 keeps the cached value without downloading it again.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @Profile("!local")
 public class ProductAdapter implements ProductPort {
+    private static final String PRODUCT_DETAIL_CACHE = "productDetail";
+    private static final String SIMILAR_IDS_CACHE = "similarIds";
+
     private final RestTemplate restTemplate;
     private final ExternalApiProperties props;
     private final MetricsRecorder metrics;
+    private final CacheManager cacheManager;
+    private final FanOutExecutor fanOutExecutor;
+    private final DeadlineAwareRetry retry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final SingleFlight singleFlight;
+    private final CacheRefresher cacheRefresher;
+    private final NotFoundCache notFoundCache;
+    private final RequestHedger requestHedger;
+    private final HotKeyTracker hotKeys;
+
+    /**
+     * Registers how entries past their soft TTL are reloaded in the background: a single attempt, coalesced with
+     * any concurrent miss of the same key, revalidating the current entry when it was stored with an ETag.
+     * A failed refresh keeps the current entry until its hard TTL.
+     */
+    @PostConstruct
+    void registerRefreshLoaders() {
+        cacheRefresher.register(PRODUCT_DETAIL_CACHE,
+                (productId, current) -> singleFlight.execute(PRODUCT_DETAIL_CACHE, productId,
+                        () -> notFoundCache.remember(PRODUCT_DETAIL_CACHE, productId,
+                                () -> fetchProductDetail(productId, Deadline.none(), entryOf(current, ProductDetail.class)))));
+        cacheRefresher.register(SIMILAR_IDS_CACHE,
+                (productId, current) -> singleFlight.execute(SIMILAR_IDS_CACHE, productId,
+                        () -> notFoundCache.remember(SIMILAR_IDS_CACHE, productId,
+                                () -> fetchSimilarIds(productId, Deadline.none(), entryOf(current, List.class)))));
+    }
+
+    /**
+     * @return {@code current} if it holds a value of {@code type}, {@code null} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CacheEntry<T> entryOf(CacheEntry<?> current, Class<?> type) {
+        return current != null && type.isInstance(current.value()) ? (CacheEntry<T>) current : null;
+    }
 
     /**
      * Retrieves detailed information about a product from the external API.
-     * Applies retry logic in case of transient failures.
+     * Applies retry logic in case of transient failures, within the deadline.
+     * Not counted by the {@link HotKeyTracker}: single lookups are not made on behalf of requests (e.g. the cache
+     * warm-up makes them), whose lookups are counted by the batches.
      *
      * @param productId the product ID to look up.
+     * @param deadline the deadline of the request.
      * @return a {@link ProductDetail} representing the product.
-     * @throws NotFoundException if the product does not exist (HTTP 404).
+     * @throws NotFoundException if the product does not exist (HTTP 404), now or in the last {@code cache.not-found-ttl}.
      * @throws ExternalServiceException if the API responds with an error or an unexpected exception occurs.
+     * @throws com.inditex.similarproducts.domain.exception.DeadlineExceededException if the deadline passes first.
      */
     @Override
-    @Retry(name = "productDetail")
-    @Cacheable(value = "productDetail", key = "#productId")
-    public ProductDetail getProductDetail(String productId) {
+    public ProductDetail getProductDetail(String productId, Deadline deadline) {
+        return cached(PRODUCT_DETAIL_CACHE, productId,
+                () -> singleFlight.execute(PRODUCT_DETAIL_CACHE, productId, deadline,
+                        () -> notFoundCache.guard(PRODUCT_DETAIL_CACHE, productId,
+                                () -> retry.execute("productDetail", deadline,
+                                        () -> hedgedFetchProductDetail(productId, deadline)))));
+    }
+
+    /**
+     * Returns the cached value of {@code productId}, or loads it and caches the loaded entry as it is, with the ETag
+     * of its response, so that its first refresh can already revalidate it.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, String productId, Supplier<CacheEntry<T>> load) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper hit = cache == null ? null : cache.get(productId);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        CacheEntry<T> entry = load.get();
+        if (cache != null) {
+            cache.put(productId, entry);
+        }
+        return entry.value();
+    }
+
+    /**
+     * Retrieves the details of several products. Cached entries are read in a single batch, the misses are fetched
+     * concurrently from the external API (with the same retry policy as {@link #getProductDetail(String, Deadline)})
+     * and the fetched details are written back to the cache in a single batch. Products known not to exist are
+     * resolved as not found without calling the API.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request; misses not fetched by then fail with
+     *                 {@link com.inditex.similarproducts.domain.exception.DeadlineExceededException}.
+     * @return one {@link ProductDetailLookup} per distinct product ID, in encounter order.
+     */
+    @Override
+    public Map<String, ProductDetailLookup> getProductDetails(Collection<String> productIds, Deadline deadline) {
+        Map<String, ProductDetailLookup> resolved = new HashMap<>();
+        streamProductDetails(productIds, deadline, lookup -> resolved.put(lookup.productId(), lookup));
+
+        Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+        productIds.stream().distinct().forEach(id -> lookups.put(id, resolved.get(id)));
+        return lookups;
+    }
+
+    /**
+     * Same batch as {@link #getProductDetails(Collection, Deadline)}, but each lookup is handed over as soon as it is
+     * resolved: cached entries first, then the fetched ones in completion order.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @param onResolved the consumer of the lookups, called on the calling thread.
+     */
+    @Override
+    public void streamProductDetails(Collection<String> productIds, Deadline deadline,
+                                    Consumer<ProductDetailLookup> onResolved) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        hotKeys.recordAll(HotKeyTracker.PRODUCT_DETAIL, distinctIds);
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL_CACHE);
+        Map<Object, Object> cached = cache == null ? Map.of() : CacheBatches.getAll(cache, distinctIds);
+
+        List<String> uncached = distinctIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<String, String> notFound = notFoundCache.getAll(PRODUCT_DETAIL_CACHE, uncached);
+        List<String> misses = uncached.stream().filter(id -> !notFound.containsKey(id)).toList();
+        log.info("Product details batch: {} cached, {} known not found, {} to fetch",
+                cached.size(), notFound.size(), misses.size());
+        distinctIds.stream()
+                .filter(cached::containsKey)
+                .forEach(id -> onResolved.accept(ProductDetailLookup.found(id, (ProductDetail) cached.get(id))));
+        uncached.stream()
+                .filter(notFound::containsKey)
+                .forEach(id -> onResolved.accept(ProductDetailLookup.failed(id, new NotFoundException(notFound.get(id)))));
+
+        Map<String, CacheEntry<ProductDetail>> toCache = new HashMap<>();
+        try {
+            fanOutExecutor.forEachCompleted(misses, id -> lookupProductDetail(id, deadline), fetched -> {
+                if (fetched.entry() != null) {
+                    toCache.put(fetched.lookup().productId(), fetched.entry());
+                }
+                onResolved.accept(fetched.lookup());
+            });
+        } finally {
+            if (cache != null) {
+                CacheBatches.putAll(cache, toCache);
+            }
+        }
+    }
+
+    private Fetched<ProductDetailLookup, ProductDetail> lookupProductDetail(String productId, Deadline deadline) {
+        try {
+            CacheEntry<ProductDetail> entry = singleFlight.execute(PRODUCT_DETAIL_CACHE, productId, deadline,
+                    () -> notFoundCache.remember(PRODUCT_DETAIL_CACHE, productId,
+                            () -> retry.execute("productDetail", deadline,
+                                    () -> hedgedFetchProductDetail(productId, deadline))));
+            return new Fetched<>(ProductDetailLookup.found(productId, entry.value()), entry);
+        } catch (RuntimeException ex) {
+            return new Fetched<>(ProductDetailLookup.failed(productId, ex), null);
+        }
+    }
+
+    /**
+     * Lookup of a batch, with the entry to cache when the value was fetched.
+     *
+     * @param entry the fetched value with the ETag of its response, {@code null} when the lookup failed.
+     */
+    private record Fetched<L, T>(L lookup, CacheEntry<T> entry) {
+    }
+
+    private CacheEntry<ProductDetail> hedgedFetchProductDetail(String productId, Deadline deadline) {
+        return requestHedger.execute(PRODUCT_DETAIL, () -> fetchProductDetail(productId, deadline, null));
+    }
+
+    /**
+     * @param current the cached entry to revalidate with its ETag, {@code null} to download the detail.
+     * @return the detail with the ETag of the response, or {@code current} renewed when it is still valid.
+     */
+    private CacheEntry<ProductDetail> fetchProductDetail(String productId, Deadline deadline,
+                                                         CacheEntry<ProductDetail> current) {
+        deadline.check("getting product detail " + productId);
+        long start = System.nanoTime();
         try {
-            String url = UriComponentsBuilder
-                    .fromUriString(props.getBaseUrl() + props.getProductDetailPath())
-                    .buildAndExpand(Map.of("productId", productId))
-                    .toUriString();
+            String url = url(props.getProductDetailPath(), productId);
 
             log.info("Getting product detail for {}", productId);
-            ProductDetail detail = restTemplate.getForObject(url, ProductDetail.class);
-            metrics.recordRequest(PRODUCT_DETAIL, MetricsType.SUCCESS);
-            return detail;
+            Validated<ProductDetail> detail = withinDeadline(deadline, () -> restTemplate.execute(url, HttpMethod.GET,
+                    conditional(current), validated(current, response -> ProductResponses.readProductDetail(response.getBody()))));
+            metrics.recordRequest(PRODUCT_DETAIL, detail.notModified() ? MetricsType.NOT_MODIFIED : MetricsType.SUCCESS);
+            return detail.entry();
         } catch (HttpClientErrorException ex) {
             if (ex.getStatusCode().equals(NOT_FOUND)) {
                 metrics.recordRequest(PRODUCT_DETAIL, MetricsType.NOT_FOUND);
@@ -75,35 +272,181 @@ public class ProductAdapter implements ProductPort {
             log.error("Error getting product {}: status={}", productId, ex.getStatusCode(), ex);
             throw new ExternalServiceException(PRODUCT_API_ERROR.getMessage(), ex, ex.getStatusCode().value());
         } catch (Exception ex) {
+            if (RequestHedger.isCancelled()) {
+                log.debug("Cancelled the losing attempt of product detail {}", productId);
+                throw new ExternalServiceException(INTERNAL_ERROR.getMessage(), ex, INTERNAL_SERVER_ERROR.value());
+            }
             metrics.recordRequest(PRODUCT_DETAIL, MetricsType.ERROR);
             log.error("Unexpected error getting product {}", productId, ex);
             throw new ExternalServiceException(INTERNAL_ERROR.getMessage(), ex, INTERNAL_SERVER_ERROR.value());
+        } finally {
+            if (!RequestHedger.isCancelled()) {
+                metrics.recordLatency(PRODUCT_DETAIL, start);
+            }
         }
     }
 
+    /**
+     * Asks for JSON, revalidating {@code current} with {@code If-None-Match} when it was stored with an ETag.
+     */
+    private static RequestCallback conditional(CacheEntry<?> current) {
+        return request -> {
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+            if (current != null && current.etag() != null) {
+                request.getHeaders().setIfNoneMatch(current.etag());
+            }
+        };
+    }
+
+    /**
+     * Reads a response with {@code body} into an entry with its ETag, or renews {@code current} when the API
+     * answered 304.
+     */
+    private static <T> ResponseExtractor<Validated<T>> validated(CacheEntry<T> current, BodyReader<T> body) {
+        return response -> {
+            if (current != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return new Validated<>(CacheEntry.of(current.value(), current.etag()), true);
+            }
+            return new Validated<>(CacheEntry.of(body.read(response), response.getHeaders().getETag()), false);
+        };
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(ClientHttpResponse response) throws IOException;
+    }
+
+    /**
+     * Entry answered by the API, or revalidated by a 304.
+     *
+     * @param entry the value with the ETag that validates it, {@code null} when the API sent none.
+     */
+    private record Validated<T>(CacheEntry<T> entry, boolean notModified) {
+    }
+
+    /**
+     * Runs an API call with a read timeout no longer than the time left before the deadline.
+     */
+    private static <T> T withinDeadline(Deadline deadline, Supplier<T> call) {
+        return deadline.isBounded() ? CallTimeout.within(deadline.remaining(), call) : call.get();
+    }
+
+    /**
+     * Builds the URL of an API resource of a product.
+     *
+     * @param path the path of the resource, with a {@code {productId}} variable.
+     * @param productId the value of the {@code {productId}} variable.
+     */
+    String url(String path, String productId) {
+        return UriComponentsBuilder
+                .fromUriString(props.getBaseUrl() + path)
+                .buildAndExpand(Map.of("productId", productId))
+                .toUriString();
+    }
+
     /**
      * Retrieves the list of IDs for products similar to the given product.
-     * Uses retry and circuit breaker mechanisms to improve resilience.
+     * Uses retry and circuit breaker mechanisms to improve resilience; the retries are bounded by the deadline.
      *
      * @param productId the product ID to search similar products for.
+     * @param deadline the deadline of the request.
      * @return a list of similar product IDs (never {@code null}).
-     * @throws NotFoundException        if no similar IDs are found (HTTP 404).
+     * @throws NotFoundException        if no similar IDs are found (HTTP 404), now or in the last
+     *                                  {@code cache.not-found-ttl}.
      * @throws ExternalServiceException if another error occurs when calling the API.
+     * @throws com.inditex.similarproducts.domain.exception.DeadlineExceededException if the deadline passes first.
      */
     @Override
-    @Retry(name = "similarIds")
     @CircuitBreaker(name = "similarIds", fallbackMethod = "similarIdsFallback")
-    @Cacheable(value = "similarIds", key = "#productId")
-    public List<String> getSimilarIds(String productId) {
+    public List<String> getSimilarIds(String productId, Deadline deadline) {
+        return cached(SIMILAR_IDS_CACHE, productId,
+                () -> singleFlight.execute(SIMILAR_IDS_CACHE, productId, deadline,
+                        () -> notFoundCache.guard(SIMILAR_IDS_CACHE, productId,
+                                () -> retry.execute("similarIds", deadline,
+                                        () -> fetchSimilarIds(productId, deadline, null)))));
+    }
+
+    /**
+     * Retrieves the similar IDs of several products, the same way as {@link #getProductDetails(Collection, Deadline)}:
+     * cached entries are read in a single batch, products known not to exist are resolved without calling the API,
+     * and the misses are fetched concurrently and written back to the cache in a single batch.
+     * Every fetch goes through the {@code similarIds} circuit breaker of {@link #getSimilarIds(String, Deadline)},
+     * taken from the registry since the annotation does not apply to calls made from within this class. A product
+     * whose fetch the open breaker rejects gets the {@link #similarIdsFallback}; any other failure is reported in
+     * its lookup.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @return one {@link SimilarIdsLookup} per distinct product ID, in encounter order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, SimilarIdsLookup> getAllSimilarIds(Collection<String> productIds, Deadline deadline) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        Cache cache = cacheManager.getCache(SIMILAR_IDS_CACHE);
+        Map<Object, Object> cached = cache == null ? Map.of() : CacheBatches.getAll(cache, distinctIds);
+
+        List<String> uncached = distinctIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<String, String> notFound = notFoundCache.getAll(SIMILAR_IDS_CACHE, uncached);
+        List<String> misses = uncached.stream().filter(id -> !notFound.containsKey(id)).toList();
+        log.info("Similar IDs batch: {} cached, {} known not found, {} to fetch",
+                cached.size(), notFound.size(), misses.size());
+
+        Map<String, SimilarIdsLookup> resolved = new HashMap<>();
+        cached.forEach((id, ids) -> resolved.put((String) id, SimilarIdsLookup.found((String) id, (List<String>) ids)));
+        notFound.forEach((id, message) -> resolved.put(id, SimilarIdsLookup.failed(id, new NotFoundException(message))));
+        Map<String, CacheEntry<List<String>>> toCache = new HashMap<>();
+        try {
+            fanOutExecutor.forEachCompleted(misses, id -> lookupSimilarIds(id, deadline), fetched -> {
+                if (fetched.entry() != null) {
+                    toCache.put(fetched.lookup().productId(), fetched.entry());
+                }
+                resolved.put(fetched.lookup().productId(), fetched.lookup());
+            });
+        } finally {
+            if (cache != null) {
+                CacheBatches.putAll(cache, toCache);
+            }
+        }
+
+        Map<String, SimilarIdsLookup> lookups = new LinkedHashMap<>();
+        distinctIds.forEach(id -> lookups.put(id, resolved.get(id)));
+        return lookups;
+    }
+
+    private Fetched<SimilarIdsLookup, List<String>> lookupSimilarIds(String productId, Deadline deadline) {
+        try {
+            CacheEntry<List<String>> entry = circuitBreakerRegistry.circuitBreaker("similarIds").executeSupplier(
+                    () -> singleFlight.execute(SIMILAR_IDS_CACHE, productId, deadline,
+                            () -> notFoundCache.remember(SIMILAR_IDS_CACHE, productId,
+                                    () -> retry.execute("similarIds", deadline,
+                                            () -> fetchSimilarIds(productId, deadline, null)))));
+            return new Fetched<>(SimilarIdsLookup.found(productId, entry.value()), entry);
+        } catch (CallNotPermittedException ex) {
+            return new Fetched<>(SimilarIdsLookup.found(productId, similarIdsFallback(productId, deadline, ex)), null);
+        } catch (RuntimeException ex) {
+            return new Fetched<>(SimilarIdsLookup.failed(productId, ex), null);
+        }
+    }
+
+    /**
+     * @param current the cached entry to revalidate with its ETag, {@code null} to download the similar IDs.
+     * @return the similar IDs (never {@code null}) with the ETag of the response, or {@code current} renewed when it
+     * is still valid.
+     */
+    private CacheEntry<List<String>> fetchSimilarIds(String productId, Deadline deadline,
+                                                     CacheEntry<List<String>> current) {
+        deadline.check("getting similar IDs for " + productId);
+        long start = System.nanoTime();
         try {
-            String url = UriComponentsBuilder
-                    .fromUriString(props.getBaseUrl() + props.getSimilarIdsPath())
-                    .buildAndExpand(Map.of("productId", productId))
-                    .toUriString();
+            String url = url(props.getSimilarIdsPath(), productId);
             log.info("Getting similar IDs for product {}", productId);
-            String[] response = restTemplate.getForObject(url, String[].class);
-            metrics.recordRequest(SIMILAR_IDS, MetricsType.SUCCESS);
-            return response == null ? List.of() : Arrays.stream(response).toList();
+            Validated<List<String>> similarIds = withinDeadline(deadline, () -> restTemplate.execute(url, HttpMethod.GET,
+                    conditional(current), validated(current,
+                            response -> ProductResponses.readSimilarIds(response.getBody(), props.getMaxSimilarIds()))));
+            metrics.recordRequest(SIMILAR_IDS, similarIds.notModified() ? MetricsType.NOT_MODIFIED : MetricsType.SUCCESS);
+            CacheEntry<List<String>> entry = similarIds.entry();
+            return entry.value() == null ? new CacheEntry<>(List.of(), entry.writtenAt(), entry.etag()) : entry;
         } catch (HttpClientErrorException ex) {
             if (ex.getStatusCode().equals(NOT_FOUND)) {
                 log.info("No similar products found for {}", productId);
@@ -113,21 +456,28 @@ public class ProductAdapter implements ProductPort {
             log.error("Error getting similar IDs for {}: status={}", productId, ex.getStatusCode(), ex);
             metrics.recordRequest(SIMILAR_IDS, MetricsType.ERROR);
             throw new ExternalServiceException(PRODUCT_API_ERROR.getMessage(), ex, ex.getStatusCode().value());
+        } catch (ResponseTooLargeException ex) {
+            log.error("Rejected the similar IDs of {}: {}", productId, ex.getMessage());
+            metrics.recordRequest(SIMILAR_IDS, MetricsType.ERROR);
+            throw ex;
         } catch (Exception ex) {
             log.error("Unexpected error fetching similar IDs for {}", productId, ex);
             metrics.recordRequest(SIMILAR_IDS, MetricsType.ERROR);
             throw new ExternalServiceException(INTERNAL_ERROR.getMessage(), ex, INTERNAL_SERVER_ERROR.value());
+        } finally {
+            metrics.recordLatency(SIMILAR_IDS, start);
         }
     }
 
     /**
-     * Fallback method triggered by the circuit breaker when {@link #getSimilarIds(String)} fails.
+     * Fallback method triggered by the circuit breaker when {@link #getSimilarIds(String, Deadline)} fails.
      *
      * @param productId the product ID used in the failed request.
+     * @param deadline the deadline of the failed request.
      * @param t the throwable that caused the fallback.
      * @return an empty list of similar product IDs.
      */
-    public List<String> similarIdsFallback(String productId, Throwable t) {
+    public List<String> similarIdsFallback(String productId, Deadline deadline, Throwable t) {
         log.error("Fallback similarIds for {}", productId, t);
         metrics.recordRequest(SIMILAR_IDS, MetricsType.FALLBACK);
         return List.of();
@@ -0,0 +1,104 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.inditex.similarproducts.domain.exception.ResponseTooLargeException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the responses of the product API straight from the response body with the Jackson streaming parser,
+ * without the message converters of the {@code RestTemplate}, data binding nor intermediate arrays or trees.
+ * Like the converters they replace, unknown fields are ignored, scalar IDs are read as strings and an empty body
+ * is read as no value.
+ */
+final class ProductResponses {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int INITIAL_IDS_CAPACITY = 8;
+
+    private ProductResponses() {
+    }
+
+    /**
+     * Reads a product detail object.
+     *
+     * @return the product detail, or {@code null} for an empty body.
+     * @throws IOException if the body is not a JSON object.
+     */
+    static ProductDetail readProductDetail(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            expect(parser, JsonToken.START_OBJECT);
+            String id = null;
+            String name = null;
+            double price = 0;
+            boolean availability = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsString();
+                    case "name" -> name = parser.getValueAsString();
+                    case "price" -> price = parser.getValueAsDouble();
+                    case "availability" -> availability = parser.getValueAsBoolean();
+                    default -> parser.skipChildren();
+                }
+            }
+            return new ProductDetail(id, name, price, availability);
+        }
+    }
+
+    /**
+     * Reads an array of similar product IDs, rejecting it as soon as it holds more than {@code maxIds} IDs.
+     * {@code null} entries are skipped.
+     *
+     * @return the IDs in the order of the response, as an unmodifiable list (empty for an empty body).
+     * @throws ResponseTooLargeException if the array holds more than {@code maxIds} IDs.
+     * @throws IOException if the body is not a JSON array of scalars.
+     */
+    static List<String> readSimilarIds(InputStream body, int maxIds) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return List.of();
+            }
+            expect(parser, JsonToken.START_ARRAY);
+            String[] ids = new String[Math.min(INITIAL_IDS_CAPACITY, Math.max(1, maxIds))];
+            int size = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null || !token.isScalarValue()) {
+                    throw new IOException("Expected a scalar similar ID but got " + token);
+                }
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (size == maxIds) {
+                    throw new ResponseTooLargeException("More than " + maxIds + " similar IDs in the product API response");
+                }
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.min(maxIds, ids.length * 2));
+                }
+                ids[size++] = parser.getValueAsString();
+            }
+            if (size == 0) {
+                return List.of();
+            }
+            return Collections.unmodifiableList(Arrays.asList(size == ids.length ? ids : Arrays.copyOf(ids, size)));
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new IOException("Expected " + expected + " but got " + parser.currentToken());
+        }
+    }
+}
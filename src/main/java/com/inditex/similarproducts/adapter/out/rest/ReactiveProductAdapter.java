@@ -0,0 +1,336 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.inditex.similarproducts.application.port.out.ReactiveProductPort;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.infrastructure.cache.CacheEntry;
+import com.inditex.similarproducts.infrastructure.cache.CacheRefresher;
+import com.inditex.similarproducts.infrastructure.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.concurrency.SingleFlight;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import com.inditex.similarproducts.infrastructure.resilience.DeadlineAwareRetry;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.INTERNAL_ERROR;
+import static com.inditex.similarproducts.adapter.in.rest.error.ErrorMessage.PRODUCT_API_ERROR;
+import static com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint.PRODUCT_DETAIL;
+import static com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint.SIMILAR_IDS;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Non-blocking counterpart of {@link ProductAdapter}, active when {@code execution.mode=reactive}.
+ * It calls the external API through a {@link WebClient} and reads and writes the Redis entries shared with the
+ * blocking adapter through reactive templates, with the same retry, circuit breaker, error mapping and metrics.
+ * Cache misses go through {@link SingleFlight}, and the misses of a batch are fetched with at most
+ * {@code fan-out.max-concurrency-per-request} calls in flight; the connection pool bounds the total.
+ * 404s are remembered in the same Redis entries as the {@link NotFoundCache} of the blocking adapter.
+ * Every call made on behalf of a request is bounded by its {@link Deadline}: each attempt is cut short when it
+ * passes, retries go through the {@link DeadlineAwareRetry}, and waits for a coalesced call end with it too.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!local")
+@ConditionalOnProperty(name = "execution.mode", havingValue = "reactive")
+public class ReactiveProductAdapter implements ReactiveProductPort {
+    private static final String PRODUCT_DETAIL_CACHE = "productDetail";
+    private static final String SIMILAR_IDS_CACHE = "similarIds";
+
+    private final WebClient productApiWebClient;
+    private final ExternalApiProperties props;
+    private final CacheProperties cacheProperties;
+    private final FanOutProperties fanOutProperties;
+    private final MetricsRecorder metrics;
+    private final ReactiveRedisTemplate<String, CacheEntry<ProductDetail>> productDetailRedisTemplate;
+    private final ReactiveRedisTemplate<String, CacheEntry<List<String>>> similarIdsRedisTemplate;
+    private final ReactiveRedisTemplate<String, CacheEntry<String>> notFoundRedisTemplate;
+    private final DeadlineAwareRetry retry;
+    private final SingleFlight singleFlight;
+    private final CacheRefresher cacheRefresher;
+
+    /**
+     * Retrieves detailed information about a product, from the cache or from the external API.
+     * Applies retry logic in case of transient failures, within the deadline.
+     *
+     * @param productId the product ID to look up.
+     * @param deadline the deadline of the request.
+     * @return a {@link Mono} with the {@link ProductDetail}, failing with {@link NotFoundException} if the product
+     * does not exist (HTTP 404), with {@link DeadlineExceededException} if the deadline passes first, or with
+     * {@link ExternalServiceException} on any other error.
+     */
+    @Override
+    public Mono<ProductDetail> getProductDetail(String productId, Deadline deadline) {
+        return cached(productDetailRedisTemplate, PRODUCT_DETAIL_CACHE, productId, cacheProperties.getProductDetailTtl(),
+                cacheProperties.getRefresh().getProductDetailSoftTtl(), deadline, () -> fetchProductDetail(productId));
+    }
+
+    /**
+     * Retrieves the details of several products. Cached entries are read with a single MGET and emitted first,
+     * followed by the products known not to exist; the remaining misses are fetched from the external API (with the
+     * same retry policy as {@link #getProductDetail(String, Deadline)}), cached, and emitted in completion order.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request; misses not fetched by then fail with
+     *                 {@link DeadlineExceededException}.
+     * @return one {@link ProductDetailLookup} per distinct product ID, emitted as soon as it is resolved.
+     */
+    @Override
+    public Flux<ProductDetailLookup> streamProductDetails(Collection<String> productIds, Deadline deadline) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Flux.empty();
+        }
+        List<String> keys = distinctIds.stream().map(id -> key(PRODUCT_DETAIL_CACHE, id)).toList();
+        return productDetailRedisTemplate.opsForValue().multiGet(keys)
+                .flatMapMany(cachedValues -> {
+                    List<ProductDetailLookup> cached = new ArrayList<>();
+                    List<String> uncached = new ArrayList<>();
+                    for (int i = 0; i < distinctIds.size(); i++) {
+                        CacheEntry<ProductDetail> entry = cachedValues.get(i);
+                        if (entry != null) {
+                            String id = distinctIds.get(i);
+                            ProductDetail detail = serve(PRODUCT_DETAIL_CACHE, id, entry,
+                                    cacheProperties.getRefresh().getProductDetailSoftTtl(),
+                                    () -> fetchAndStore(productDetailRedisTemplate, PRODUCT_DETAIL_CACHE, id,
+                                            cacheProperties.getProductDetailTtl(), fetchProductDetail(id)));
+                            cached.add(ProductDetailLookup.found(id, detail));
+                        } else {
+                            uncached.add(distinctIds.get(i));
+                        }
+                    }
+                    return knownNotFound(PRODUCT_DETAIL_CACHE, uncached).flatMapMany(notFound -> {
+                        List<String> misses = uncached.stream().filter(id -> !notFound.containsKey(id)).toList();
+                        log.info("Product details batch: {} cached, {} known not found, {} to fetch",
+                                cached.size(), notFound.size(), misses.size());
+                        return Flux.fromIterable(cached)
+                                .concatWith(Flux.fromIterable(uncached)
+                                        .filter(notFound::containsKey)
+                                        .map(id -> ProductDetailLookup.failed(id, new NotFoundException(notFound.get(id)))))
+                                .concatWith(Flux.fromIterable(misses)
+                                        .flatMap(id -> lookupProductDetail(id, deadline),
+                                                fanOutProperties.getMaxConcurrencyPerRequest()));
+                    });
+                });
+    }
+
+    private Mono<ProductDetailLookup> lookupProductDetail(String productId, Deadline deadline) {
+        return coalesced(PRODUCT_DETAIL_CACHE, productId, deadline, () -> fetchAndStore(productDetailRedisTemplate,
+                        PRODUCT_DETAIL_CACHE, productId, cacheProperties.getProductDetailTtl(),
+                        retry.execute("productDetail", deadline, fetchProductDetail(productId))))
+                .map(detail -> ProductDetailLookup.found(productId, detail))
+                .onErrorResume(RuntimeException.class, ex -> Mono.just(ProductDetailLookup.failed(productId, ex)));
+    }
+
+    private Mono<ProductDetail> fetchProductDetail(String productId) {
+        return timed(PRODUCT_DETAIL, () -> {
+                    log.info("Getting product detail for {}", productId);
+                    return productApiWebClient.get()
+                            .uri(props.getBaseUrl() + props.getProductDetailPath(), Map.of("productId", productId))
+                            .retrieve()
+                            .bodyToMono(ProductDetail.class);
+                })
+                .doOnSuccess(detail -> metrics.recordRequest(PRODUCT_DETAIL, MetricsType.SUCCESS))
+                .onErrorMap(ex -> toException(PRODUCT_DETAIL, productId, ex,
+                        String.format("Product %s not found", productId)));
+    }
+
+    /**
+     * Retrieves the list of IDs for products similar to the given product, from the cache or from the external API.
+     * Uses retry and circuit breaker mechanisms to improve resilience; the retries are bounded by the deadline.
+     *
+     * @param productId the product ID to search similar products for.
+     * @param deadline the deadline of the request.
+     * @return a {@link Mono} with the list of similar product IDs, failing with
+     * {@link NotFoundException} if no similar IDs are found (HTTP 404), with {@link DeadlineExceededException} if
+     * the deadline passes first, or with {@link ExternalServiceException} if another error occurs when calling the API.
+     */
+    @Override
+    @CircuitBreaker(name = "similarIds", fallbackMethod = "similarIdsFallback")
+    public Mono<List<String>> getSimilarIds(String productId, Deadline deadline) {
+        return cached(similarIdsRedisTemplate, SIMILAR_IDS_CACHE, productId, cacheProperties.getSimilarIdsTtl(),
+                cacheProperties.getRefresh().getSimilarIdsSoftTtl(), deadline, () -> fetchSimilarIds(productId));
+    }
+
+    private Mono<List<String>> fetchSimilarIds(String productId) {
+        return timed(SIMILAR_IDS, () -> {
+                    log.info("Getting similar IDs for product {}", productId);
+                    return productApiWebClient.get()
+                            .uri(props.getBaseUrl() + props.getSimilarIdsPath(), Map.of("productId", productId))
+                            .retrieve()
+                            .bodyToMono(String[].class);
+                })
+                .map(response -> Arrays.stream(response).toList())
+                .defaultIfEmpty(List.of())
+                .doOnSuccess(ids -> metrics.recordRequest(SIMILAR_IDS, MetricsType.SUCCESS))
+                .onErrorMap(ex -> toException(SIMILAR_IDS, productId, ex,
+                        String.format("Similar Ids not found for product %s", productId)));
+    }
+
+    /**
+     * Fallback method triggered by the circuit breaker when {@link #getSimilarIds(String, Deadline)} fails.
+     *
+     * @param productId the product ID used in the failed request.
+     * @param deadline the deadline of the failed request.
+     * @param t the throwable that caused the fallback.
+     * @return a {@link Mono} with an empty list of similar product IDs.
+     */
+    public Mono<List<String>> similarIdsFallback(String productId, Deadline deadline, Throwable t) {
+        log.error("Fallback similarIds for {}", productId, t);
+        metrics.recordRequest(SIMILAR_IDS, MetricsType.FALLBACK);
+        return Mono.just(List.of());
+    }
+
+    /**
+     * Maps a failed API call to the exceptions thrown by {@link ProductAdapter}, recording the same metrics.
+     */
+    private RuntimeException toException(String flow, String productId, Throwable ex, String notFoundMessage) {
+        if (ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            if (response.getStatusCode().isSameCodeAs(NOT_FOUND)) {
+                log.info("{} not found for {}", flow, productId);
+                metrics.recordRequest(flow, MetricsType.NOT_FOUND);
+                return new NotFoundException(notFoundMessage);
+            }
+            log.error("Error calling {} for {}: status={}", flow, productId, response.getStatusCode(), ex);
+            metrics.recordRequest(flow, MetricsType.ERROR);
+            return new ExternalServiceException(PRODUCT_API_ERROR.getMessage(), ex, response.getStatusCode().value());
+        }
+        log.error("Unexpected error calling {} for {}", flow, productId, ex);
+        metrics.recordRequest(flow, MetricsType.ERROR);
+        return new ExternalServiceException(INTERNAL_ERROR.getMessage(), ex, INTERNAL_SERVER_ERROR.value());
+    }
+
+    /**
+     * Cache-aside read: returns the cached value, or performs {@code fetch} (coalesced with identical in-flight
+     * fetches, and retried with the policy named after the cache within the deadline) and caches its result.
+     * Cached values past {@code softTtl} are returned too, and refreshed in the background without a deadline.
+     * Keys known not to exist fail with {@link NotFoundException} without performing {@code fetch}.
+     */
+    private <T> Mono<T> cached(ReactiveRedisTemplate<String, CacheEntry<T>> template, String cacheName, String id,
+                               Duration ttl, Duration softTtl, Deadline deadline, Supplier<Mono<T>> fetch) {
+        return template.opsForValue().get(key(cacheName, id))
+                .map(entry -> serve(cacheName, id, entry, softTtl,
+                        () -> fetchAndStore(template, cacheName, id, ttl, fetch.get())))
+                .switchIfEmpty(Mono.defer(() -> knownNotFound(cacheName, id)
+                        .flatMap(message -> Mono.<T>error(new NotFoundException(message)))
+                        .switchIfEmpty(Mono.defer(() -> coalesced(cacheName, id, deadline,
+                                () -> fetchAndStore(template, cacheName, id, ttl,
+                                        retry.execute(cacheName, deadline, fetch.get())))))));
+    }
+
+    private <T> Mono<T> fetchAndStore(ReactiveRedisTemplate<String, CacheEntry<T>> template, String cacheName,
+                                      String id, Duration ttl, Mono<T> fetch) {
+        return rememberNotFound(cacheName, id, fetch).flatMap(value -> store(template, cacheName, id, ttl, value));
+    }
+
+    private Mono<String> knownNotFound(String cacheName, String id) {
+        return notFoundRedisTemplate.opsForValue().get(notFoundKey(cacheName, id))
+                .map(CacheEntry::value)
+                .doOnNext(message -> metrics.recordNotFoundHit(cacheName));
+    }
+
+    /**
+     * Batch variant of {@link #knownNotFound(String, String)}, with a single MGET.
+     *
+     * @return the not found message of every id known not to exist.
+     */
+    private Mono<Map<String, String>> knownNotFound(String cacheName, List<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return notFoundRedisTemplate.opsForValue().multiGet(ids.stream().map(id -> notFoundKey(cacheName, id)).toList())
+                .map(entries -> {
+                    Map<String, String> notFound = new HashMap<>();
+                    for (int i = 0; i < ids.size(); i++) {
+                        if (entries.get(i) != null) {
+                            notFound.put(ids.get(i), entries.get(i).value());
+                            metrics.recordNotFoundHit(cacheName);
+                        }
+                    }
+                    return notFound;
+                });
+    }
+
+    private <T> Mono<T> rememberNotFound(String cacheName, String id, Mono<T> call) {
+        return call.onErrorResume(NotFoundException.class, ex -> notFoundRedisTemplate.opsForValue()
+                .set(notFoundKey(cacheName, id), CacheEntry.of(ex.getMessage()), cacheProperties.getNotFoundTtl())
+                .then(Mono.error(ex)));
+    }
+
+    /**
+     * Returns the value of a cached entry, scheduling {@code reload} on the {@link CacheRefresher} when the entry
+     * is past {@code softTtl}. The refresh is coalesced with identical in-flight fetches.
+     */
+    private <T> T serve(String cacheName, String id, CacheEntry<T> entry, Duration softTtl, Supplier<Mono<T>> reload) {
+        metrics.recordCacheEntryAge(cacheName, entry.age());
+        if (entry.isOlderThan(softTtl)) {
+            cacheRefresher.refresh(cacheName, id, () -> coalesced(cacheName, id, Deadline.none(), reload).block());
+        }
+        return entry.value();
+    }
+
+    /**
+     * Performs {@code call} through the {@link SingleFlight}, waiting for it no longer than the deadline: the call in
+     * flight may have been started on behalf of a request with a later one. A {@link DeadlineExceededException} of
+     * the call belongs to the request that started it, so it is performed again if our own deadline has not passed.
+     */
+    private <T> Mono<T> coalesced(String cacheName, String id, Deadline deadline, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Mono<T> flight = Mono.fromFuture(() -> singleFlight.executeAsync(cacheName, id, () -> call.get().toFuture()));
+            if (deadline.isBounded()) {
+                flight = flight.timeout(deadline.remaining(), Mono.error(() -> new DeadlineExceededException(
+                        String.format("Deadline exceeded waiting for %s %s", cacheName, id))));
+            }
+            return flight.onErrorResume(DeadlineExceededException.class, ex -> deadline.isExpired()
+                    ? Mono.error(ex) : coalesced(cacheName, id, deadline, call));
+        });
+    }
+
+    private static <T> Mono<T> store(ReactiveRedisTemplate<String, CacheEntry<T>> template, String cacheName, String id,
+                                     Duration ttl, T value) {
+        return template.opsForValue().set(key(cacheName, id), CacheEntry.of(value), ttl).thenReturn(value);
+    }
+
+    /**
+     * Subscribes to the call lazily, recording its latency under the given flow once it terminates or is cancelled.
+     */
+    private <T> Mono<T> timed(String flow, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get().doFinally(signal -> metrics.recordLatency(flow, start));
+        });
+    }
+
+    /**
+     * Builds the same key as the Redis caches of the blocking adapter ({@code cacheName::id}).
+     */
+    private static String key(String cacheName, String id) {
+        return cacheName + "::" + id;
+    }
+
+    private static String notFoundKey(String cacheName, String id) {
+        return key(NotFoundCache.CACHE_NAME, NotFoundCache.key(cacheName, id));
+    }
+}
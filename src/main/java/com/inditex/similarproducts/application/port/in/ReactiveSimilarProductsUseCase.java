@@ -0,0 +1,25 @@
+package com.inditex.similarproducts.application.port.in;
+
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface ReactiveSimilarProductsUseCase {
+    Mono<List<ProductDetail>> getSimilarProducts(String productId, SimilarProductsQuery query, Deadline deadline);
+
+    default Mono<List<ProductDetail>> getSimilarProducts(String productId, Deadline deadline) {
+        return getSimilarProducts(productId, SimilarProductsQuery.ALL, deadline);
+    }
+
+    Mono<SimilarProductsSummary> streamSimilarProducts(String productId, Deadline deadline,
+                                                       Consumer<ProductDetail> onProduct);
+    Mono<Map<String, SimilarProductsLookup>> getSimilarProductsBatch(Collection<String> productIds, Deadline deadline);
+}
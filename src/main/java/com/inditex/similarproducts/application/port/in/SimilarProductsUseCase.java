@@ -1,9 +1,23 @@
 package com.inditex.similarproducts.application.port.in;
 
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface SimilarProductsUseCase {
-    List<ProductDetail> getSimilarProducts(String productId);
+    List<ProductDetail> getSimilarProducts(String productId, SimilarProductsQuery query, Deadline deadline);
+
+    default List<ProductDetail> getSimilarProducts(String productId, Deadline deadline) {
+        return getSimilarProducts(productId, SimilarProductsQuery.ALL, deadline);
+    }
+
+    SimilarProductsSummary streamSimilarProducts(String productId, Deadline deadline, Consumer<ProductDetail> onProduct);
+    Map<String, SimilarProductsLookup> getSimilarProductsBatch(Collection<String> productIds, Deadline deadline);
 }
@@ -1,10 +1,80 @@
 package com.inditex.similarproducts.application.port.out;
 
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Access to the product API. Every method takes the {@link Deadline} of the request it is called for: no call is
+ * started once it has passed, and the retries and timeouts of the calls are bounded by it.
+ */
 public interface ProductPort {
-    ProductDetail getProductDetail(String productId);
-    List<String> getSimilarIds(String productId);
+    ProductDetail getProductDetail(String productId, Deadline deadline);
+    List<String> getSimilarIds(String productId, Deadline deadline);
+
+    /**
+     * Looks up the details of several products at once. Failures are reported per product instead of thrown.
+     * The default implementation resolves the products one by one through {@link #getProductDetail(String, Deadline)}.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request; products not resolved by then fail with
+     *                 {@link com.inditex.similarproducts.domain.exception.DeadlineExceededException}.
+     * @return one {@link ProductDetailLookup} per distinct product ID, in encounter order.
+     */
+    default Map<String, ProductDetailLookup> getProductDetails(Collection<String> productIds, Deadline deadline) {
+        Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            lookups.computeIfAbsent(productId, id -> {
+                try {
+                    return ProductDetailLookup.found(id, getProductDetail(id, deadline));
+                } catch (RuntimeException ex) {
+                    return ProductDetailLookup.failed(id, ex);
+                }
+            });
+        }
+        return lookups;
+    }
+
+    /**
+     * Looks up the details of several products at once, handing each {@link ProductDetailLookup} to
+     * {@code onResolved} as soon as it is resolved, one at a time and on the calling thread.
+     * The default implementation resolves the whole batch through {@link #getProductDetails(Collection, Deadline)} first.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @param onResolved the consumer of the lookups, called once per distinct product ID.
+     */
+    default void streamProductDetails(Collection<String> productIds, Deadline deadline,
+                                      Consumer<ProductDetailLookup> onResolved) {
+        getProductDetails(productIds, deadline).values().forEach(onResolved);
+    }
+
+    /**
+     * Looks up the similar IDs of several products at once. Failures are reported per product instead of thrown.
+     * The default implementation resolves the products one by one through {@link #getSimilarIds(String, Deadline)}.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @return one {@link SimilarIdsLookup} per distinct product ID, in encounter order.
+     */
+    default Map<String, SimilarIdsLookup> getAllSimilarIds(Collection<String> productIds, Deadline deadline) {
+        Map<String, SimilarIdsLookup> lookups = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            lookups.computeIfAbsent(productId, id -> {
+                try {
+                    return SimilarIdsLookup.found(id, getSimilarIds(id, deadline));
+                } catch (RuntimeException ex) {
+                    return SimilarIdsLookup.failed(id, ex);
+                }
+            });
+        }
+        return lookups;
+    }
 }
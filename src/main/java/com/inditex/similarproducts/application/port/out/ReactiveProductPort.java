@@ -0,0 +1,46 @@
+package com.inditex.similarproducts.application.port.out;
+
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link ProductPort}, with the same error semantics.
+ */
+public interface ReactiveProductPort {
+    Mono<ProductDetail> getProductDetail(String productId, Deadline deadline);
+    Mono<List<String>> getSimilarIds(String productId, Deadline deadline);
+
+    /**
+     * Looks up the details of several products at once. Failures are reported per product instead of signalled.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @return one {@link ProductDetailLookup} per distinct product ID, emitted as soon as it is resolved.
+     */
+    Flux<ProductDetailLookup> streamProductDetails(Collection<String> productIds, Deadline deadline);
+
+    /**
+     * Looks up the details of several products at once through {@link #streamProductDetails(Collection, Deadline)}.
+     *
+     * @param productIds the product IDs to look up; duplicates are resolved once.
+     * @param deadline the deadline of the request.
+     * @return a {@link Mono} with one {@link ProductDetailLookup} per distinct product ID, in encounter order.
+     */
+    default Mono<Map<String, ProductDetailLookup>> getProductDetails(Collection<String> productIds, Deadline deadline) {
+        return streamProductDetails(productIds, deadline)
+                .collectMap(ProductDetailLookup::productId)
+                .map(resolved -> {
+                    Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+                    productIds.stream().distinct().forEach(id -> lookups.put(id, resolved.get(id)));
+                    return lookups;
+                });
+    }
+}
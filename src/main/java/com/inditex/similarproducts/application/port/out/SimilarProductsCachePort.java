@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.application.port.out;
+
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of fully assembled similar products responses, keyed by the base product ID.
+ * An entry is dropped as soon as the similar IDs of its product or the detail of one of its similar products
+ * changes or is evicted.
+ */
+public interface SimilarProductsCachePort {
+
+    Optional<SimilarProducts> get(String productId);
+
+    void put(String productId, SimilarProducts similarProducts);
+
+    /**
+     * Looks up the responses of several products at once. The default implementation looks them up one by one.
+     *
+     * @return the cached response of every product that has one.
+     */
+    default Map<String, SimilarProducts> getAll(Collection<String> productIds) {
+        Map<String, SimilarProducts> hits = new HashMap<>();
+        productIds.forEach(id -> get(id).ifPresent(similarProducts -> hits.put(id, similarProducts)));
+        return hits;
+    }
+}
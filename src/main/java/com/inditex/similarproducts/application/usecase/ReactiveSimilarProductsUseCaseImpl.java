@@ -0,0 +1,190 @@
+package com.inditex.similarproducts.application.usecase;
+
+import com.inditex.similarproducts.application.port.in.ReactiveSimilarProductsUseCase;
+import com.inditex.similarproducts.application.port.out.ReactiveProductPort;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking implementation of the similar products use case, active when {@code execution.mode=reactive}.
+ * It follows the same steps, skipping rules and metrics as {@link SimilarProductsUseCaseImpl}, but never blocks
+ * the calling thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "execution.mode", havingValue = "reactive")
+public class ReactiveSimilarProductsUseCaseImpl implements ReactiveSimilarProductsUseCase {
+    private final ReactiveProductPort productAdapter;
+    private final MetricsRecorder metrics;
+
+    /**
+     * Retrieves product details for the products similar to the given product ID that are part of {@code query}.
+     * A narrower query only looks up the details of the similar IDs it walks through, as in
+     * {@link SimilarProductsUseCaseImpl#getSimilarProducts(String, SimilarProductsQuery, Deadline)}.
+     * Product details not retrieved before the deadline are skipped like failed ones.
+     *
+     * @param productId the ID of the product to search similar products for.
+     * @param query the slice of the similar products to return.
+     * @param deadline the deadline of the request, bounding every call made to build the response.
+     * @return a {@link Mono} with the list of {@link ProductDetail} for all successfully retrieved similar products
+     * of the slice, or failing with {@link NotFoundException} if the provided productId has no similar IDs, or with
+     * {@link DeadlineExceededException} if the similar IDs could not be retrieved before the deadline.
+     */
+    @Override
+    public Mono<List<ProductDetail>> getSimilarProducts(String productId, SimilarProductsQuery query,
+                                                        Deadline deadline) {
+        log.info("Getting similar products for product {} with {}", productId, query);
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS, () -> productAdapter.getSimilarIds(productId, deadline)
+                .flatMap(similarIds -> {
+                    log.info("Found {} similar ids for {}", similarIds.size(), productId);
+                    Mono<List<ProductDetail>> products = query.isAll()
+                            ? productAdapter.getProductDetails(similarIds, deadline)
+                                    .map(lookups -> SimilarProductsResults.collect(similarIds, lookups, metrics))
+                            : page(similarIds, query, deadline, new ArrayList<>(), query.offset());
+                    return products.doOnNext(similarProducts -> {
+                        log.info("Returning {} similar products for {}", similarProducts.size(), productId);
+                        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS,
+                                SimilarProductsResults.calculateMetricsCategory(similarProducts.size(),
+                                        SimilarProductsResults.pageSize(similarIds, query)));
+                    });
+                }));
+    }
+
+    /**
+     * Looks up the details of the similar IDs of a query from {@code next} on, one chunk at a time, until the page
+     * is full, the walk reaches its end or the deadline passes.
+     */
+    private Mono<List<ProductDetail>> page(List<String> similarIds, SimilarProductsQuery query, Deadline deadline,
+                                           List<ProductDetail> page, int next) {
+        int end = SimilarProductsResults.walkEnd(similarIds, query);
+        if (next >= end || page.size() >= query.limit() || deadline.isExpired()) {
+            return Mono.just(page);
+        }
+        List<String> chunk = similarIds.subList(next, next + Math.min(end - next, query.limit() - page.size()));
+        return productAdapter.getProductDetails(chunk, deadline).flatMap(lookups -> {
+            SimilarProductsResults.collect(chunk, lookups, metrics).stream()
+                    .filter(query::matches)
+                    .forEach(page::add);
+            return page(similarIds, query, deadline, page, next + chunk.size());
+        });
+    }
+
+    /**
+     * Streams the details of all products similar to the given product ID, handing each one to {@code onProduct}
+     * as soon as it is retrieved (not in the order of the similar IDs).
+     *
+     * @param productId the ID of the product to search similar products for.
+     * @param deadline the deadline of the request, bounding every call made to build the stream.
+     * @param onProduct the consumer of the retrieved products, called one at a time.
+     * @return a {@link Mono} with the {@link SimilarProductsSummary} of the stream, completed once every product
+     * has been handed over, or failing with {@link NotFoundException} if the provided productId has no similar IDs,
+     * or with {@link DeadlineExceededException} if the similar IDs could not be retrieved before the deadline.
+     */
+    @Override
+    public Mono<SimilarProductsSummary> streamSimilarProducts(String productId, Deadline deadline,
+                                                              Consumer<ProductDetail> onProduct) {
+        log.info("Streaming similar products for product {}", productId);
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS, () -> productAdapter.getSimilarIds(productId, deadline)
+                .map(similarIds -> similarIds.stream().distinct().toList())
+                .flatMap(similarIds -> {
+                    log.info("Found {} similar ids for {}", similarIds.size(), productId);
+                    return productAdapter.streamProductDetails(similarIds, deadline)
+                            .concatMap(lookup -> Mono.justOrEmpty(
+                                    SimilarProductsResults.toProductDetail(lookup.productId(), lookup, metrics)))
+                            .doOnNext(onProduct)
+                            .count()
+                            .map(returned -> {
+                                log.info("Streamed {} similar products for {}", returned, productId);
+                                return SimilarProductsResults.summarize(returned.intValue(), similarIds.size(), metrics);
+                            });
+                }));
+    }
+
+    /**
+     * Retrieves the similar products of several products in one pass, as
+     * {@link SimilarProductsUseCaseImpl#getSimilarProductsBatch(Collection, Deadline)} does without the assembled
+     * response cache: the similar IDs of every distinct product are looked up concurrently, then the details of all
+     * of them are looked up once, even if several products share them.
+     *
+     * @param productIds the IDs of the base products; duplicates are resolved once.
+     * @param deadline the deadline of the request, bounding every call made to build the batch.
+     * @return a {@link Mono} with one {@link SimilarProductsLookup} per distinct product ID, in encounter order,
+     * holding the products or the error a single similar products request would have answered.
+     */
+    @Override
+    public Mono<Map<String, SimilarProductsLookup>> getSimilarProductsBatch(Collection<String> productIds,
+                                                                          Deadline deadline) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS_BATCH, () -> Flux.fromIterable(distinctIds)
+                .flatMap(productId -> productAdapter.getSimilarIds(productId, deadline)
+                        .map(similarIds -> SimilarIdsLookup.found(productId, similarIds))
+                        .onErrorResume(RuntimeException.class,
+                                ex -> Mono.just(SimilarIdsLookup.failed(productId, ex))))
+                .collectMap(SimilarIdsLookup::productId)
+                .flatMap(similarIds -> {
+                    List<String> union = similarIds.values().stream()
+                            .filter(SimilarIdsLookup::isFound)
+                            .flatMap(lookup -> lookup.similarIds().stream())
+                            .distinct()
+                            .toList();
+                    log.info("Similar products batch of {}: {} distinct similar products to look up",
+                            distinctIds.size(), union.size());
+                    Mono<Map<String, ProductDetailLookup>> details = union.isEmpty() ? Mono.just(Map.of())
+                            : productAdapter.getProductDetails(union, deadline);
+                    return details.map(lookups -> {
+                        Map<String, SimilarProductsLookup> results = new LinkedHashMap<>();
+                        distinctIds.forEach(productId ->
+                                results.put(productId, assembleEntry(productId, similarIds.get(productId), lookups)));
+                        return results;
+                    });
+                }));
+    }
+
+    private SimilarProductsLookup assembleEntry(String productId, SimilarIdsLookup similarIds,
+                                                Map<String, ProductDetailLookup> details) {
+        if (!similarIds.isFound()) {
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS,
+                    SimilarProductsResults.failureCategory(similarIds.error()));
+            return SimilarProductsLookup.failed(productId, similarIds.error());
+        }
+        List<ProductDetail> similarProducts = SimilarProductsResults.collect(similarIds.similarIds(), details, metrics);
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                similarProducts.size(), similarIds.similarIds().size()));
+        return SimilarProductsLookup.found(productId, similarProducts);
+    }
+
+    /**
+     * Subscribes to a request lazily, recording the end-to-end latency of its flow once it terminates or is
+     * cancelled.
+     */
+    private <T> Mono<T> timed(String flow, Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get().doFinally(signal -> metrics.recordLatency(flow, start));
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.inditex.similarproducts.application.usecase;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Result handling shared by the blocking and the reactive similar products use cases.
+ */
+@Slf4j
+final class SimilarProductsResults {
+
+    private SimilarProductsResults() {
+    }
+
+    /**
+     * Collects the details of the similar products from their lookups, keeping the order of the provided product IDs.
+     * Products that are not found or produce an error are skipped, with appropriate metrics recorded.
+     *
+     * @param similarIds the product IDs that were looked up
+     * @param lookups the outcome of looking up each product
+     * @param metrics the recorder for skipped products
+     * @return a list of {@link ProductDetail} objects successfully retrieved
+     */
+    static List<ProductDetail> collect(List<String> similarIds, Map<String, ProductDetailLookup> lookups,
+                                       MetricsRecorder metrics) {
+        return similarIds.stream()
+                .map(id -> toProductDetail(id, lookups.get(id), metrics))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Records the products skipped by a response served from the cache, as {@link #collect} recorded them when the
+     * response was built: only complete responses are cached, so every similar product missing from it was not found.
+     *
+     * @param cached the cached response
+     * @param metrics the recorder for skipped products
+     */
+    static void recordSkipped(SimilarProducts cached, MetricsRecorder metrics) {
+        Set<String> found = cached.products().stream().map(ProductDetail::id).collect(Collectors.toSet());
+        cached.similarIds().stream()
+                .filter(id -> !found.contains(id))
+                .forEach(id -> metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND));
+    }
+
+    /**
+     * Tells whether every lookup either found its product or failed with {@link NotFoundException},
+     * i.e. whether the assembled result would be the same if it were built again right away.
+     *
+     * @param lookups the outcome of looking up each product
+     * @return {@code true} if no lookup failed with another error
+     */
+    static boolean isComplete(Map<String, ProductDetailLookup> lookups) {
+        return lookups.values().stream()
+                .allMatch(lookup -> lookup != null && (lookup.error() == null || lookup.error() instanceof NotFoundException));
+    }
+
+    /**
+     * Determines the metrics category based on the number of successfully retrieved products.
+     *
+     * @param productsFounded the number of products successfully retrieved
+     * @param similarIds the total number of requested product IDs
+     * @return the appropriate {@link MetricsType} representing the result
+     */
+    static MetricsType calculateMetricsCategory(int productsFounded, int similarIds) {
+        if (productsFounded == 0) return MetricsType.EMPTY;
+        if (productsFounded == similarIds) return MetricsType.SUCCESS;
+        return MetricsType.PARTIAL_SUCCESS;
+    }
+
+    /**
+     * Determines the metrics category of a batch entry whose similar IDs could not be retrieved.
+     *
+     * @param error the failure of the similar IDs lookup
+     * @return the {@link MetricsType} the single similar products request would have recorded
+     */
+    static MetricsType failureCategory(RuntimeException error) {
+        if (error instanceof NotFoundException) {
+            return MetricsType.NOT_FOUND;
+        }
+        return error instanceof DeadlineExceededException ? MetricsType.DEADLINE_EXCEEDED : MetricsType.ERROR;
+    }
+
+    /**
+     * Position in the similar IDs past which a query stops looking: the end of its slice, or the end of the similar
+     * IDs for {@code availableOnly}, whose unavailable products are replaced by the following ones.
+     */
+    static int walkEnd(List<String> similarIds, SimilarProductsQuery query) {
+        return query.availableOnly() ? similarIds.size() : query.offset() + pageSize(similarIds, query);
+    }
+
+    /**
+     * Number of products a query would return if every similar product in its slice matched.
+     */
+    static int pageSize(List<String> similarIds, SimilarProductsQuery query) {
+        return Math.min(query.limit(), Math.max(0, similarIds.size() - query.offset()));
+    }
+
+    /**
+     * Builds the trailing record of a streamed response and records its outcome.
+     *
+     * @param returned the number of products written to the stream
+     * @param requested the number of distinct product IDs that were looked up
+     * @param metrics the recorder for the outcome
+     * @return the {@link SimilarProductsSummary} of the stream
+     */
+    static SimilarProductsSummary summarize(int returned, int requested, MetricsRecorder metrics) {
+        MetricsType outcome = calculateMetricsCategory(returned, requested);
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, outcome);
+        return new SimilarProductsSummary(outcome.name(), requested, returned);
+    }
+
+    /**
+     * Extracts the details of a single product from its lookup.
+     * Failed lookups are skipped with the appropriate metric, so exceptions do not propagate.
+     *
+     * @param productId the ID of the product
+     * @param lookup the outcome of looking up the product
+     * @return an {@link Optional} containing the {@link ProductDetail} if successfully retrieved,
+     * or empty if the product was not found or an error occurred.
+     */
+    static Optional<ProductDetail> toProductDetail(String productId, ProductDetailLookup lookup,
+                                                           MetricsRecorder metrics) {
+        if (lookup == null || lookup.error() == null) {
+            return Optional.ofNullable(lookup == null ? null : lookup.detail());
+        }
+        if (lookup.error() instanceof NotFoundException) {
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+            log.info("Product {} not found, skipping.", productId);
+        } else {
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_ERROR);
+            log.warn("Skipping product {} due to unexpected error: {}", productId, lookup.error().getMessage(), lookup.error());
+        }
+        return Optional.empty();
+    }
+}
@@ -3,8 +3,18 @@ package com.inditex.similarproducts.application.usecase;
 import com.inditex.similarproducts.adapter.out.rest.ProductAdapter;
 import com.inditex.similarproducts.application.port.in.SimilarProductsUseCase;
 import com.inditex.similarproducts.application.port.out.ProductPort;
+import com.inditex.similarproducts.application.port.out.SimilarProductsCachePort;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import com.inditex.similarproducts.infrastructure.monitoring.HotKeyTracker;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
@@ -12,13 +22,23 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Use case implementation for retrieving products similar to a given product.
  * This class coordinates the interaction between the {@link ProductAdapter} (for getting product details and similar IDs)
  * and {@link MetricsRecorder} (for tracking metrics of successful and failed).
+ * Assembled responses are kept in the {@link SimilarProductsCachePort}, so a repeated request is answered with
+ * a single cache lookup. The requested products are counted by the {@link HotKeyTracker}.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,76 +46,225 @@ import java.util.Optional;
 public class SimilarProductsUseCaseImpl implements SimilarProductsUseCase {
     private final ProductPort productAdapter;
     private final MetricsRecorder metrics;
+    private final SimilarProductsCachePort similarProductsCache;
+    private final HotKeyTracker hotKeys;
 
     /**
-     * Retrieves product details for all products similar to the given product ID.
+     * Retrieves product details for the products similar to the given product ID that are part of {@code query}.
+     * The full response is served from the cache when present; otherwise it is built from the similar IDs
+     * and the product details, and cached unless a product failed with an error other than not found.
+     * A narrower query is sliced out of the cached response, or else only looks up the details of the similar IDs
+     * it walks through, and its partial response is not cached. Served from the cache or not, a response records
+     * the same metrics, including a skipped product for every similar product not found.
+     *
+     * Product details not retrieved before the deadline are skipped like failed ones.
      *
      * @param productId the ID of the product to search similar products for.
-     * @return a list of {@link ProductDetail} for all successfully retrieved similar products.
+     * @param query the slice of the similar products to return.
+     * @param deadline the deadline of the request, bounding every call made to build the response.
+     * @return a list of {@link ProductDetail} for all successfully retrieved similar products of the slice.
      * @throws NotFoundException if the provided productId has no similar IDs or the external service returns 404.
+     * @throws DeadlineExceededException if the similar IDs could not be retrieved before the deadline.
      */
     @Override
-    public List<ProductDetail> getSimilarProducts(String productId) {
+    public List<ProductDetail> getSimilarProducts(String productId, SimilarProductsQuery query, Deadline deadline) {
+        hotKeys.record(HotKeyTracker.SIMILAR_PRODUCTS, productId);
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS, () -> query.isAll()
+                ? assembleSimilarProducts(productId, deadline)
+                : assembleSimilarProductsPage(productId, query, deadline));
+    }
+
+    private List<ProductDetail> assembleSimilarProducts(String productId, Deadline deadline) {
         log.info("Getting similar products for product {}", productId);
 
-        List<String> similarIds = productAdapter.getSimilarIds(productId);
+        Optional<SimilarProducts> cached = similarProductsCache.get(productId);
+        if (cached.isPresent()) {
+            List<ProductDetail> similarProducts = cached.get().products();
+            log.info("Returning {} cached similar products for {}", similarProducts.size(), productId);
+            SimilarProductsResults.recordSkipped(cached.get(), metrics);
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                    similarProducts.size(), cached.get().similarIds().size()));
+            return similarProducts;
+        }
+
+        List<String> similarIds = productAdapter.getSimilarIds(productId, deadline);
         log.info("Found {} similar ids for {}", similarIds.size(), productId);
 
-        List<ProductDetail> similarProducts = getProductsDetailFromSimilarProducts(similarIds);
+        Map<String, ProductDetailLookup> lookups = productAdapter.getProductDetails(similarIds, deadline);
+        List<ProductDetail> similarProducts = SimilarProductsResults.collect(similarIds, lookups, metrics);
+        if (!similarIds.isEmpty() && SimilarProductsResults.isComplete(lookups)) {
+            similarProductsCache.put(productId, new SimilarProducts(similarIds, similarProducts));
+        }
 
         log.info("Returning {} similar products for {}", similarProducts.size(), productId);
         metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS,
-                calculateMetricsCategory(similarProducts.size(), similarIds.size()));
+                SimilarProductsResults.calculateMetricsCategory(similarProducts.size(), similarIds.size()));
         return similarProducts;
     }
 
+    private List<ProductDetail> assembleSimilarProductsPage(String productId, SimilarProductsQuery query,
+                                                            Deadline deadline) {
+        log.info("Getting similar products for product {} with {}", productId, query);
+
+        Optional<SimilarProducts> cached = similarProductsCache.get(productId);
+        if (cached.isPresent()) {
+            Map<String, ProductDetail> byId = new HashMap<>();
+            cached.get().products().forEach(product -> byId.put(product.id(), product));
+            List<String> similarIds = cached.get().similarIds();
+            List<ProductDetail> page = new ArrayList<>();
+            int end = SimilarProductsResults.walkEnd(similarIds, query);
+            for (int i = query.offset(); i < end && page.size() < query.limit(); i++) {
+                ProductDetail product = byId.get(similarIds.get(i));
+                if (product == null) {
+                    metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+                } else if (query.matches(product)) {
+                    page.add(product);
+                }
+            }
+            log.info("Returning {} cached similar products for {}", page.size(), productId);
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                    page.size(), SimilarProductsResults.pageSize(similarIds, query)));
+            return page;
+        }
+
+        List<String> similarIds = productAdapter.getSimilarIds(productId, deadline);
+        log.info("Found {} similar ids for {}", similarIds.size(), productId);
+
+        List<ProductDetail> page = new ArrayList<>();
+        int next = query.offset();
+        int end = SimilarProductsResults.walkEnd(similarIds, query);
+        while (next < end && page.size() < query.limit() && !deadline.isExpired()) {
+            List<String> chunk = similarIds.subList(next, next + Math.min(end - next, query.limit() - page.size()));
+            Map<String, ProductDetailLookup> lookups = productAdapter.getProductDetails(chunk, deadline);
+            SimilarProductsResults.collect(chunk, lookups, metrics).stream()
+                    .filter(query::matches)
+                    .forEach(page::add);
+            next += chunk.size();
+        }
+
+        log.info("Returning {} similar products for {} after looking up {} of {} similar ids",
+                page.size(), productId, next - query.offset(), similarIds.size());
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                page.size(), SimilarProductsResults.pageSize(similarIds, query)));
+        return page;
+    }
+
     /**
-     * Retrieves the details of a list of similar products.
-     * Iterates over the provided product IDs and attempts to fetch each product's details.
-     * Products that are not found or produce an error are skipped, with appropriate metrics recorded.
-     * The returned list only contains successfully retrieved products.
-     * @param similarIds a list of product IDs to fetch details for
-     * @return a list of {@link ProductDetail} objects successfully retrieved
+     * Streams the details of all products similar to the given product ID, handing each one to {@code onProduct}
+     * as soon as it is retrieved (not in the order of the similar IDs). Products that are not found or produce
+     * an error are skipped, as in {@link #getSimilarProducts(String, SimilarProductsQuery, Deadline)}.
+     *
+     * @param productId the ID of the product to search similar products for.
+     * @param deadline the deadline of the request, bounding every call made to build the stream.
+     * @param onProduct the consumer of the retrieved products, called on the calling thread.
+     * @return the {@link SimilarProductsSummary} of the stream, once every product has been handed over.
+     * @throws NotFoundException if the provided productId has no similar IDs or the external service returns 404.
+     * @throws DeadlineExceededException if the similar IDs could not be retrieved before the deadline.
      */
-    private List<ProductDetail> getProductsDetailFromSimilarProducts(List<String> similarIds) {
-        return similarIds.stream()
-                .map(this::fetchProductDetail)
-                .flatMap(Optional::stream)
-                .toList();
+    @Override
+    public SimilarProductsSummary streamSimilarProducts(String productId, Deadline deadline,
+                                                        Consumer<ProductDetail> onProduct) {
+        hotKeys.record(HotKeyTracker.SIMILAR_PRODUCTS, productId);
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS,
+                () -> streamSimilarProductDetails(productId, deadline, onProduct));
+    }
+
+    private SimilarProductsSummary streamSimilarProductDetails(String productId, Deadline deadline,
+                                                               Consumer<ProductDetail> onProduct) {
+        log.info("Streaming similar products for product {}", productId);
+
+        List<String> similarIds = productAdapter.getSimilarIds(productId, deadline).stream().distinct().toList();
+        log.info("Found {} similar ids for {}", similarIds.size(), productId);
+
+        AtomicInteger returned = new AtomicInteger();
+        productAdapter.streamProductDetails(similarIds, deadline, lookup ->
+                SimilarProductsResults.toProductDetail(lookup.productId(), lookup, metrics).ifPresent(detail -> {
+                    returned.incrementAndGet();
+                    onProduct.accept(detail);
+                }));
+
+        log.info("Streamed {} similar products for {}", returned.get(), productId);
+        return SimilarProductsResults.summarize(returned.get(), similarIds.size(), metrics);
     }
 
     /**
-     * Fetches the details of a single product.
-     * This method wraps {@link ProductAdapter#getProductDetail(String)} and ensures that exceptions do not propagate.
+     * Retrieves the similar products of several base products in one pass: the assembled responses are read from
+     * the cache in a single batch, the similar IDs of the others are resolved in a single batch, and the details of
+     * the union of their similar IDs are looked up once, so a product similar to several base products is fetched
+     * once. Each entry is the outcome a single similar products request for its product would have had, and is
+     * cached and recorded in the metrics as such.
      *
-     * @param productId the ID of the product
-     * @return an {@link Optional} containing the {@link ProductDetail} if successfully retrieved,
-     * or empty if the product was not found or an error occurred.
+     * @param productIds the IDs of the base products; duplicates are resolved once.
+     * @param deadline the deadline of the request, bounding every call made to build the batch.
+     * @return one {@link SimilarProductsLookup} per distinct base product ID, in encounter order.
      */
-    private Optional<ProductDetail> fetchProductDetail(String productId) {
-        try {
-            var detail = productAdapter.getProductDetail(productId);
-            return Optional.ofNullable(detail);
-        } catch (NotFoundException e) {
-            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
-            log.info("Product {} not found, skipping.", productId);
-        } catch (Exception ex) {
-            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_ERROR);
-            log.warn("Skipping product {} due to unexpected error: {}", productId, ex.getMessage(), ex);
+    @Override
+    public Map<String, SimilarProductsLookup> getSimilarProductsBatch(Collection<String> productIds,
+                                                                      Deadline deadline) {
+        return timed(MetricsEndpoint.SIMILAR_PRODUCTS_BATCH, () -> assembleSimilarProductsBatch(productIds, deadline));
+    }
+
+    private Map<String, SimilarProductsLookup> assembleSimilarProductsBatch(Collection<String> productIds,
+                                                                            Deadline deadline) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        hotKeys.recordAll(HotKeyTracker.SIMILAR_PRODUCTS, distinctIds);
+        Map<String, SimilarProducts> cached = similarProductsCache.getAll(distinctIds);
+        List<String> uncached = distinctIds.stream().filter(id -> !cached.containsKey(id)).toList();
+
+        Map<String, SimilarIdsLookup> similarIds = uncached.isEmpty() ? Map.of()
+                : productAdapter.getAllSimilarIds(uncached, deadline);
+        List<String> union = similarIds.values().stream()
+                .filter(SimilarIdsLookup::isFound)
+                .flatMap(lookup -> lookup.similarIds().stream())
+                .distinct()
+                .toList();
+        log.info("Similar products batch of {}: {} cached, {} distinct similar products to look up",
+                distinctIds.size(), cached.size(), union.size());
+        Map<String, ProductDetailLookup> details = union.isEmpty() ? Map.of()
+                : productAdapter.getProductDetails(union, deadline);
+
+        Map<String, SimilarProductsLookup> results = new LinkedHashMap<>();
+        for (String productId : distinctIds) {
+            SimilarProducts hit = cached.get(productId);
+            if (hit != null) {
+                SimilarProductsResults.recordSkipped(hit, metrics);
+                metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                        hit.products().size(), hit.similarIds().size()));
+                results.put(productId, SimilarProductsLookup.found(productId, hit.products()));
+            } else {
+                results.put(productId, assembleEntry(productId, similarIds.get(productId), details));
+            }
+        }
+        return results;
+    }
+
+    private SimilarProductsLookup assembleEntry(String productId, SimilarIdsLookup similarIds,
+                                                Map<String, ProductDetailLookup> details) {
+        if (!similarIds.isFound()) {
+            metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS,
+                    SimilarProductsResults.failureCategory(similarIds.error()));
+            return SimilarProductsLookup.failed(productId, similarIds.error());
+        }
+        Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+        similarIds.similarIds().forEach(id -> lookups.put(id, details.get(id)));
+        List<ProductDetail> similarProducts = SimilarProductsResults.collect(similarIds.similarIds(), lookups, metrics);
+        if (!similarIds.similarIds().isEmpty() && SimilarProductsResults.isComplete(lookups)) {
+            similarProductsCache.put(productId, new SimilarProducts(similarIds.similarIds(), similarProducts));
         }
-        return Optional.empty();
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, SimilarProductsResults.calculateMetricsCategory(
+                similarProducts.size(), similarIds.similarIds().size()));
+        return SimilarProductsLookup.found(productId, similarProducts);
     }
 
     /**
-     * Determines the metrics category based on the number of successfully retrieved products.
-     *
-     * @param productsFounded the number of products successfully retrieved
-     * @param similarIds the total number of requested product IDs
-     * @return the appropriate {@link MetricsType} representing the result
+     * Runs a request, recording its end-to-end latency whatever its outcome.
      */
-    private MetricsType calculateMetricsCategory(int productsFounded, int similarIds) {
-        if (productsFounded == 0) return MetricsType.EMPTY;
-        if (productsFounded == similarIds) return MetricsType.SUCCESS;
-        return MetricsType.PARTIAL_SUCCESS;
+    private <T> T timed(String flow, Supplier<T> request) {
+        long start = System.nanoTime();
+        try {
+            return request.get();
+        } finally {
+            metrics.recordLatency(flow, start);
+        }
     }
 }
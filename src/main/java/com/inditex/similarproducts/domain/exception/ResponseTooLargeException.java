@@ -0,0 +1,10 @@
+package com.inditex.similarproducts.domain.exception;
+
+/**
+ * The product API answered with more data than the service accepts. Retrying would get the same answer.
+ */
+public class ResponseTooLargeException extends ExternalServiceException {
+    public ResponseTooLargeException(String message) {
+        super(message, 502);
+    }
+}
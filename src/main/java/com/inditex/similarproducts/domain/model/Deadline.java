@@ -0,0 +1,80 @@
+package com.inditex.similarproducts.domain.model;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request must be answered, created once when the request arrives and passed down to
+ * every call made on its behalf. Retries, backoffs and call timeouts are derived from what is {@link #remaining()},
+ * and no call is started once the deadline has passed.
+ * Based on {@link System#nanoTime()}, so it is only meaningful within the JVM that created it.
+ */
+public final class Deadline {
+    private static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline that expires {@code budget} from now.
+     */
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /**
+     * The deadline of work done on no request's behalf (e.g. background refreshes): it never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * @return the time left before the deadline, {@link Duration#ZERO} once it has passed, or a practically
+     * infinite duration when it is not {@linkplain #isBounded() bounded}.
+     */
+    public Duration remaining() {
+        if (!bounded) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return {@code timeout}, shortened to the time left before the deadline.
+     */
+    public Duration cap(Duration timeout) {
+        Duration remaining = remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Fails fast when the deadline has passed, before starting {@code operation}.
+     *
+     * @throws DeadlineExceededException if the deadline has passed.
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(String.format("Deadline exceeded before %s", operation));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + remaining() + "]" : "Deadline[none]";
+    }
+}
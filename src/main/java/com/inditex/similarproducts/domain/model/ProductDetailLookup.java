@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.domain.model;
+
+/**
+ * Outcome of looking up a single product detail as part of a batch.
+ * Exactly one of {@code detail} and {@code error} is set, except when the API answered with an empty body.
+ */
+public record ProductDetailLookup(
+        String productId,
+        ProductDetail detail,
+        RuntimeException error
+) {
+    public static ProductDetailLookup found(String productId, ProductDetail detail) {
+        return new ProductDetailLookup(productId, detail, null);
+    }
+
+    public static ProductDetailLookup failed(String productId, RuntimeException error) {
+        return new ProductDetailLookup(productId, null, error);
+    }
+
+    public boolean isFound() {
+        return detail != null;
+    }
+}
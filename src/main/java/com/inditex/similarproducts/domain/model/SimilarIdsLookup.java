@@ -0,0 +1,25 @@
+package com.inditex.similarproducts.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of looking up the similar IDs of a single product as part of a batch.
+ * Exactly one of {@code similarIds} and {@code error} is set.
+ */
+public record SimilarIdsLookup(
+        String productId,
+        List<String> similarIds,
+        RuntimeException error
+) {
+    public static SimilarIdsLookup found(String productId, List<String> similarIds) {
+        return new SimilarIdsLookup(productId, similarIds, null);
+    }
+
+    public static SimilarIdsLookup failed(String productId, RuntimeException error) {
+        return new SimilarIdsLookup(productId, null, error);
+    }
+
+    public boolean isFound() {
+        return error == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.inditex.similarproducts.domain.model;
+
+import java.util.List;
+
+/**
+ * Fully assembled similar products response of a product, as kept in the assembled-response cache.
+ *
+ * @param similarIds the similar product IDs the response was built from, in the order of the API.
+ * @param products the details of the similar products that were found, in the order of {@code similarIds}.
+ */
+public record SimilarProducts(
+        List<String> similarIds,
+        List<ProductDetail> products
+) {}
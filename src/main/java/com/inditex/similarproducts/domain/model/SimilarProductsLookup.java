@@ -0,0 +1,25 @@
+package com.inditex.similarproducts.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of assembling the similar products of a single base product as part of a batch: either the products
+ * that a single similar products request would have returned, or the error it would have failed with.
+ */
+public record SimilarProductsLookup(
+        String productId,
+        List<ProductDetail> products,
+        RuntimeException error
+) {
+    public static SimilarProductsLookup found(String productId, List<ProductDetail> products) {
+        return new SimilarProductsLookup(productId, products, null);
+    }
+
+    public static SimilarProductsLookup failed(String productId, RuntimeException error) {
+        return new SimilarProductsLookup(productId, List.of(), error);
+    }
+
+    public boolean isFound() {
+        return error == null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.inditex.similarproducts.domain.model;
+
+/**
+ * Slice of the similar products a request asks for.
+ * The offset counts similar IDs, not returned products, so consecutive pages never overlap: a page holds the
+ * products of the similar IDs from {@code offset} to {@code offset + limit}, leaving out the ones that are not found.
+ * With {@code availableOnly}, the walk over the similar IDs goes on past the slice until {@code limit} available
+ * products have been found. The details past the walk are never looked up.
+ *
+ * @param offset the position in the similar IDs to start from.
+ * @param limit the maximum number of products to return, {@link #UNLIMITED} for all of them.
+ * @param availableOnly whether only available products match; unavailable ones do not count towards the limit.
+ */
+public record SimilarProductsQuery(
+        int offset,
+        int limit,
+        boolean availableOnly
+) {
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /** Every similar product, as answered without query parameters. */
+    public static final SimilarProductsQuery ALL = new SimilarProductsQuery(0, UNLIMITED, false);
+
+    public SimilarProductsQuery {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The 'offset' parameter must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("The 'limit' parameter must be positive");
+        }
+    }
+
+    /**
+     * @return {@code true} if the query asks for every similar product, so the full response can be served and cached.
+     */
+    public boolean isAll() {
+        return offset == 0 && limit == UNLIMITED && !availableOnly;
+    }
+
+    /**
+     * @return {@code true} if {@code product} is part of the response of this query.
+     */
+    public boolean matches(ProductDetail product) {
+        return !availableOnly || product.availability();
+    }
+}
@@ -0,0 +1,14 @@
+package com.inditex.similarproducts.domain.model;
+
+/**
+ * Trailing record of a streamed similar products response.
+ *
+ * @param outcome SUCCESS, PARTIAL_SUCCESS or EMPTY, as recorded in the metrics.
+ * @param requested the number of distinct similar products that were looked up.
+ * @param returned the number of products written to the stream.
+ */
+public record SimilarProductsSummary(
+        String outcome,
+        int requested,
+        int returned
+) {}
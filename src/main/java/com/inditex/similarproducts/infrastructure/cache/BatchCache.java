@@ -0,0 +1,26 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Multi-key operations for caches whose backing store can serve several keys in a single round trip.
+ * Use {@link CacheBatches} to apply them to any {@link org.springframework.cache.Cache}.
+ */
+public interface BatchCache {
+
+    /**
+     * Looks up several keys at once.
+     *
+     * @param keys the keys to look up.
+     * @return the cached values of the keys that were found; misses are absent from the map.
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Stores several entries at once. {@code null} values are ignored.
+     *
+     * @param entries the entries to store.
+     */
+    void putAll(Map<?, ?> entries);
+}
@@ -0,0 +1,99 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RedisCache} that reads several keys with a single {@code MGET} and writes several entries
+ * in one pipelined batch of {@code SET ... PX}, using the same key prefix, serializers and TTL as the
+ * single-key operations. The size of every serialized value is recorded in the {@code entrySizes} distribution.
+ */
+public class BatchRedisCache extends RedisCache implements BatchCache {
+    private final RedisConnectionFactory connectionFactory;
+    private final DistributionSummary entrySizes;
+
+    protected BatchRedisCache(String name,
+                              RedisCacheWriter cacheWriter,
+                              RedisCacheConfiguration cacheConfiguration,
+                              RedisConnectionFactory connectionFactory,
+                              DistributionSummary entrySizes) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+        this.entrySizes = entrySizes;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> orderedKeys = new ArrayList<>(keys);
+        byte[][] redisKeys = orderedKeys.stream()
+                .map(key -> serializeCacheKey(createCacheKey(key)))
+                .toArray(byte[][]::new);
+
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+
+        Map<Object, Object> hits = new HashMap<>();
+        for (int i = 0; values != null && i < values.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                Object deserialized = fromStoreValue(deserializeCacheValue(value));
+                if (deserialized != null) {
+                    hits.put(orderedKeys.get(i), deserialized);
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    connection.stringCommands().set(
+                            serializeCacheKey(createCacheKey(key)),
+                            serializeCacheValue(toStoreValue(value)),
+                            expiration(key, value),
+                            SetOption.upsert());
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    protected byte[] serializeCacheValue(Object value) {
+        byte[] bytes = super.serializeCacheValue(value);
+        entrySizes.record(bytes.length);
+        return bytes;
+    }
+
+    private Expiration expiration(Object key, Object value) {
+        Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return ttl == null || ttl.isZero() || ttl.isNegative()
+                ? Expiration.persistent()
+                : Expiration.from(ttl);
+    }
+}
@@ -0,0 +1,34 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * {@link RedisCacheManager} whose caches support multi-key reads and writes ({@link BatchRedisCache}).
+ */
+public class BatchRedisCacheManager extends RedisCacheManager {
+    private final RedisConnectionFactory connectionFactory;
+    private final MetricsRecorder metrics;
+
+    public BatchRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                  RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                  MetricsRecorder metrics) {
+        super(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                defaultCacheConfiguration, initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new BatchRedisCache(name, getCacheWriter(), cacheConfiguration, connectionFactory,
+                metrics.cacheEntrySizes(name));
+    }
+}
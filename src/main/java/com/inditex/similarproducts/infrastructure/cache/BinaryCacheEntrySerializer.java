@@ -0,0 +1,120 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+
+/**
+ * Writes a {@link CacheEntry} in a compact binary layout:
+ * <pre>
+ * magic (1 byte) | version (1 byte) | compression id (1 byte) | writtenAt (8 bytes) | etag | body
+ * </pre>
+ * where the etag is written like the strings of the {@link CacheValueCodecs} (a single {@code 0} byte when unknown),
+ * and the body is the value encoded by a {@link CacheValueCodec}, or, when compressed, the varint length of
+ * that encoding followed by its compressed bytes. Values are only compressed from {@code compressionThreshold}
+ * bytes on, and only when it makes them smaller.
+ * <p>
+ * Entries of version 1, written before entries carried an ETag, are read with an unknown one.
+ * Entries that do not start with {@link #MAGIC} are JSON entries and are read by the {@link CacheEntrySerializer},
+ * so both formats can live side by side in Redis while the binary one rolls out; with {@code binary} set to
+ * {@code false} new entries are written as JSON too.
+ */
+public class BinaryCacheEntrySerializer<T> implements RedisSerializer<CacheEntry<T>> {
+    /** Never the first byte of a JSON document. */
+    static final byte MAGIC = (byte) 0xC5;
+    static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_ETAG = 1;
+    private static final int HEADER_LENGTH = 11;
+
+    private final CacheValueCodec<T> codec;
+    private final CacheEntrySerializer<T> json;
+    private final boolean binary;
+    private final CacheCompression compression;
+    private final int compressionThreshold;
+
+    public BinaryCacheEntrySerializer(CacheValueCodec<T> codec,
+                                      CacheEntrySerializer<T> json,
+                                      boolean binary,
+                                      CacheCompression compression,
+                                      int compressionThreshold) {
+        this.codec = codec;
+        this.json = json;
+        this.binary = binary;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(CacheEntry<T> entry) {
+        if (entry == null) {
+            return new byte[0];
+        }
+        if (!binary) {
+            return json.serialize(entry);
+        }
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(64);
+            codec.encode(entry.value(), new DataOutputStream(raw));
+            byte[] body = raw.toByteArray();
+
+            CacheCompression applied = CacheCompression.NONE;
+            byte[] compressed = null;
+            if (compression != CacheCompression.NONE && body.length >= compressionThreshold) {
+                compressed = compression.compress(body);
+                if (compressed.length + 5 < body.length) {
+                    applied = compression;
+                }
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + body.length);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(applied.id());
+            out.writeLong(entry.writtenAt());
+            CacheValueCodecs.writeString(entry.etag(), out);
+            if (applied == CacheCompression.NONE) {
+                out.write(body);
+            } else {
+                CacheValueCodecs.writeVarInt(body.length, out);
+                out.write(compressed);
+            }
+            return bytes.toByteArray();
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException("Could not write cache entry", ex);
+        }
+    }
+
+    @Override
+    public CacheEntry<T> deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || (bytes[1] != VERSION && bytes[1] != VERSION_WITHOUT_ETAG)) {
+            throw new SerializationException("Unsupported binary cache entry version " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3));
+            CacheCompression applied = CacheCompression.ofId(bytes[2]);
+            long writtenAt = in.readLong();
+            String etag = bytes[1] == VERSION_WITHOUT_ETAG ? null : CacheValueCodecs.readString(in);
+            if (applied != CacheCompression.NONE) {
+                int rawLength = CacheValueCodecs.readVarInt(in);
+                byte[] body = applied.decompress(in.readAllBytes(), rawLength);
+                in = new DataInputStream(new ByteArrayInputStream(body));
+            }
+            return new CacheEntry<>(codec.decode(in), writtenAt, etag);
+        } catch (IOException | DataFormatException | RuntimeException ex) {
+            throw new SerializationException("Could not read cache entry", ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies multi-key operations to any {@link Cache}: natively when it is a {@link BatchCache},
+ * key by key otherwise (e.g. the in-memory caches of the local profile).
+ */
+public final class CacheBatches {
+
+    private CacheBatches() {
+    }
+
+    public static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        if (cache instanceof BatchCache batchCache) {
+            return batchCache.getAll(keys);
+        }
+        Map<Object, Object> values = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                values.put(key, wrapper.get());
+            }
+        }
+        return values;
+    }
+
+    public static void putAll(Cache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.putAll(entries);
+            return;
+        }
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                cache.put(key, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of binary cache values. The {@link #id} is stored in the header of every entry, so entries written
+ * with any algorithm stay readable whatever {@code cache.codec.compression} is configured.
+ */
+public enum CacheCompression {
+    NONE(0) {
+        @Override
+        byte[] compress(byte[] raw) {
+            return raw;
+        }
+
+        @Override
+        byte[] decompress(byte[] compressed, int rawLength) {
+            return compressed;
+        }
+    },
+    DEFLATE(1) {
+        @Override
+        byte[] compress(byte[] raw) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length);
+                byte[] buffer = new byte[Math.max(64, raw.length)];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        byte[] decompress(byte[] compressed, int rawLength) throws DataFormatException {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                byte[] raw = new byte[rawLength];
+                int read = 0;
+                while (read < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, read, rawLength - read);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += n;
+                }
+                if (read != rawLength) {
+                    throw new DataFormatException("Expected " + rawLength + " bytes, inflated " + read);
+                }
+                return raw;
+            } finally {
+                inflater.end();
+            }
+        }
+    },
+    LZ4(2) {
+        @Override
+        byte[] compress(byte[] raw) {
+            return LZ4_COMPRESSOR.compress(raw);
+        }
+
+        @Override
+        byte[] decompress(byte[] compressed, int rawLength) throws DataFormatException {
+            byte[] raw = LZ4_DECOMPRESSOR.decompress(compressed, rawLength);
+            if (raw.length != rawLength) {
+                throw new DataFormatException("Expected " + rawLength + " bytes, decompressed " + raw.length);
+            }
+            return raw;
+        }
+    };
+
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final int id;
+
+    CacheCompression(int id) {
+        this.id = id;
+    }
+
+    int id() {
+        return id;
+    }
+
+    abstract byte[] compress(byte[] raw);
+
+    abstract byte[] decompress(byte[] compressed, int rawLength) throws DataFormatException;
+
+    static CacheCompression ofId(int id) {
+        for (CacheCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache compression " + id);
+    }
+}
@@ -0,0 +1,40 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Duration;
+
+/**
+ * Cached value together with the time it was written, so readers can tell how old it is.
+ * The hard TTL is still enforced by the store; the age is only used to refresh entries ahead of it.
+ *
+ * @param value the cached value.
+ * @param writtenAt the epoch millis at which the value was written; {@code 0} when unknown.
+ * @param etag the ETag the source answered with for this very value, used to revalidate it; {@code null} when
+ *             unknown.
+ */
+public record CacheEntry<T>(T value, long writtenAt, @JsonInclude(JsonInclude.Include.NON_NULL) String etag) {
+
+    public CacheEntry(T value, long writtenAt) {
+        this(value, writtenAt, null);
+    }
+
+    public static <T> CacheEntry<T> of(T value) {
+        return of(value, null);
+    }
+
+    public static <T> CacheEntry<T> of(T value, String etag) {
+        return new CacheEntry<>(value, System.currentTimeMillis(), etag);
+    }
+
+    public Duration age() {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - writtenAt));
+    }
+
+    /**
+     * @return whether the entry is older than {@code softTtl}; never when {@code softTtl} is {@code null}.
+     */
+    public boolean isOlderThan(Duration softTtl) {
+        return softTtl != null && age().compareTo(softTtl) > 0;
+    }
+}
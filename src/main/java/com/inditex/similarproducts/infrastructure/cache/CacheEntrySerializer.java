@@ -0,0 +1,60 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link CacheEntry} as {@code {"value": ..., "writtenAt": ..., "etag": ...}} JSON, without the ETag
+ * when it is unknown.
+ * Values written before entries carried their write time (plain JSON values) are still readable:
+ * they are returned with an unknown write time, which makes them due for a refresh.
+ */
+public class CacheEntrySerializer<T> implements RedisSerializer<CacheEntry<T>> {
+    private static final String VALUE = "value";
+    private static final String WRITTEN_AT = "writtenAt";
+    private static final String ETAG = "etag";
+
+    private final ObjectMapper objectMapper;
+    private final JavaType valueType;
+
+    public CacheEntrySerializer(ObjectMapper objectMapper, JavaType valueType) {
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+    }
+
+    @Override
+    public byte[] serialize(CacheEntry<T> entry) {
+        if (entry == null) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not write cache entry", ex);
+        }
+    }
+
+    @Override
+    public CacheEntry<T> deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(bytes);
+            if (node.isObject() && node.has(WRITTEN_AT) && node.has(VALUE)) {
+                T value = objectMapper.convertValue(node.get(VALUE), valueType);
+                JsonNode etag = node.get(ETAG);
+                return new CacheEntry<>(value, node.get(WRITTEN_AT).asLong(),
+                        etag == null || etag.isNull() ? null : etag.asText());
+            }
+            return new CacheEntry<>(objectMapper.convertValue(node, valueType), 0);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new SerializationException("Could not read cache entry", ex);
+        }
+    }
+}
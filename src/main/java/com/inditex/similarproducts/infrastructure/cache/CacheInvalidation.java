@@ -0,0 +1,30 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Message exchanged between nodes through Redis pub/sub to drop stale L1 entries.
+ * An empty key list means the whole cache must be cleared.
+ *
+ * @param nodeId the node that changed the entries, used to ignore our own messages.
+ * @param cacheName the cache the entries belong to.
+ * @param keys the evicted keys, or an empty list for a full clear.
+ */
+public record CacheInvalidation(String nodeId, String cacheName, List<String> keys) {
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        StringBuilder payload = new StringBuilder(nodeId).append(SEPARATOR).append(cacheName);
+        keys.forEach(key -> payload.append(SEPARATOR).append(key));
+        return payload.toString();
+    }
+
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split(SEPARATOR);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        return new CacheInvalidation(parts[0], parts[1], Arrays.asList(parts).subList(2, parts.length));
+    }
+}
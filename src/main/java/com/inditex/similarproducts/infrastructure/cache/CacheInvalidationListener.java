@@ -0,0 +1,33 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies invalidations published by other nodes to the local L1 tier.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+    private final TwoTierCacheManager cacheManager;
+    private final String nodeId;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CacheInvalidation invalidation = CacheInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (nodeId.equals(invalidation.nodeId())) {
+                return;
+            }
+            log.debug("Evicting L1 entries {}::{} on request of node {}",
+                    invalidation.cacheName(), invalidation.keys(), invalidation.nodeId());
+            cacheManager.evictLocal(invalidation.cacheName(), invalidation.keys());
+        } catch (Exception ex) {
+            log.warn("Ignoring cache invalidation message: {}", ex.getMessage());
+        }
+    }
+}
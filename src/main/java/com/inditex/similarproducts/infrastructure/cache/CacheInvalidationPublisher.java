@@ -0,0 +1,42 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Broadcasts L1 invalidations to the other nodes. Publishing is best effort: a failure is logged
+ * and never propagated to the caller, since the L1 TTL bounds the staleness anyway.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    @Getter
+    private final String nodeId;
+
+    /**
+     * Publishes the invalidation of a single key, or of the whole cache when {@code key} is {@code null}.
+     */
+    public void publish(String cacheName, Object key) {
+        publishAll(cacheName, key == null ? List.of() : List.of(key));
+    }
+
+    /**
+     * Publishes the invalidation of several keys of the same cache in a single message.
+     */
+    public void publishAll(String cacheName, Collection<?> keys) {
+        CacheInvalidation message = new CacheInvalidation(nodeId, cacheName,
+                keys.stream().map(Object::toString).toList());
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (Exception ex) {
+            log.warn("Could not publish cache invalidation for {}::{}: {}", cacheName, keys, ex.getMessage());
+        }
+    }
+}
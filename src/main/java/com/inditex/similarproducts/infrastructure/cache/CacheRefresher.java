@@ -0,0 +1,154 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Refreshes cache entries in the background once they are past their soft TTL, while callers keep being served
+ * the current value. Refreshes run on a bounded pool ({@code cache.refresh.threads} threads and
+ * {@code cache.refresh.queue-capacity} queued refreshes; beyond that they are dropped) and at most one refresh
+ * per (cache, key) is pending at any time.
+ */
+@Component
+@Slf4j
+public class CacheRefresher implements DisposableBean {
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+    static final String REJECTED = "rejected";
+
+    private final CacheProperties.Refresh props;
+    private final MetricsRecorder metrics;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, RefreshLoader> loaders = new ConcurrentHashMap<>();
+    private final Set<RefreshKey> pending = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(CacheProperties cacheProperties, MetricsRecorder metrics) {
+        this.props = cacheProperties.getRefresh();
+        this.metrics = metrics;
+        int threads = Math.max(1, props.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.getQueueCapacity())),
+                Thread.ofPlatform().daemon().name("cache-refresh-", 0).factory());
+    }
+
+    /**
+     * Registers how the entries of a cache are reloaded.
+     *
+     * @param cacheName the cache.
+     * @param loader loads the current value of a key from the source of truth.
+     */
+    public void register(String cacheName, Function<String, ?> loader) {
+        register(cacheName, (key, current) -> {
+            Object value = loader.apply(key);
+            return value == null ? null : CacheEntry.of(value);
+        });
+    }
+
+    /**
+     * Registers how the entries of a cache are reloaded, given the entry being refreshed (e.g. to revalidate it
+     * with its ETag instead of downloading it again).
+     *
+     * @param cacheName the cache.
+     * @param loader loads the current value of a key from the source of truth.
+     */
+    public void register(String cacheName, RefreshLoader loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    /**
+     * Reloads a key with the loader registered for its cache and hands the new entry to {@code store}.
+     *
+     * @return whether a refresh was scheduled.
+     */
+    public boolean refresh(String cacheName, String key, Consumer<CacheEntry<?>> store) {
+        return refresh(cacheName, key, null, store);
+    }
+
+    /**
+     * Reloads a key with the loader registered for its cache and hands the new entry to {@code store}.
+     *
+     * @param current the entry being refreshed, {@code null} when unknown.
+     * @return whether a refresh was scheduled.
+     */
+    public boolean refresh(String cacheName, String key, CacheEntry<?> current, Consumer<CacheEntry<?>> store) {
+        RefreshLoader loader = loaders.get(cacheName);
+        if (loader == null) {
+            return false;
+        }
+        return refresh(cacheName, key, () -> store.accept(loader.load(key, current)));
+    }
+
+    /**
+     * Schedules {@code refresh}, unless refreshing is disabled or a refresh of the same key is already pending.
+     *
+     * @param cacheName the cache the key belongs to.
+     * @param key the key to refresh.
+     * @param refresh reloads the key and stores the new value; it may block.
+     * @return whether a refresh was scheduled.
+     */
+    public boolean refresh(String cacheName, String key, Runnable refresh) {
+        if (!props.isEnabled()) {
+            return false;
+        }
+        RefreshKey refreshKey = new RefreshKey(cacheName, key);
+        if (!pending.add(refreshKey)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(refreshKey, refresh));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            pending.remove(refreshKey);
+            metrics.recordCacheRefresh(cacheName, REJECTED);
+            log.debug("Refresh queue full, not refreshing {}::{}", cacheName, key);
+            return false;
+        }
+    }
+
+    private void run(RefreshKey refreshKey, Runnable refresh) {
+        try {
+            refresh.run();
+            metrics.recordCacheRefresh(refreshKey.cacheName(), SUCCESS);
+        } catch (RuntimeException ex) {
+            metrics.recordCacheRefresh(refreshKey.cacheName(), FAILURE);
+            log.warn("Could not refresh {}::{}: {}", refreshKey.cacheName(), refreshKey.key(), ex.getMessage());
+        } finally {
+            pending.remove(refreshKey);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down cache refresher");
+        executor.shutdownNow();
+    }
+
+    private record RefreshKey(String cacheName, String key) {
+    }
+
+    /**
+     * Loads the current entry of a key of a cache.
+     */
+    @FunctionalInterface
+    public interface RefreshLoader {
+        /**
+         * @param key the key to reload.
+         * @param current the entry being refreshed, {@code null} when unknown.
+         * @return the current entry of the key, with the ETag of its value when the source answered with one.
+         */
+        CacheEntry<?> load(String key, CacheEntry<?> current);
+    }
+}
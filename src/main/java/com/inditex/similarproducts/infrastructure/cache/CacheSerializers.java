@@ -0,0 +1,51 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Value serializers of the Redis caches, shared by the blocking caches and the reactive templates so both
+ * execution modes read and write the same entries. The written format follows {@code cache.codec.*}; both
+ * formats are always readable.
+ */
+@Component
+public class CacheSerializers {
+    private final ObjectMapper objectMapper;
+    private final CacheProperties.Codec codec;
+
+    public CacheSerializers(ObjectMapper objectMapper, CacheProperties cacheProperties) {
+        this.objectMapper = objectMapper;
+        this.codec = cacheProperties.getCodec();
+    }
+
+    public RedisSerializer<CacheEntry<ProductDetail>> productDetail() {
+        return serializer(objectMapper.constructType(ProductDetail.class), CacheValueCodecs.PRODUCT_DETAIL);
+    }
+
+    public RedisSerializer<CacheEntry<List<String>>> similarIds() {
+        return serializer(objectMapper.getTypeFactory().constructCollectionType(List.class, String.class),
+                CacheValueCodecs.STRING_LIST);
+    }
+
+    public RedisSerializer<CacheEntry<String>> notFound() {
+        return serializer(objectMapper.constructType(String.class), CacheValueCodecs.STRING);
+    }
+
+    public RedisSerializer<CacheEntry<SimilarProducts>> similarProducts() {
+        return serializer(objectMapper.constructType(SimilarProducts.class), CacheValueCodecs.SIMILAR_PRODUCTS);
+    }
+
+    private <T> RedisSerializer<CacheEntry<T>> serializer(JavaType valueType, CacheValueCodec<T> valueCodec) {
+        return new BinaryCacheEntrySerializer<>(valueCodec, new CacheEntrySerializer<>(objectMapper, valueType),
+                codec.getFormat() == CacheProperties.Codec.Format.BINARY,
+                codec.getCompression(),
+                (int) codec.getCompressionThreshold().toBytes());
+    }
+}
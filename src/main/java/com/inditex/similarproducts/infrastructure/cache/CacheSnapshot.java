@@ -0,0 +1,150 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hot keys of the caches, hottest first, used to warm a node up on startup.
+ * They are read either from a text hot-key list ({@code <cache>:<key>} per line, {@code #} for comments) or from a
+ * binary snapshot written by running nodes:
+ * <pre>
+ * magic (int) | version (byte) | cache count (int) | per cache: name (UTF), key count (int), keys (UTF)
+ * </pre>
+ * Only keys are kept: the values are read from Redis, or the product API, when warming up, so a snapshot never
+ * brings stale values back.
+ *
+ * @param keys the keys of every cache, hottest first.
+ */
+public record CacheSnapshot(Map<String, List<String>> keys) {
+    private static final int MAGIC = 0x53504353; // "SPCS"
+    private static final byte VERSION = 1;
+
+    public static final CacheSnapshot EMPTY = new CacheSnapshot(Map.of());
+
+    public boolean isEmpty() {
+        return keys.values().stream().allMatch(List::isEmpty);
+    }
+
+    public int size() {
+        return keys.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Merges the keys of both snapshots, keeping the keys of this one first and dropping duplicates.
+     */
+    public CacheSnapshot merge(CacheSnapshot other) {
+        Map<String, Set<String>> merged = new LinkedHashMap<>();
+        for (CacheSnapshot snapshot : List.of(this, other)) {
+            snapshot.keys.forEach((cacheName, cacheKeys) ->
+                    merged.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).addAll(cacheKeys));
+        }
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        merged.forEach((cacheName, cacheKeys) -> keys.put(cacheName, List.copyOf(cacheKeys)));
+        return new CacheSnapshot(keys);
+    }
+
+    /**
+     * Writes the snapshot to {@code file} through a temporary file, so readers never see a partial snapshot.
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writeTo(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    void writeTo(OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(keys.size());
+        for (Map.Entry<String, List<String>> cache : keys.entrySet()) {
+            out.writeUTF(cache.getKey());
+            out.writeInt(cache.getValue().size());
+            for (String key : cache.getValue()) {
+                out.writeUTF(key);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a binary snapshot.
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot of a known version.
+     */
+    public static CacheSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readFrom(in);
+        }
+    }
+
+    static CacheSnapshot readFrom(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cache snapshot");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported cache snapshot version " + version);
+        }
+        int caches = in.readInt();
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        for (int i = 0; i < caches; i++) {
+            String cacheName = in.readUTF();
+            int count = in.readInt();
+            List<String> cacheKeys = new ArrayList<>(Math.min(count, 10_000));
+            for (int j = 0; j < count; j++) {
+                cacheKeys.add(in.readUTF());
+            }
+            keys.put(cacheName, List.copyOf(cacheKeys));
+        }
+        return new CacheSnapshot(keys);
+    }
+
+    /**
+     * Reads a text hot-key list. Blank lines, comments and lines without a cache name are ignored.
+     */
+    public static CacheSnapshot readHotKeys(Path file) throws IOException {
+        return parseHotKeys(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    static CacheSnapshot parseHotKeys(Collection<String> lines) {
+        Map<String, Set<String>> parsed = new LinkedHashMap<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            int separator = trimmed.indexOf(':');
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || separator <= 0 || separator == trimmed.length() - 1) {
+                continue;
+            }
+            parsed.computeIfAbsent(trimmed.substring(0, separator), name -> new LinkedHashSet<>())
+                    .add(trimmed.substring(separator + 1));
+        }
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        parsed.forEach((cacheName, cacheKeys) -> keys.put(cacheName, List.copyOf(cacheKeys)));
+        return new CacheSnapshot(keys);
+    }
+}
@@ -0,0 +1,77 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the hottest keys of the in-process tier of the warmed caches to {@code cache.warmup.snapshot-file} every
+ * {@code cache.warmup.snapshot-interval} and on shutdown, for the {@link CacheWarmer} of the next node to start.
+ * An empty L1 (e.g. right after startup) does not overwrite the previous snapshot.
+ */
+@Slf4j
+public class CacheSnapshotWriter implements InitializingBean, DisposableBean {
+    private final TwoTierCacheManager cacheManager;
+    private final List<String> cacheNames;
+    private final CacheProperties.Warmup props;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("cache-snapshot").factory());
+
+    public CacheSnapshotWriter(TwoTierCacheManager cacheManager, List<String> cacheNames,
+                               CacheProperties.Warmup props) {
+        this.cacheManager = cacheManager;
+        this.cacheNames = cacheNames;
+        this.props = props;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = props.getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the current hottest keys, unless there are none.
+     *
+     * @return whether a snapshot was written.
+     */
+    public boolean write() throws IOException {
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        for (String cacheName : cacheNames) {
+            keys.put(cacheName, cacheManager.hottestKeys(cacheName, props.getSnapshotKeys()).stream()
+                    .map(String::valueOf)
+                    .toList());
+        }
+        CacheSnapshot snapshot = new CacheSnapshot(keys);
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        snapshot.write(Path.of(props.getSnapshotFile()));
+        log.debug("Wrote {} hot keys to {}", snapshot.size(), props.getSnapshotFile());
+        return true;
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write the cache snapshot to {}: {}", props.getSnapshotFile(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        writeQuietly();
+    }
+}
@@ -0,0 +1,16 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of the values of a cache, used by the {@link BinaryCacheEntrySerializer}.
+ * See {@link CacheValueCodecs} for the codecs of the cached types.
+ */
+public interface CacheValueCodec<T> {
+
+    void encode(T value, DataOutput out) throws IOException;
+
+    T decode(DataInput in) throws IOException;
+}
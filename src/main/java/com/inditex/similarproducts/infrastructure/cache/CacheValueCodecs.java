@@ -0,0 +1,131 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CacheValueCodec}s of the cached types. Strings are written as a varint length followed by their UTF-8
+ * bytes (length {@code 0} stands for {@code null}), lists as a varint size followed by their elements, doubles
+ * and booleans raw. Changing any layout requires a new {@link BinaryCacheEntrySerializer#VERSION}.
+ */
+public final class CacheValueCodecs {
+
+    public static final CacheValueCodec<String> STRING = new CacheValueCodec<>() {
+        @Override
+        public void encode(String value, DataOutput out) throws IOException {
+            writeString(value, out);
+        }
+
+        @Override
+        public String decode(DataInput in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    public static final CacheValueCodec<List<String>> STRING_LIST = new CacheValueCodec<>() {
+        @Override
+        public void encode(List<String> value, DataOutput out) throws IOException {
+            writeVarInt(value.size(), out);
+            for (String element : value) {
+                writeString(element, out);
+            }
+        }
+
+        @Override
+        public List<String> decode(DataInput in) throws IOException {
+            int size = readVarInt(in);
+            List<String> value = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                value.add(readString(in));
+            }
+            return value;
+        }
+    };
+
+    public static final CacheValueCodec<ProductDetail> PRODUCT_DETAIL = new CacheValueCodec<>() {
+        @Override
+        public void encode(ProductDetail value, DataOutput out) throws IOException {
+            writeString(value.id(), out);
+            writeString(value.name(), out);
+            out.writeDouble(value.price());
+            out.writeBoolean(value.availability());
+        }
+
+        @Override
+        public ProductDetail decode(DataInput in) throws IOException {
+            return new ProductDetail(readString(in), readString(in), in.readDouble(), in.readBoolean());
+        }
+    };
+
+    public static final CacheValueCodec<SimilarProducts> SIMILAR_PRODUCTS = new CacheValueCodec<>() {
+        @Override
+        public void encode(SimilarProducts value, DataOutput out) throws IOException {
+            STRING_LIST.encode(value.similarIds(), out);
+            writeVarInt(value.products().size(), out);
+            for (ProductDetail product : value.products()) {
+                PRODUCT_DETAIL.encode(product, out);
+            }
+        }
+
+        @Override
+        public SimilarProducts decode(DataInput in) throws IOException {
+            List<String> similarIds = STRING_LIST.decode(in);
+            int size = readVarInt(in);
+            List<ProductDetail> products = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                products.add(PRODUCT_DETAIL.decode(in));
+            }
+            return new SimilarProducts(similarIds, products);
+        }
+    };
+
+    private CacheValueCodecs() {
+    }
+
+    static void writeVarInt(int value, DataOutput out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static void writeString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            writeVarInt(0, out);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1, out);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
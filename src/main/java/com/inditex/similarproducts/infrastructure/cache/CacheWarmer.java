@@ -0,0 +1,194 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.application.port.out.ProductPort;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Warms the {@code productDetail} and {@code similarIds} caches up on startup, before the node reports ready
+ * (application runners complete before the readiness state changes to accepting traffic).
+ * The keys come from the hot-key list ({@code cache.warmup.hot-keys-file}) and the snapshot written by running nodes
+ * ({@code cache.warmup.snapshot-file}, see {@link CacheSnapshotWriter}). The keys of each cache are first read in a
+ * single batch, which fills L1 from Redis; only the keys Redis does not have are fetched from the product API,
+ * in parallel within the fan-out limits and at the rate of {@code resilience4j.ratelimiter.instances.cacheWarmup}.
+ * Warm-up never delays startup by more than {@code cache.warmup.timeout} and never fails it.
+ * Exported as {@code cache.warmup.keys{cache,result}} (loaded from Redis, fetched, failed or skipped) and
+ * {@code cache.warmup.duration}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "execution.mode", havingValue = "blocking", matchIfMissing = true)
+public class CacheWarmer implements ApplicationRunner {
+    static final String RATE_LIMITER = "cacheWarmup";
+
+    private final CacheProperties.Warmup props;
+    private final CacheManager cacheManager;
+    private final FanOutExecutor fanOut;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, BiConsumer<String, Deadline>> loaders;
+
+    public CacheWarmer(CacheProperties cacheProperties, CacheManager cacheManager, ProductPort productPort,
+                       FanOutExecutor fanOut, RateLimiterRegistry rateLimiterRegistry, MeterRegistry meterRegistry) {
+        this.props = cacheProperties.getWarmup();
+        this.cacheManager = cacheManager;
+        this.fanOut = fanOut;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER);
+        this.meterRegistry = meterRegistry;
+        this.loaders = Map.of(
+                "productDetail", productPort::getProductDetail,
+                "similarIds", productPort::getSimilarIds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        CacheSnapshot snapshot = readKeys(props.getHotKeysFile(), false)
+                .merge(readKeys(props.getSnapshotFile(), true));
+        if (snapshot.isEmpty()) {
+            log.info("No hot keys to warm the caches up with");
+            return;
+        }
+        warmUp(snapshot);
+    }
+
+    /**
+     * Warms the caches up with the keys of {@code snapshot}, the keys of unknown caches being ignored.
+     *
+     * @return the number of keys per outcome.
+     */
+    public Map<Result, Integer> warmUp(CacheSnapshot snapshot) {
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(props.getTimeout());
+        Map<Result, Integer> totals = new EnumMap<>(Result.class);
+        snapshot.keys().forEach((cacheName, keys) -> {
+            if (loaders.containsKey(cacheName)) {
+                warmUp(cacheName, keys, deadline).forEach((result, count) -> totals.merge(result, count, Integer::sum));
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("cache.warmup.duration").register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warmed the caches up in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsed), totals);
+        return totals;
+    }
+
+    private Map<Result, Integer> warmUp(String cacheName, List<String> keys, Deadline deadline) {
+        Map<Result, Integer> counts = new EnumMap<>(Result.class);
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<Object, Object> cached = cache == null ? Map.of() : CacheBatches.getAll(cache, keys);
+        counts.put(Result.LOADED, cached.size());
+
+        List<String> misses = keys.stream().filter(key -> !cached.containsKey(key)).toList();
+        BiConsumer<String, Deadline> loader = loaders.get(cacheName);
+        fanOut.mapOrdered(misses, key -> fetch(cacheName, key, loader, deadline))
+                .forEach(result -> counts.merge(result, 1, Integer::sum));
+
+        counts.forEach((result, count) -> Counter.builder("cache.warmup.keys")
+                .tag("cache", cacheName)
+                .tag("result", result.tag)
+                .register(meterRegistry)
+                .increment(count));
+        return counts;
+    }
+
+    private Result fetch(String cacheName, String key, BiConsumer<String, Deadline> loader, Deadline deadline) {
+        if (!awaitPermission(deadline)) {
+            return Result.SKIPPED;
+        }
+        try {
+            loader.accept(key, deadline);
+            return Result.FETCHED;
+        } catch (NotFoundException ex) {
+            return Result.FETCHED;
+        } catch (RuntimeException ex) {
+            log.debug("Could not warm {}::{} up: {}", cacheName, key, ex.getMessage());
+            return Result.FAILED;
+        }
+    }
+
+    /**
+     * Reserves a permit of the rate limiter and waits for it, unless the wait would outlast the warm-up: the
+     * {@code timeout-duration} of the rate limiter knows nothing of the time left to warm the caches up.
+     *
+     * @return whether the key can be fetched before the deadline.
+     */
+    private boolean awaitPermission(Deadline deadline) {
+        if (deadline.isExpired()) {
+            return false;
+        }
+        long waitNanos = rateLimiter.reservePermission();
+        if (waitNanos < 0 || waitNanos >= deadline.remaining().toNanos()) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !deadline.isExpired();
+    }
+
+    private static CacheSnapshot readKeys(String file, boolean binary) {
+        if (file == null || file.isBlank()) {
+            return CacheSnapshot.EMPTY;
+        }
+        Path path = Path.of(file);
+        if (!Files.isRegularFile(path)) {
+            log.info("No hot keys file at {}", path);
+            return CacheSnapshot.EMPTY;
+        }
+        try {
+            return binary ? CacheSnapshot.read(path) : CacheSnapshot.readHotKeys(path);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable hot keys file {}: {}", path, ex.getMessage());
+            return CacheSnapshot.EMPTY;
+        }
+    }
+
+    /**
+     * Outcome of warming a key up.
+     */
+    public enum Result {
+        /** Already in Redis, now in L1 too. */
+        LOADED("loaded"),
+        /** Fetched from the product API (or remembered as not found). */
+        FETCHED("fetched"),
+        FAILED("failed"),
+        /** Not fetched before the warm-up timeout. */
+        SKIPPED("skipped");
+
+        private final String tag;
+
+        Result(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Reverse index from the keys of component caches to the keys of the entries built from them,
+ * used by the {@link DependencyTrackingCacheManager} to invalidate only the affected entries.
+ */
+public interface DependencyIndex {
+
+    /**
+     * Records that the entry {@code dependentKey} was built from the entries {@code keys} of {@code cacheName}.
+     */
+    void register(String dependentKey, String cacheName, Collection<String> keys);
+
+    /**
+     * Removes the dependencies of the entries {@code keys} of {@code cacheName}.
+     *
+     * @return the keys of the entries that were built from any of them.
+     */
+    Set<String> removeDependents(String cacheName, Collection<?> keys);
+}
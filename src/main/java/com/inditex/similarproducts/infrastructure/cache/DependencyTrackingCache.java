@@ -0,0 +1,133 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * {@link Cache} that reports every change of the decorated cache, once it has been applied, so the entries built
+ * from the affected keys can be invalidated. An empty collection reports a clear.
+ * A write only reports the keys whose value differs from the one they had, compared by the ETag of the
+ * {@link CacheEntry} when both have one and otherwise without its write time, so refreshing an unchanged entry keeps
+ * its dependents. The previous value of a {@link TwoTierCache} is its in-process copy, so a write costs no extra
+ * Redis read; a key with no known previous value is always reported, since an entry may have been built from a
+ * value that has since expired or that only Redis still holds.
+ */
+public class DependencyTrackingCache implements Cache, BatchCache {
+    private final Cache delegate;
+    private final Consumer<Collection<?>> onChange;
+
+    public DependencyTrackingCache(Cache delegate, Consumer<Collection<?>> onChange) {
+        this.delegate = delegate;
+        this.onChange = onChange;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object previous = previous(key);
+        delegate.put(key, value);
+        if (isChanged(previous, value)) {
+            onChange.accept(List.of(key));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        onChange.accept(List.of(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        onChange.accept(List.of());
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        return CacheBatches.getAll(delegate, keys);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> previous = new HashMap<>();
+        entries.keySet().forEach(key -> previous.put(key, previous(key)));
+        CacheBatches.putAll(delegate, entries);
+        List<?> changed = entries.entrySet().stream()
+                .filter(entry -> isChanged(previous.get(entry.getKey()), entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!changed.isEmpty()) {
+            onChange.accept(changed);
+        }
+    }
+
+    private Object previous(Object key) {
+        if (delegate instanceof TwoTierCache twoTierCache) {
+            return twoTierCache.peekLocal(key);
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper == null ? null : wrapper.get();
+    }
+
+    private static boolean isChanged(Object previous, Object value) {
+        if (previous == null) {
+            return true;
+        }
+        if (previous instanceof CacheEntry<?> previousEntry && value instanceof CacheEntry<?> entry
+                && previousEntry.etag() != null && previousEntry.etag().equals(entry.etag())) {
+            return false;
+        }
+        return !Objects.equals(valueOf(previous), valueOf(value));
+    }
+
+    private static Object valueOf(Object stored) {
+        return stored instanceof CacheEntry<?> entry ? entry.value() : stored;
+    }
+}
@@ -0,0 +1,76 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} for a cache of entries built from the entries of other caches (e.g. assembled responses
+ * built from product details). The component caches are decorated with a {@link DependencyTrackingCache}, and a
+ * write or eviction of one of their keys evicts only the dependent entries recorded for it in the
+ * {@link DependencyIndex}; rewriting a key with the same value evicts nothing. Clearing a component cache clears
+ * the whole dependent cache. A failure to invalidate is only logged, like a failure to publish an L1 invalidation
+ * in {@link CacheInvalidationPublisher}: here it is the TTL of the dependent cache that bounds the staleness.
+ */
+@Slf4j
+public class DependencyTrackingCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final DependencyIndex index;
+    private final String dependentCacheName;
+    private final Set<String> componentCacheNames;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public DependencyTrackingCacheManager(CacheManager delegate,
+                                          DependencyIndex index,
+                                          String dependentCacheName,
+                                          Set<String> componentCacheNames) {
+        this.delegate = delegate;
+        this.index = index;
+        this.dependentCacheName = dependentCacheName;
+        this.componentCacheNames = componentCacheNames;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Cache createCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !componentCacheNames.contains(name)) {
+            return cache;
+        }
+        return new DependencyTrackingCache(cache, keys -> invalidateDependents(name, keys));
+    }
+
+    private void invalidateDependents(String cacheName, Collection<?> keys) {
+        Cache dependentCache = delegate.getCache(dependentCacheName);
+        if (dependentCache == null) {
+            return;
+        }
+        try {
+            if (keys.isEmpty()) {
+                dependentCache.clear();
+                return;
+            }
+            Set<String> dependents = index.removeDependents(cacheName, keys);
+            if (!dependents.isEmpty()) {
+                log.debug("Evicting {}::{} after a change of {}::{}", dependentCacheName, dependents, cacheName, keys);
+                dependents.forEach(dependentCache::evict);
+            }
+        } catch (Exception ex) {
+            log.warn("Could not invalidate the {} entries depending on {}::{}: {}",
+                    dependentCacheName, cacheName, keys, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link DependencyIndex} kept in memory, for the in-memory caches of the local profile.
+ */
+public class InMemoryDependencyIndex implements DependencyIndex {
+    private final ConcurrentMap<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(String dependentKey, String cacheName, Collection<String> keys) {
+        keys.forEach(key -> dependents.computeIfAbsent(indexKey(cacheName, key), k -> ConcurrentHashMap.newKeySet())
+                .add(dependentKey));
+    }
+
+    @Override
+    public Set<String> removeDependents(String cacheName, Collection<?> keys) {
+        Set<String> removed = new HashSet<>();
+        keys.forEach(key -> {
+            Set<String> keyDependents = dependents.remove(indexKey(cacheName, key));
+            if (keyDependents != null) {
+                removed.addAll(keyDependents);
+            }
+        });
+        return removed;
+    }
+
+    private static String indexKey(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,130 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * {@link Cache} decorator that records the hits, misses, writes, evictions, errors and read/write latency
+ * of the decorated cache in its {@link CacheMeters}. Used around the Redis tier, so the latency includes
+ * the round trip and the (de)serialization of the values.
+ */
+public class MeteredCache implements Cache, BatchCache {
+    private final Cache delegate;
+    private final CacheMeters meters;
+
+    public MeteredCache(Cache delegate, CacheMeters meters) {
+        this.delegate = delegate;
+        this.meters = meters;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = read(() -> delegate.get(key));
+        meters.recordGet(wrapper != null);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = read(() -> delegate.get(key, type));
+        meters.recordGet(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) wrapper.get();
+            return value;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        write(() -> delegate.put(key, value));
+        meters.recordPuts(1);
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            delegate.evict(key);
+        } catch (RuntimeException ex) {
+            meters.recordError();
+            throw ex;
+        }
+        meters.recordEviction();
+    }
+
+    @Override
+    public void clear() {
+        try {
+            delegate.clear();
+        } catch (RuntimeException ex) {
+            meters.recordError();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> hits = read(() -> CacheBatches.getAll(delegate, keys));
+        meters.recordGets(hits.size(), keys.size() - hits.size());
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        write(() -> CacheBatches.putAll(delegate, entries));
+        meters.recordPuts(entries.size());
+    }
+
+    private <T> T read(Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } catch (RuntimeException ex) {
+            meters.recordError();
+            throw ex;
+        } finally {
+            meters.recordGetLatency(start);
+        }
+    }
+
+    private void write(Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } catch (RuntimeException ex) {
+            meters.recordError();
+            throw ex;
+        } finally {
+            meters.recordSetLatency(start);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Negative tier of the product caches: remembers, for {@code cache.not-found-ttl}, that the product API answered
+ * 404 for a key, so later lookups of that key fail with the same {@link NotFoundException} without any upstream
+ * call. Entries live in the {@value #CACHE_NAME} cache, keyed by {@code cacheName:key}, with the message of the
+ * original exception as value. When the cache manager has no such cache, nothing is remembered.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotFoundCache {
+    public static final String CACHE_NAME = "notFound";
+
+    private final CacheManager cacheManager;
+    private final MetricsRecorder metrics;
+
+    /**
+     * Fails fast when {@code key} is known not to exist, otherwise performs {@code call} and remembers a
+     * {@link NotFoundException} thrown by it.
+     */
+    public <T> T guard(String cacheName, String key, Supplier<T> call) {
+        String message = get(cacheName, key);
+        if (message != null) {
+            throw new NotFoundException(message);
+        }
+        return remember(cacheName, key, call);
+    }
+
+    /**
+     * Performs {@code call} and remembers a {@link NotFoundException} thrown by it.
+     */
+    public <T> T remember(String cacheName, String key, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (NotFoundException ex) {
+            put(cacheName, key, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    /**
+     * Looks up several keys at once.
+     *
+     * @return the message of the remembered {@link NotFoundException} of every key known not to exist.
+     */
+    public Map<String, String> getAll(String cacheName, Collection<String> keys) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> notFound = new HashMap<>();
+        Map<Object, Object> hits = CacheBatches.getAll(cache, keys.stream().map(id -> key(cacheName, id)).toList());
+        for (String id : keys) {
+            Object message = hits.get(key(cacheName, id));
+            if (message != null) {
+                notFound.put(id, message.toString());
+            }
+        }
+        notFound.keySet().forEach(id -> metrics.recordNotFoundHit(cacheName));
+        return notFound;
+    }
+
+    public void put(String cacheName, String key, String message) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.put(key(cacheName, key), message == null ? "" : message);
+        }
+    }
+
+    /**
+     * Key of an entry in the {@value #CACHE_NAME} cache.
+     */
+    public static String key(String cacheName, String key) {
+        return cacheName + ":" + key;
+    }
+
+    private String get(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String message = cache == null ? null : cache.get(key(cacheName, key), String.class);
+        if (message != null) {
+            metrics.recordNotFoundHit(cacheName);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,54 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Keys pinned in the in-process tier of each cache (see {@link TwoTierCacheManager}): they are not evicted for
+ * size and are kept as long as the remote tier keeps them. Listeners are told about every key whose pinning changed,
+ * so that an entry already in L1 gets the eviction protection, or loses it, right away.
+ */
+@Component
+public class PinnedKeys {
+    private final Map<String, Set<String>> pinned = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+
+    public boolean isPinned(String cacheName, Object key) {
+        Set<String> keys = pinned.get(cacheName);
+        return keys != null && keys.contains(String.valueOf(key));
+    }
+
+    public Set<String> get(String cacheName) {
+        return pinned.getOrDefault(cacheName, Set.of());
+    }
+
+    /**
+     * Replaces the pinned keys of a cache.
+     *
+     * @param cacheName the cache.
+     * @param keys the keys to pin from now on; the other keys of the cache are unpinned.
+     */
+    public void pin(String cacheName, Set<String> keys) {
+        Set<String> previous = pinned.put(cacheName, Set.copyOf(keys));
+        Set<String> changed = new HashSet<>(keys);
+        if (previous != null) {
+            changed.addAll(previous);
+            changed.removeIf(key -> previous.contains(key) && keys.contains(key));
+        }
+        changed.forEach(key -> listeners.forEach(listener -> listener.accept(cacheName, key)));
+    }
+
+    /**
+     * Registers a listener of the keys whose pinning changed, called with the cache name and the key.
+     */
+    public void onChange(BiConsumer<String, String> listener) {
+        listeners.add(listener);
+    }
+}
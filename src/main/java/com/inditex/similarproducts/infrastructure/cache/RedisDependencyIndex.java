@@ -0,0 +1,67 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link DependencyIndex} shared by all the nodes: one Redis set per component entry
+ * ({@code dependents::cacheName::key}) holding the keys of the entries built from it. Sets expire with the
+ * dependent entries ({@code ttl}), so they never outlive them. Each operation takes a single pipelined round trip.
+ */
+@RequiredArgsConstructor
+public class RedisDependencyIndex implements DependencyIndex {
+    private static final String PREFIX = "dependents::";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    @Override
+    public void register(String dependentKey, String cacheName, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[] member = RedisSerializer.string().serialize(dependentKey);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[] indexKey = indexKey(cacheName, key);
+                connection.setCommands().sAdd(indexKey, member);
+                connection.keyCommands().expire(indexKey, ttl.toSeconds());
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Set<String> removeDependents(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object key : keys) {
+                byte[] indexKey = indexKey(cacheName, key);
+                connection.setCommands().sMembers(indexKey);
+                connection.keyCommands().del(indexKey);
+            }
+            return null;
+        });
+        Set<String> dependents = new HashSet<>();
+        results.forEach(result -> {
+            if (result instanceof Collection<?> members) {
+                members.forEach(member -> dependents.add(member.toString()));
+            }
+        });
+        return dependents;
+    }
+
+    private static byte[] indexKey(String cacheName, Object key) {
+        return RedisSerializer.string().serialize(PREFIX + cacheName + "::" + key);
+    }
+}
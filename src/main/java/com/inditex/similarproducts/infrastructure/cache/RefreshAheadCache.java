@@ -0,0 +1,134 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link Cache} that stores every value in a {@link CacheEntry} and serves entries past the soft TTL as usual,
+ * while asking the {@link CacheRefresher} to reload them in the background. The hard TTL is the one of the
+ * decorated cache. Callers only ever see the unwrapped values, but may write whole entries, which are stored as
+ * they are; the refresh gets the whole entry, so it can revalidate the value with the ETag it was stored with,
+ * and stores the entry it reloads as it is.
+ */
+public class RefreshAheadCache implements Cache, BatchCache {
+    private final Cache delegate;
+    private final Duration softTtl;
+    private final CacheRefresher refresher;
+    private final MetricsRecorder metrics;
+
+    public RefreshAheadCache(Cache delegate, Duration softTtl, CacheRefresher refresher, MetricsRecorder metrics) {
+        this.delegate = delegate;
+        this.softTtl = softTtl;
+        this.refresher = refresher;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(unwrap(key, wrapper.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = delegate.get(key, () -> wrap(valueLoader.call()));
+        return (T) unwrap(key, stored);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> values = new HashMap<>();
+        CacheBatches.getAll(delegate, keys).forEach((key, stored) -> {
+            Object value = unwrap(key, stored);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        Map<Object, Object> wrapped = new HashMap<>();
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                wrapped.put(key, wrap(value));
+            }
+        });
+        CacheBatches.putAll(delegate, wrapped);
+    }
+
+    /**
+     * Stores a value in a new entry; an entry is stored as it is, keeping the ETag it was fetched with.
+     */
+    private static Object wrap(Object value) {
+        if (value == null || value instanceof CacheEntry<?>) {
+            return value;
+        }
+        return CacheEntry.of(value);
+    }
+
+    /**
+     * Returns the value of a stored entry, scheduling its refresh when it is past the soft TTL.
+     * Values stored without an entry (e.g. by another writer) are returned as they are.
+     */
+    private Object unwrap(Object key, Object stored) {
+        if (!(stored instanceof CacheEntry<?> entry)) {
+            return stored;
+        }
+        metrics.recordCacheEntryAge(getName(), entry.age());
+        if (entry.isOlderThan(softTtl)) {
+            refresher.refresh(getName(), String.valueOf(key), entry,
+                    reloaded -> delegate.put(key, reloaded == null || reloaded.value() == null ? null : reloaded));
+        }
+        return entry.value();
+    }
+}
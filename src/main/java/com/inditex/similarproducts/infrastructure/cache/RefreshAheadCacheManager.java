@@ -0,0 +1,49 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} that decorates every cache of another manager with a {@link RefreshAheadCache}.
+ * Caches without a configured soft TTL are still decorated, so their entries keep the same format, but are
+ * never refreshed ahead of their hard TTL.
+ */
+public class RefreshAheadCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final Map<String, Duration> softTtls;
+    private final CacheRefresher refresher;
+    private final MetricsRecorder metrics;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheManager(CacheManager delegate,
+                                    Map<String, Duration> softTtls,
+                                    CacheRefresher refresher,
+                                    MetricsRecorder metrics) {
+        this.delegate = delegate;
+        this.softTtls = softTtls;
+        this.refresher = refresher;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Cache createCache(String name) {
+        Cache cache = delegate.getCache(name);
+        return cache == null ? null : new RefreshAheadCache(cache, softTtls.get(name), refresher, metrics);
+    }
+}
@@ -0,0 +1,191 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link Cache} composed of a bounded in-process tier (L1) in front of a shared remote tier (L2, Redis).
+ * Reads are served from L1 when possible and populate it on L2 hits. Writes and evictions go to both tiers
+ * and are broadcast through the {@link CacheInvalidationPublisher} so other nodes drop their L1 copy.
+ * Multi-key operations only send the L1 misses to the remote tier, in a single batch.
+ * The hits, misses, writes and evictions of L1 are recorded in its {@link CacheMeters}; the remote tier
+ * records its own (see {@link MeteredCache}).
+ */
+public class TwoTierCache implements Cache, BatchCache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+    private final CacheMeters localMeters;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                        Cache remote,
+                        CacheInvalidationPublisher publisher,
+                        CacheMeters localMeters) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+        this.localMeters = localMeters;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(key);
+        localMeters.recordGet(value != null);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(key, wrapper.get());
+            localMeters.recordPuts(1);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+            localMeters.recordPuts(1);
+        }
+        publisher.publish(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        localMeters.recordEviction();
+        publisher.publish(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+
+    /**
+     * Keys of the in-process tier that are the most likely to be read again, hottest first, as estimated by the
+     * frequency sketch of its eviction policy.
+     *
+     * @param limit the maximum number of keys to return.
+     */
+    public List<Object> hottestKeys(int limit) {
+        return local.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElse(List.of());
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> values = new HashMap<>(local.getAllPresent(keys));
+        localMeters.recordGets(values.size(), keys.size() - values.size());
+        if (values.size() == keys.size()) {
+            return values;
+        }
+        List<?> misses = keys.stream().filter(key -> !values.containsKey(key)).toList();
+        Map<Object, Object> remoteHits = CacheBatches.getAll(remote, misses);
+        local.putAll(remoteHits);
+        localMeters.recordPuts(remoteHits.size());
+        values.putAll(remoteHits);
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        CacheBatches.putAll(remote, entries);
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                local.put(key, value);
+                localMeters.recordPuts(1);
+            }
+        });
+        publisher.publishAll(name, entries.keySet());
+    }
+
+    /**
+     * Returns the in-process copy of {@code key}, if there is one, without reading Redis nor recording a hit or a
+     * miss.
+     */
+    public Object peekLocal(Object key) {
+        return local.policy().getIfPresentQuietly(key);
+    }
+
+    /**
+     * Drops an entry from the in-process tier only, leaving Redis untouched.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+        localMeters.recordEviction();
+    }
+
+    /**
+     * Drops every entry from the in-process tier only, leaving Redis untouched.
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Writes the in-process entry of {@code key} again, if there is one, so that its weight and expiry are
+     * recomputed after its pinning changed. Nothing is written to Redis nor broadcast.
+     */
+    public void repin(Object key) {
+        Object value = local.policy().getIfPresentQuietly(key);
+        if (value != null) {
+            local.asMap().replace(key, value, value);
+        }
+    }
+}
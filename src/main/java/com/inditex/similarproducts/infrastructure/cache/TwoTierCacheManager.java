@@ -0,0 +1,114 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} that decorates every cache of the remote manager with a {@link TwoTierCache}.
+ * The L1 TTL of each cache is the configured {@code cache.l1.ttl}, capped to the remote TTL of that cache
+ * so an L1 entry can never outlive its Redis counterpart. Keys pinned in {@link PinnedKeys} weigh nothing, so they
+ * are never evicted for size, and are kept for the remote TTL instead (invalidations still drop them).
+ * Both tiers are instrumented: L1 by the {@link TwoTierCache} itself and the remote tier through a
+ * {@link MeteredCache}.
+ */
+public class TwoTierCacheManager implements CacheManager {
+    private final CacheManager remote;
+    private final CacheProperties.L1 l1;
+    private final Map<String, Duration> remoteTtls;
+    private final CacheInvalidationPublisher publisher;
+    private final MetricsRecorder metrics;
+    private final PinnedKeys pinnedKeys;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote,
+                               CacheProperties.L1 l1,
+                               Map<String, Duration> remoteTtls,
+                               CacheInvalidationPublisher publisher,
+                               MetricsRecorder metrics,
+                               PinnedKeys pinnedKeys) {
+        this.remote = remote;
+        this.l1 = l1;
+        this.remoteTtls = remoteTtls;
+        this.publisher = publisher;
+        this.metrics = metrics;
+        this.pinnedKeys = pinnedKeys;
+        pinnedKeys.onChange((cacheName, key) -> {
+            TwoTierCache cache = caches.get(cacheName);
+            if (cache != null) {
+                cache.repin(key);
+            }
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /**
+     * Applies an invalidation to the in-process tier only.
+     *
+     * @param cacheName the cache to invalidate.
+     * @param keys the keys to drop, or an empty list to clear the whole L1 of that cache.
+     */
+    public void evictLocal(String cacheName, List<String> keys) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            cache.clearLocal();
+        } else {
+            keys.forEach(cache::evictLocal);
+        }
+    }
+
+    /**
+     * Hottest keys of the in-process tier of a cache (see {@link TwoTierCache#hottestKeys(int)}).
+     *
+     * @return the keys, hottest first, or an empty list if the cache has not been used yet.
+     */
+    public List<Object> hottestKeys(String cacheName, int limit) {
+        TwoTierCache cache = caches.get(cacheName);
+        return cache == null ? List.of() : cache.hottestKeys(limit);
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        Duration ttl = l1.getTtl();
+        Duration remoteTtl = remoteTtls.get(name);
+        if (remoteTtl != null && remoteTtl.compareTo(ttl) < 0) {
+            ttl = remoteTtl;
+        }
+        Duration localTtl = ttl;
+        Duration pinnedTtl = remoteTtl != null ? remoteTtl : ttl;
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .maximumWeight(l1.getMaximumSize())
+                .weigher((key, value) -> pinnedKeys.isPinned(name, key) ? 0 : 1)
+                .expireAfter(Expiry.writing((key, value) -> pinnedKeys.isPinned(name, key) ? pinnedTtl : localTtl))
+                .build();
+        return new TwoTierCache(name, local,
+                new MeteredCache(remoteCache, metrics.cacheMeters(name, CacheMeters.TIER_REDIS)),
+                publisher, metrics.cacheMeters(name, CacheMeters.TIER_L1));
+    }
+}
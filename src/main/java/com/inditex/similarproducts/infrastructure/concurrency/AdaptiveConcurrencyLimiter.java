@@ -0,0 +1,123 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.infrastructure.config.ConcurrencyLimitProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of requests in flight with a limit that adapts to the observed latency (AIMD):
+ * <ul>
+ *     <li>The latency of every request feeds two moving averages: a recent one ({@code short-window} requests)
+ *     and a long-term one ({@code long-window} requests).</li>
+ *     <li>When the recent average exceeds the long-term one by more than {@code latency-tolerance}, or a
+ *     request is dropped, requests are queueing somewhere: the limit is multiplied by {@code backoff-ratio}, at
+ *     most once per round trip (only requests started after the last decrease can decrease it again).</li>
+ *     <li>Otherwise, while at least half of the limit is in use, it grows by one every {@code limit} requests.</li>
+ * </ul>
+ * The limit stays within {@code [min-limit, max-limit]}. Exported as {@code api.concurrency.limit},
+ * {@code api.concurrency.in_flight} and {@code api.concurrency.rejected}, tagged with the
+ * {@code similar_products} flow.
+ */
+@Component
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", matchIfMissing = true)
+public class AdaptiveConcurrencyLimiter {
+    private static final String TAG_FLOW = "flow";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final double shortAlpha;
+    private final double longAlpha;
+
+    private volatile double limit;
+    private double shortLatency;
+    private double longLatency;
+    private boolean decreased;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties props, MeterRegistry meterRegistry) {
+        this.minLimit = Math.max(1, props.getMinLimit());
+        this.maxLimit = Math.max(minLimit, props.getMaxLimit());
+        this.limit = Math.clamp(props.getInitialLimit(), minLimit, maxLimit);
+        this.backoffRatio = props.getBackoffRatio();
+        this.latencyTolerance = props.getLatencyTolerance();
+        this.shortAlpha = 2.0 / (Math.max(1, props.getShortWindow()) + 1);
+        this.longAlpha = 2.0 / (Math.max(1, props.getLongWindow()) + 1);
+        this.rejected = Counter.builder("api.concurrency.rejected")
+                .tag(TAG_FLOW, MetricsEndpoint.SIMILAR_PRODUCTS)
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag(TAG_FLOW, MetricsEndpoint.SIMILAR_PRODUCTS)
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .tag(TAG_FLOW, MetricsEndpoint.SIMILAR_PRODUCTS)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot if the limit has not been reached. Every successful call must be followed by one
+     * {@link #release(long, boolean)}.
+     *
+     * @return whether the request may proceed.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a completed request and adapts the limit to its latency.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the request acquired its slot.
+     * @param dropped whether the request timed out or failed without a response, which counts as congestion.
+     */
+    public void release(long startNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        onSample(startNanos, System.nanoTime() - startNanos, current, dropped);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long startNanos, long latencyNanos, int inFlightAtCompletion, boolean dropped) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        } else {
+            shortLatency += shortAlpha * (latencyNanos - shortLatency);
+            longLatency += longAlpha * (latencyNanos - longLatency);
+        }
+
+        if (dropped || shortLatency > longLatency * latencyTolerance) {
+            if (!decreased || startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                decreased = true;
+                lastDecreaseNanos = System.nanoTime();
+            }
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
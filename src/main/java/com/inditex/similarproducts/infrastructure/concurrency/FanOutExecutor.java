@@ -0,0 +1,146 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a batch of independent blocking calls concurrently on virtual threads.
+ * Concurrency is bounded twice: per batch ({@code fan-out.max-concurrency-per-request}) so a single
+ * request cannot monopolise the upstream, and globally ({@code fan-out.max-concurrency-global})
+ * across all in-flight batches of the node.
+ */
+@Component
+@Slf4j
+public class FanOutExecutor implements DisposableBean {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore globalPermits;
+    private final int perRequestLimit;
+
+    public FanOutExecutor(FanOutProperties props) {
+        this.perRequestLimit = Math.max(1, props.getMaxConcurrencyPerRequest());
+        this.globalPermits = new Semaphore(Math.max(1, props.getMaxConcurrencyGlobal()), true);
+    }
+
+    /**
+     * Applies {@code task} to every item concurrently and returns the results in the order of {@code items}.
+     * Tasks are expected to handle their own failures; an exception thrown by a task is rethrown to the caller
+     * and the remaining tasks of the batch are cancelled.
+     *
+     * @param items the inputs of the batch.
+     * @param task the blocking call to perform for each input.
+     * @return the results, positionally aligned with {@code items}.
+     */
+    public <T, R> List<R> mapOrdered(List<T> items, Function<T, R> task) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Semaphore requestPermits = new Semaphore(perRequestLimit);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> runBounded(requestPermits, () -> task.apply(item))));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            throw cancelAll(futures, ex);
+        }
+        return results;
+    }
+
+    /**
+     * Applies {@code task} to every item concurrently and hands each result to {@code onResult} as soon as it
+     * is available, in completion order. {@code onResult} is always called on the calling thread, one result at
+     * a time, and the method returns once every result has been handed over.
+     * An exception thrown by a task or by {@code onResult} is rethrown to the caller and the remaining tasks of
+     * the batch are cancelled.
+     *
+     * @param items the inputs of the batch.
+     * @param task the blocking call to perform for each input.
+     * @param onResult the consumer of the results.
+     */
+    public <T, R> void forEachCompleted(List<T> items, Function<T, R> task, Consumer<R> onResult) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Semaphore requestPermits = new Semaphore(perRequestLimit);
+        CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(completion.submit(() -> runBounded(requestPermits, () -> task.apply(item))));
+        }
+
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                onResult.accept(completion.take().get());
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            throw cancelAll(futures, ex);
+        } catch (RuntimeException ex) {
+            futures.forEach(f -> f.cancel(true));
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs {@code task} in the background on the executor of the batches, outside their concurrency bounds, so it
+     * is stopped with them on shutdown. Meant for a task that drives batches itself, such as the producer of a
+     * streamed response.
+     *
+     * @param task the task to run.
+     * @return the future of the task, to cancel it.
+     */
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    private static RuntimeException cancelAll(List<? extends Future<?>> futures, Exception ex) {
+        futures.forEach(f -> f.cancel(true));
+        if (ex instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            return new IllegalStateException("Interrupted while waiting for fan-out results", ex);
+        }
+        if (ex.getCause() instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(ex.getCause());
+    }
+
+    private <R> R runBounded(Semaphore requestPermits, Supplier<R> call) throws InterruptedException {
+        requestPermits.acquire();
+        try {
+            globalPermits.acquire();
+            try {
+                return call.get();
+            } finally {
+                globalPermits.release();
+            }
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down fan-out executor");
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,243 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cuts the tail latency of idempotent upstream calls by hedging them ({@code external.api.hedge.*}):
+ * when the first attempt has not answered within the hedge delay, an identical attempt is sent on another virtual
+ * thread and the first successful answer wins; the other attempt is interrupted, and reports itself as
+ * {@link #isCancelled() cancelled} so its failure is not taken for an upstream error. If the first answer is a
+ * failure, the other attempt is awaited, and the first failure is rethrown only if both fail; a not found answer
+ * is final and returned at once.
+ * <p>
+ * The delay is either fixed ({@code delay}) or the {@code percentile} of the latencies of the last {@code window}
+ * attempts of the flow; no call is hedged until a tenth of the window has been observed.
+ * Hedges are paid from a per-flow budget that every call credits with {@code budget-percent} of a hedge, so at most
+ * that share of the calls is duplicated (with a burst of up to ten hedges).
+ * Exported as {@code upstream.hedge.sent}, {@code upstream.hedge.won} and {@code upstream.hedge.delay}, per flow.
+ */
+@Component
+@Slf4j
+public class RequestHedger implements DisposableBean {
+    private static final long TOKEN = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+    private static final String TAG_FLOW = "flow";
+    /** Cancellation flag of the hedged call the current thread is an attempt of. */
+    private static final ThreadLocal<AtomicBoolean> CANCELLED = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<String, FlowState> flows = new ConcurrentHashMap<>();
+    private final ExternalApiProperties.Hedge props;
+    private final MeterRegistry meterRegistry;
+
+    public RequestHedger(ExternalApiProperties props, MeterRegistry meterRegistry) {
+        this.props = props.getHedge();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call}, hedged if enabled and the first attempt is slow.
+     *
+     * @param flow the upstream flow the call belongs to, which owns the latency window and the budget.
+     * @param call the idempotent blocking call.
+     * @return the result of the first attempt that succeeds.
+     */
+    public <T> T execute(String flow, Supplier<T> call) {
+        if (!props.isEnabled()) {
+            return call.get();
+        }
+        FlowState state = flows.get(flow);
+        if (state == null) {
+            state = flows.computeIfAbsent(flow, FlowState::new);
+        }
+        state.credit();
+        long delayNanos = state.delayNanos();
+        if (delayNanos == Long.MAX_VALUE) {
+            return timed(state, call);
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Callable<T> attempt = attempt(state, call, cancelled);
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Future<T> primary = completion.submit(attempt);
+        Future<T> hedge = null;
+        try {
+            Future<T> first = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (first != null) {
+                return result(first);
+            }
+            if (!state.withdraw()) {
+                return result(primary);
+            }
+            state.sent.increment();
+            hedge = completion.submit(attempt);
+            return firstSuccess(completion, primary, hedge, state);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a hedged call", ex);
+        } finally {
+            cancelled.set(true);
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> T firstSuccess(CompletionService<T> completion, Future<T> primary, Future<T> hedge, FlowState state)
+            throws InterruptedException {
+        Future<T> first = completion.take();
+        RuntimeException failure;
+        try {
+            return won(result(first), first == hedge, state);
+        } catch (NotFoundException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            failure = ex;
+        }
+        Future<T> second = first == primary ? hedge : primary;
+        try {
+            return won(result(second), second == hedge, state);
+        } catch (RuntimeException ex) {
+            failure.addSuppressed(ex);
+            throw failure;
+        }
+    }
+
+    private static <T> T won(T result, boolean byHedge, FlowState state) {
+        if (byHedge) {
+            state.won.increment();
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the current thread is an attempt of a hedged call that has already been answered (or
+     * abandoned), so the failure it may be getting comes from its interruption rather than from the upstream.
+     */
+    public static boolean isCancelled() {
+        AtomicBoolean cancelled = CANCELLED.get();
+        return cancelled != null && cancelled.get();
+    }
+
+    private static <T> Callable<T> attempt(FlowState state, Supplier<T> call, AtomicBoolean cancelled) {
+        return () -> {
+            CANCELLED.set(cancelled);
+            try {
+                return timed(state, call);
+            } finally {
+                CANCELLED.remove();
+            }
+        };
+    }
+
+    private static <T> T timed(FlowState state, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            if (!isCancelled() && !Thread.currentThread().isInterrupted()) {
+                state.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static <T> T result(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down request hedger");
+        executor.shutdownNow();
+    }
+
+    /**
+     * Latency window, budget and meters of one flow.
+     */
+    private class FlowState {
+        private final long[] latencies = new long[Math.max(10, props.getWindow())];
+        private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+        private final Counter sent;
+        private final Counter won;
+        private int next;
+        private int count;
+        private volatile long delayNanos = Long.MAX_VALUE;
+
+        FlowState(String flow) {
+            this.sent = Counter.builder("upstream.hedge.sent").tag(TAG_FLOW, flow).register(meterRegistry);
+            this.won = Counter.builder("upstream.hedge.won").tag(TAG_FLOW, flow).register(meterRegistry);
+            Gauge.builder("upstream.hedge.delay", this, s -> s.delayNanos() == Long.MAX_VALUE ? Double.NaN
+                            : s.delayNanos() / 1e9)
+                    .tag(TAG_FLOW, flow)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        long delayNanos() {
+            return props.getDelay() != null ? props.getDelay().toNanos() : delayNanos;
+        }
+
+        /**
+         * Adds the latency of an attempt to the window, recomputing the derived delay every tenth of the window.
+         */
+        synchronized void record(long latencyNanos) {
+            latencies[next] = latencyNanos;
+            next = (next + 1) % latencies.length;
+            count = Math.min(count + 1, latencies.length);
+            int step = latencies.length / 10;
+            if (count >= step && next % step == 0) {
+                long[] sorted = Arrays.copyOf(latencies, count);
+                Arrays.sort(sorted);
+                long percentile = sorted[(int) Math.min(count - 1, Math.ceil(props.getPercentile() * count) - 1)];
+                delayNanos = Math.max(props.getMinDelay().toNanos(), percentile);
+            }
+        }
+
+        void credit() {
+            long credit = Math.round(props.getBudgetPercent() * TOKEN / 100);
+            tokens.accumulateAndGet(credit, (current, added) -> Math.min(MAX_TOKENS, current + added));
+        }
+
+        boolean withdraw() {
+            while (true) {
+                long current = tokens.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - TOKEN)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same (cache name, key) so that only one of them is in flight per node.
+ * The first caller performs the call; the others wait for it and get the same result or the same exception
+ * (including {@link com.inditex.similarproducts.domain.exception.NotFoundException}), except a
+ * {@link DeadlineExceededException}: it belongs to the deadline of the caller that performed the call, so a caller
+ * whose own deadline has not passed starts or joins a new call instead.
+ * Nothing is remembered once the call completes: caching the result is up to the caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MetricsRecorder metrics;
+
+    /**
+     * Executes {@code call}, or joins the identical call already in flight.
+     *
+     * @param cacheName the cache the key belongs to.
+     * @param key the key being loaded.
+     * @param call the call that loads the value.
+     * @return the value loaded by whichever caller performed the call.
+     */
+    public <T> T execute(String cacheName, String key, Supplier<T> call) {
+        return execute(cacheName, key, Deadline.none(), call);
+    }
+
+    /**
+     * Same as {@link #execute(String, String, Supplier)}, but a caller joining a call in flight waits for it no
+     * longer than its own deadline, since the call may have been started on behalf of a request with a later one.
+     *
+     * @param deadline the deadline of the request of the caller.
+     * @throws DeadlineExceededException if the deadline passes while waiting for the call in flight.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String cacheName, String key, Deadline deadline, Supplier<T> call) {
+        FlightKey flightKey = new FlightKey(cacheName, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing;
+        while ((existing = inFlight.putIfAbsent(flightKey, flight)) != null) {
+            metrics.recordCoalesced(cacheName);
+            try {
+                return (T) (deadline.isBounded() ? await(existing, deadline, flightKey) : await(existing));
+            } catch (DeadlineExceededException ex) {
+                if (deadline.isExpired()) {
+                    throw ex;
+                }
+                // the deadline of the caller that performed the call passed, not ours
+                inFlight.remove(flightKey, existing);
+            }
+        }
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(String, String, Supplier)}: starts {@code call}, or joins the
+     * identical call already in flight, blocking or not.
+     *
+     * @param cacheName the cache the key belongs to.
+     * @param key the key being loaded.
+     * @param call the call that starts loading the value.
+     * @return a future completed with the value, or with the failure, of whichever caller performed the call.
+     * Each caller gets its own copy, so cancelling it does not affect the other callers.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String cacheName, String key, Supplier<CompletableFuture<T>> call) {
+        FlightKey flightKey = new FlightKey(cacheName, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            metrics.recordCoalesced(cacheName);
+            return (CompletableFuture<T>) existing.copy();
+        }
+        try {
+            call.get().whenComplete((result, ex) -> {
+                inFlight.remove(flightKey, flight);
+                if (ex != null) {
+                    flight.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause() : ex);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(ex);
+        }
+        return (CompletableFuture<T>) flight.copy();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight, Deadline deadline, FlightKey flightKey) {
+        try {
+            return flight.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException(String.format("Deadline exceeded waiting for %s %s",
+                    flightKey.cacheName(), flightKey.key()), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a call in flight", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private record FlightKey(String cacheName, String key) {
+    }
+}
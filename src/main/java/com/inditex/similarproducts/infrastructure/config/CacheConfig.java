@@ -1,9 +1,23 @@
 package com.inditex.similarproducts.infrastructure.config;
 
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.adapter.out.cache.SimilarProductsCacheAdapter;
+import com.inditex.similarproducts.infrastructure.cache.BatchRedisCacheManager;
+import com.inditex.similarproducts.infrastructure.cache.CacheInvalidationListener;
+import com.inditex.similarproducts.infrastructure.cache.CacheInvalidationPublisher;
+import com.inditex.similarproducts.infrastructure.cache.CacheRefresher;
+import com.inditex.similarproducts.infrastructure.cache.CacheSerializers;
+import com.inditex.similarproducts.infrastructure.cache.CacheSnapshotWriter;
+import com.inditex.similarproducts.infrastructure.cache.DependencyIndex;
+import com.inditex.similarproducts.infrastructure.cache.DependencyTrackingCacheManager;
+import com.inditex.similarproducts.infrastructure.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.cache.PinnedKeys;
+import com.inditex.similarproducts.infrastructure.cache.RedisDependencyIndex;
+import com.inditex.similarproducts.infrastructure.cache.RefreshAheadCacheManager;
+import com.inditex.similarproducts.infrastructure.cache.TwoTierCacheManager;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,11 +25,17 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @EnableCaching
 @Configuration
@@ -24,34 +44,92 @@ import java.util.Map;
 public class CacheConfig {
     private final CacheProperties cacheProperties;
     private final RedisConnectionFactory redisConnectionFactory;
-    private final ObjectMapper objectMapper;
+    private final CacheSerializers cacheSerializers;
+    private final MetricsRecorder metrics;
+    private final PinnedKeys pinnedKeys;
+    private final String nodeId = UUID.randomUUID().toString();
 
     @Bean
-    public RedisCacheManager cacheManager() {
-        Jackson2JsonRedisSerializer<ProductDetail> productDetailSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, ProductDetail.class);
+    public CacheManager cacheManager(StringRedisTemplate stringRedisTemplate,
+                                     CacheRefresher cacheRefresher) {
+        return new RefreshAheadCacheManager(
+                new DependencyTrackingCacheManager(
+                        twoTierCacheManager(stringRedisTemplate),
+                        dependencyIndex(stringRedisTemplate),
+                        SimilarProductsCacheAdapter.CACHE_NAME,
+                        Set.of("productDetail", "similarIds")),
+                Map.of(
+                        "productDetail", cacheProperties.getRefresh().getProductDetailSoftTtl(),
+                        "similarIds", cacheProperties.getRefresh().getSimilarIdsSoftTtl()
+                ),
+                cacheRefresher,
+                metrics);
+    }
 
-        RedisCacheConfiguration productDetailConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(cacheProperties.getProductDetailTtl())
-                .disableCachingNullValues()
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(productDetailSerializer)
-                );
+    @Bean
+    public DependencyIndex dependencyIndex(StringRedisTemplate stringRedisTemplate) {
+        return new RedisDependencyIndex(stringRedisTemplate, cacheProperties.getSimilarProductsTtl());
+    }
 
-        JavaType listOfStringType = objectMapper.getTypeFactory().constructCollectionType(List.class, String.class);
-        Jackson2JsonRedisSerializer<List<String>> similarIdsSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, listOfStringType);
+    /**
+     * L1 + Redis tiers behind the refresh-ahead decorator. Not an autowire candidate, so {@link #cacheManager}
+     * stays the only {@link CacheManager} seen by the application.
+     */
+    @Bean(autowireCandidate = false)
+    public TwoTierCacheManager twoTierCacheManager(StringRedisTemplate stringRedisTemplate) {
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(
+                stringRedisTemplate, cacheProperties.getL1().getInvalidationChannel(), nodeId);
+        return new TwoTierCacheManager(
+                redisCacheManager(),
+                cacheProperties.getL1(),
+                Map.of(
+                        "productDetail", cacheProperties.getProductDetailTtl(),
+                        "similarIds", cacheProperties.getSimilarIdsTtl(),
+                        NotFoundCache.CACHE_NAME, cacheProperties.getNotFoundTtl(),
+                        SimilarProductsCacheAdapter.CACHE_NAME, cacheProperties.getSimilarProductsTtl()
+                ),
+                publisher,
+                metrics,
+                pinnedKeys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.l1", name = "invalidation-enabled", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(StringRedisTemplate stringRedisTemplate) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(new CacheInvalidationListener(twoTierCacheManager(stringRedisTemplate), nodeId),
+                new ChannelTopic(cacheProperties.getL1().getInvalidationChannel()));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.warmup", name = "snapshot-file")
+    public CacheSnapshotWriter cacheSnapshotWriter(StringRedisTemplate stringRedisTemplate) {
+        return new CacheSnapshotWriter(twoTierCacheManager(stringRedisTemplate), List.of("productDetail", "similarIds"),
+                cacheProperties.getWarmup());
+    }
+
+    private RedisCacheManager redisCacheManager() {
+        RedisCacheManager redisCacheManager = new BatchRedisCacheManager(
+                redisConnectionFactory,
+                RedisCacheConfiguration.defaultCacheConfig(),
+                Map.of(
+                        "productDetail", config(cacheProperties.getProductDetailTtl(), cacheSerializers.productDetail()),
+                        "similarIds", config(cacheProperties.getSimilarIdsTtl(), cacheSerializers.similarIds()),
+                        NotFoundCache.CACHE_NAME, config(cacheProperties.getNotFoundTtl(), cacheSerializers.notFound()),
+                        SimilarProductsCacheAdapter.CACHE_NAME,
+                        config(cacheProperties.getSimilarProductsTtl(), cacheSerializers.similarProducts())
+                ),
+                metrics);
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
 
-        RedisCacheConfiguration similarIdsConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(cacheProperties.getSimilarIdsTtl())
+    private static RedisCacheConfiguration config(Duration ttl, RedisSerializer<?> valueSerializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
                 .disableCachingNullValues()
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(similarIdsSerializer)
-                );
-
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .withInitialCacheConfigurations(Map.of(
-                        "productDetail", productDetailConfig,
-                        "similarIds", similarIdsConfig
-                ))
-                .build();
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
     }
 }
@@ -1,10 +1,12 @@
 package com.inditex.similarproducts.infrastructure.config;
 
+import com.inditex.similarproducts.infrastructure.cache.CacheCompression;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 
@@ -16,4 +18,77 @@ import java.time.Duration;
 public class CacheProperties {
     private Duration productDetailTtl;
     private Duration similarIdsTtl;
+    /** How long a 404 of the product API is remembered, for both caches. */
+    private Duration notFoundTtl = Duration.ofMinutes(1);
+    /** TTL of the assembled similar products responses. */
+    private Duration similarProductsTtl = Duration.ofMinutes(10);
+    private L1 l1 = new L1();
+    private Refresh refresh = new Refresh();
+    private Codec codec = new Codec();
+    private Warmup warmup = new Warmup();
+
+    /**
+     * In-process tier kept in front of Redis. Its TTL is capped to the Redis TTL of each cache.
+     */
+    @Getter
+    @Setter
+    public static class L1 {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(1);
+        private boolean invalidationEnabled = true;
+        private String invalidationChannel = "similar-products:cache-invalidation";
+    }
+
+    /**
+     * Refresh-ahead: entries older than their soft TTL are still served, and reloaded in the background.
+     * {@code product-detail-ttl} and {@code similar-ids-ttl} remain the hard TTLs.
+     */
+    @Getter
+    @Setter
+    public static class Refresh {
+        private boolean enabled = true;
+        private Duration productDetailSoftTtl = Duration.ofMinutes(20);
+        private Duration similarIdsSoftTtl = Duration.ofMinutes(40);
+        private int threads = 4;
+        private int queueCapacity = 1_000;
+    }
+
+    /**
+     * Format of the values written to Redis. Both formats are always readable, so switching is safe once every
+     * node runs a version that knows the binary one.
+     */
+    @Getter
+    @Setter
+    public static class Codec {
+        private Format format = Format.BINARY;
+        private CacheCompression compression = CacheCompression.LZ4;
+        /** Values are only compressed from this encoded size on. */
+        private DataSize compressionThreshold = DataSize.ofBytes(512);
+
+        public enum Format {
+            JSON,
+            BINARY
+        }
+    }
+
+    /**
+     * Warm start: before the node reports ready, the keys of a hot-key list and of the snapshot written by running
+     * nodes are loaded into the {@code productDetail} and {@code similarIds} caches, from Redis in one batch per
+     * cache and from the product API (rate limited by {@code resilience4j.ratelimiter.instances.cacheWarmup}) for
+     * the keys Redis does not have.
+     */
+    @Getter
+    @Setter
+    public static class Warmup {
+        private boolean enabled = true;
+        /** Text file with one {@code <cache>:<key>} per line, e.g. {@code productDetail:42}. Optional. */
+        private String hotKeysFile;
+        /** Binary snapshot of the hottest keys, written periodically and on shutdown, read on startup. Optional. */
+        private String snapshotFile;
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+        /** Hottest keys written to the snapshot, per cache. */
+        private int snapshotKeys = 1_000;
+        /** Startup is not delayed longer than this; the keys not warmed by then are skipped. */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
 }
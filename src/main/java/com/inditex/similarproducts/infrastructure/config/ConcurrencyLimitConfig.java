@@ -0,0 +1,28 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import com.inditex.similarproducts.adapter.in.rest.filter.ConcurrencyLimitFilter;
+import com.inditex.similarproducts.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the {@link ConcurrencyLimitFilter} in front of the product endpoints, right after the observation
+ * filter of Spring Boot so rejected requests still show up in the HTTP server metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                                 ConcurrencyLimitProperties props) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, props));
+        registration.addUrlPatterns("/product/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
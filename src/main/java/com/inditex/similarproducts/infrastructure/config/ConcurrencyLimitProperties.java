@@ -0,0 +1,30 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 100;
+    private int minLimit = 10;
+    private int maxLimit = 1000;
+    /** Factor applied to the limit when the recent latency exceeds the long-term latency by the tolerance. */
+    private double backoffRatio = 0.9;
+    /** How much slower than the long-term latency the recent latency may get before the limit is decreased. */
+    private double latencyTolerance = 1.5;
+    /** Number of requests averaged in the recent latency. */
+    private int shortWindow = 10;
+    /** Number of requests averaged in the long-term latency. */
+    private int longWindow = 500;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,19 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+    /** Time budget of a similar products request, shared by all the upstream calls, retries and backoffs it makes. */
+    private Duration requestTimeout = Duration.ofSeconds(5);
+}
@@ -6,6 +6,10 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Component
 @Getter
 @Setter
@@ -15,4 +19,49 @@ public class ExternalApiProperties {
     private String baseUrl;
     private String similarIdsPath;
     private String productDetailPath;
+    /** Similar IDs responses with more IDs are rejected while they are read, without retrying. */
+    private int maxSimilarIds = 1_000;
+    private Client client = new Client();
+    private Hedge hedge = new Hedge();
+
+    /**
+     * Settings of the HTTP client used to call the product API.
+     */
+    @Getter
+    @Setter
+    public static class Client {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        /** Maximum time to wait for a pooled connection before failing the call. */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        private int maxConnectionsTotal = 200;
+        private int maxConnectionsPerRoute = 100;
+        /** Per-route overrides of {@code max-connections-per-route}, keyed by base URL (e.g. {@code http://host:3001}). */
+        private Map<String, Integer> maxConnectionsPerRouteOverrides = new HashMap<>();
+        /** How long an idle connection is kept alive when the server does not say otherwise. */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+        /** Uses the JDK client with HTTP/2 (multiplexed, no explicit pool) instead of the pooled HTTP/1.1 client. */
+        private boolean http2Enabled = false;
+    }
+
+    /**
+     * Hedging of the product detail calls: when the first attempt has not answered within the delay, an identical
+     * second attempt is sent and the first answer wins.
+     */
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = false;
+        /** Fixed delay before hedging; when unset, the {@code percentile} of the recent attempt latencies is used. */
+        private Duration delay;
+        private double percentile = 0.95;
+        /** Lower bound of the derived delay. */
+        private Duration minDelay = Duration.ofMillis(5);
+        /** Number of recent attempt latencies the derived delay is computed from. */
+        private int window = 1000;
+        /** Maximum share of calls, in percent, that may be hedged. */
+        private double budgetPercent = 10;
+    }
 }
@@ -0,0 +1,17 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "fan-out")
+public class FanOutProperties {
+    private int maxConcurrencyPerRequest = 20;
+    private int maxConcurrencyGlobal = 512;
+}
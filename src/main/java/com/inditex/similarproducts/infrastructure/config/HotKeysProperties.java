@@ -0,0 +1,41 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "hot-keys")
+public class HotKeysProperties {
+    private boolean enabled = true;
+    /** Number of heaviest keys tracked per dimension. */
+    private int topK = 100;
+    /** Counters per row of the count-min sketch, rounded up to a power of two. */
+    private int sketchWidth = 8192;
+    /** Rows (hash functions) of the count-min sketch. */
+    private int sketchDepth = 4;
+    /** How often the top keys are re-evaluated for pinning and published as metrics. */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+    private Pinning pinning = new Pinning();
+
+    /**
+     * Heavy hitters pinned in the in-process cache tier: they are never evicted for size, and kept until the TTL of
+     * the remote tier instead of {@code cache.l1.ttl}.
+     */
+    @Getter
+    @Setter
+    public static class Pinning {
+        private boolean enabled = true;
+        /** Share of the lookups of its dimension a key must account for to be pinned. */
+        private double minShare = 0.01;
+        /** Maximum number of keys pinned per dimension. */
+        private int maxKeys = 50;
+    }
+}
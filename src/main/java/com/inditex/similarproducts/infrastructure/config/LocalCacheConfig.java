@@ -1,5 +1,11 @@
 package com.inditex.similarproducts.infrastructure.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.infrastructure.cache.DependencyIndex;
+import com.inditex.similarproducts.infrastructure.cache.DependencyTrackingCacheManager;
+import com.inditex.similarproducts.infrastructure.cache.InMemoryDependencyIndex;
+import com.inditex.similarproducts.infrastructure.cache.NotFoundCache;
+import lombok.RequiredArgsConstructor;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
@@ -9,18 +15,42 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
 import java.util.List;
+import java.util.Set;
 
 @EnableCaching
 @Configuration
+@RequiredArgsConstructor
 @Profile("local")
 public class LocalCacheConfig {
+    private final CacheProperties cacheProperties;
+
     @Bean
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         cacheManager.setCaches(List.of(
                 new ConcurrentMapCache("productDetail"),
-                new ConcurrentMapCache("similarIds")
+                new ConcurrentMapCache("similarIds"),
+                notFoundCache(),
+                new ConcurrentMapCache("similarProducts")
         ));
-        return cacheManager;
+        cacheManager.afterPropertiesSet();
+        return new DependencyTrackingCacheManager(cacheManager, dependencyIndex(),
+                "similarProducts", Set.of("productDetail", "similarIds"));
+    }
+
+    @Bean
+    public DependencyIndex dependencyIndex() {
+        return new InMemoryDependencyIndex();
+    }
+
+    /**
+     * Not-found markers expire after {@code cache.not-found-ttl}, as they do in Redis, so a product created
+     * upstream is eventually served in local mode too.
+     */
+    private ConcurrentMapCache notFoundCache() {
+        return new ConcurrentMapCache(NotFoundCache.CACHE_NAME, Caffeine.newBuilder()
+                .expireAfterWrite(cacheProperties.getNotFoundTtl())
+                .build()
+                .asMap(), true);
     }
 }
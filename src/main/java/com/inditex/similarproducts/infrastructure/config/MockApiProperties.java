@@ -0,0 +1,94 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Simulated product API of the {@code local} profile. With the defaults it answers instantly from
+ * {@code mock-api.json}, without faults.
+ */
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "mock-api")
+public class MockApiProperties {
+    /** Classpath resource with the products answered as is (they take precedence over the synthetic catalog). */
+    private String file = "mock-api.json";
+    private Catalog catalog = new Catalog();
+    private Endpoint productDetail = new Endpoint();
+    private Endpoint similarIds = new Endpoint();
+    private Slowdown slowdown = new Slowdown();
+
+    /**
+     * Synthetic products with the IDs {@code 1} to {@code size}, derived from {@code seed} and the product ID on
+     * every call instead of being held in memory, so catalogs of millions of products cost nothing.
+     */
+    @Getter
+    @Setter
+    public static class Catalog {
+        /** Number of synthetic products, 0 for none. */
+        private int size = 0;
+        private long seed = 42;
+        private int minSimilarIds = 0;
+        private int maxSimilarIds = 10;
+        /** Share of the synthetic products that are available. */
+        private double availableShare = 0.8;
+    }
+
+    /**
+     * Behaviour of an endpoint of the simulated API.
+     */
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private Latency latency = new Latency();
+        /** Share of the calls answered with a 500. */
+        private double errorRate = 0;
+        /** Share of the calls answered with a 404, on top of the products that do not exist. */
+        private double notFoundRate = 0;
+    }
+
+    /**
+     * Latency distribution of an endpoint.
+     */
+    @Getter
+    @Setter
+    public static class Latency {
+        private Distribution distribution = Distribution.FIXED;
+        /** The latency of {@code fixed}, the median of {@code lognormal} and of the body of {@code long-tail}. */
+        private Duration median = Duration.ZERO;
+        /** Standard deviation of the logarithm of the latency, for {@code lognormal} and {@code long-tail}. */
+        private double sigma = 0.5;
+        /** Share of the calls of {@code long-tail} that fall in the tail. */
+        private double tailProbability = 0.01;
+        /** Minimum latency of the tail (scale of its Pareto distribution). */
+        private Duration tailLatency = Duration.ofMillis(500);
+        /** Shape of the Pareto distribution of the tail: the lower, the heavier the tail. */
+        private double tailAlpha = 1.5;
+        /** Cap of every sampled latency. */
+        private Duration max = Duration.ofSeconds(30);
+    }
+
+    public enum Distribution {
+        FIXED, LOGNORMAL, LONG_TAIL
+    }
+
+    /**
+     * Recurring slowdown episodes of the whole API: for {@code duration} out of every {@code every}, the latencies
+     * of all endpoints are multiplied by {@code factor}.
+     */
+    @Getter
+    @Setter
+    public static class Slowdown {
+        /** Period of the episodes, unset for none. */
+        private Duration every;
+        private Duration duration = Duration.ofSeconds(10);
+        private double factor = 10;
+    }
+}
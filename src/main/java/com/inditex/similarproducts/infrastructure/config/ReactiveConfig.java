@@ -0,0 +1,91 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.cache.CacheEntry;
+import com.inditex.similarproducts.infrastructure.cache.CacheSerializers;
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Non-blocking clients used when {@code execution.mode=reactive}: a {@link WebClient} on Reactor Netty for the
+ * product API, sized from {@code external.api.client}, and reactive Redis templates that read and write the same
+ * entries (keys, {@link CacheEntry} values through the shared {@link CacheSerializers} and TTLs) as the blocking
+ * caches configured in {@link CacheConfig}.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Profile("!local")
+@ConditionalOnProperty(name = "execution.mode", havingValue = "reactive")
+public class ReactiveConfig {
+    private final ExternalApiProperties props;
+    private final CacheSerializers cacheSerializers;
+
+    @Bean
+    public WebClient productApiWebClient(WebClient.Builder builder) {
+        ExternalApiProperties.Client client = props.getClient();
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("product-api")
+                .maxConnections(client.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(client.getConnectionRequestTimeout())
+                .maxIdleTime(client.getKeepAlive())
+                .maxLifeTime(client.getConnectionTimeToLive())
+                .evictInBackground(client.getKeepAlive())
+                .metrics(true);
+        client.getMaxConnectionsPerRouteOverrides()
+                .forEach((url, max) -> pool.forRemoteHost(address(url), spec -> spec.maxConnections(max)));
+
+        HttpClient httpClient = HttpClient.create(pool.build())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getReadTimeout());
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, CacheEntry<ProductDetail>> productDetailRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        return template(connectionFactory, cacheSerializers.productDetail());
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, CacheEntry<List<String>>> similarIdsRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        return template(connectionFactory, cacheSerializers.similarIds());
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, CacheEntry<String>> notFoundRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        return template(connectionFactory, cacheSerializers.notFound());
+    }
+
+    private static <V> ReactiveRedisTemplate<String, V> template(ReactiveRedisConnectionFactory connectionFactory,
+                                                                 RedisSerializer<V> valueSerializer) {
+        RedisSerializationContext<String, V> context = RedisSerializationContext.<String, V>newSerializationContext(RedisSerializer.string())
+                .value(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    private static InetSocketAddress address(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
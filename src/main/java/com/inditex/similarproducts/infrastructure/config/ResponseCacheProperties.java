@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Cache of the encoded bodies of the full similar products responses: their JSON and its pre-compressed variants.
+ */
+@Component
+@Getter
+@Setter
+@RequiredArgsConstructor
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    /** Total size of the cached bodies, all variants included. */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+    /** Bodies smaller than this are only served uncompressed. */
+    private DataSize minCompressSize = DataSize.ofBytes(256);
+    /** Deflate level of the gzip variant: compressed once per body, so the best ratio is affordable. */
+    private int gzipLevel = 9;
+    /**
+     * Quality (0 to 11) of the brotli variant. Bodies are compressed on the request that misses the cache, and the
+     * highest qualities cost milliseconds there.
+     */
+    private int brotliQuality = 5;
+}
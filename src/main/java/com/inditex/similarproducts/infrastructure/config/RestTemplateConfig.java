@@ -1,21 +1,156 @@
 package com.inditex.similarproducts.infrastructure.config;
 
+import com.inditex.similarproducts.infrastructure.http.CallTimeout;
+import com.inditex.similarproducts.infrastructure.http.InstrumentedPoolingConnectionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
+/**
+ * Configures the {@link RestTemplate} used to call the product API on top of a dedicated client:
+ * a bounded, keep-alive connection pool (Apache HttpClient) by default, or the JDK client over HTTP/2
+ * when {@code external.api.client.http2-enabled} is set.
+ * Both shorten their read timeout to the {@link CallTimeout} of the call, i.e. to the time left before the deadline of
+ * the request it is made for.
+ */
 @Configuration
+@RequiredArgsConstructor
+@Slf4j
 public class RestTemplateConfig {
-    private static final int CONNECT_TIMEOUT = 10;
-    private static final int READ_TIMEOUT = 30;
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(1);
+
+    private final ExternalApiProperties props;
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory upstreamRequestFactory) {
         return builder
-                .connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT))
-                .readTimeout(Duration.ofSeconds(READ_TIMEOUT))
+                .requestFactory(() -> upstreamRequestFactory)
                 .build();
     }
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(MeterRegistry meterRegistry) {
+        ExternalApiProperties.Client client = props.getClient();
+        if (client.isHttp2Enabled()) {
+            log.info("Using HTTP/2 client for the product API");
+            return http2RequestFactory(client);
+        }
+        return pooledRequestFactory(client, meterRegistry);
+    }
+
+    private ClientHttpRequestFactory pooledRequestFactory(ExternalApiProperties.Client client, MeterRegistry meterRegistry) {
+        InstrumentedPoolingConnectionManager connectionManager = new InstrumentedPoolingConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(client.getMaxConnectionsTotal());
+        connectionManager.setDefaultMaxPerRoute(client.getMaxConnectionsPerRoute());
+        client.getMaxConnectionsPerRouteOverrides()
+                .forEach((url, max) -> connectionManager.setMaxPerRoute(route(url), max));
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(timeout(client.getConnectTimeout()))
+                .setSocketTimeout(timeout(client.getReadTimeout()))
+                .setTimeToLive(TimeValue.ofMilliseconds(client.getConnectionTimeToLive().toMillis()))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(client.getValidateAfterInactivity().toMillis()))
+                .build());
+
+        TimeValue defaultKeepAlive = TimeValue.ofMilliseconds(client.getKeepAlive().toMillis());
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(client.getConnectionRequestTimeout()))
+                        .build())
+                .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                    @Override
+                    public TimeValue getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                        TimeValue serverKeepAlive = super.getKeepAliveDuration(response, context);
+                        return serverKeepAlive.compareTo(defaultKeepAlive) < 0 ? serverKeepAlive : defaultKeepAlive;
+                    }
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(defaultKeepAlive)
+                .build());
+        requestFactory.setHttpContextFactory((method, uri) -> boundedContext(client));
+        return requestFactory;
+    }
+
+    /**
+     * @return a context whose timeouts are shortened to the {@link CallTimeout} of the call, or {@code null} to use
+     * the defaults of the client when the call has none.
+     */
+    private static HttpContext boundedContext(ExternalApiProperties.Client client) {
+        Duration callTimeout = CallTimeout.current();
+        if (callTimeout == null) {
+            return null;
+        }
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(min(client.getConnectionRequestTimeout(), callTimeout)))
+                .setResponseTimeout(timeout(min(client.getReadTimeout(), callTimeout)))
+                .build());
+        return context;
+    }
+
+    private ClientHttpRequestFactory http2RequestFactory(ExternalApiProperties.Client client) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(client.getConnectTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(client.getReadTimeout());
+        return (uri, method) -> {
+            Duration callTimeout = CallTimeout.current();
+            if (callTimeout == null) {
+                return requestFactory.createRequest(uri, method);
+            }
+            // the read timeout is fixed per factory, which is a cheap wrapper around the shared client
+            JdkClientHttpRequestFactory boundedFactory = new JdkClientHttpRequestFactory(httpClient);
+            boundedFactory.setReadTimeout(min(client.getReadTimeout(), callTimeout));
+            return boundedFactory.createRequest(uri, method);
+        };
+    }
+
+    private static HttpRoute route(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port));
+    }
+
+    /**
+     * @return the shorter of both durations, never below 1 ms: a zero timeout means no timeout to the clients.
+     */
+    private static Duration min(Duration timeout, Duration callTimeout) {
+        Duration shortest = callTimeout.compareTo(timeout) < 0 ? callTimeout : timeout;
+        return shortest.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : shortest;
+    }
+
+    /**
+     * Rounds up to whole milliseconds, so a timeout derived from the deadline never fires before it: the retries
+     * then see the deadline as passed and report a {@code 504}, not an upstream error.
+     */
+    private static Timeout timeout(Duration duration) {
+        long millis = duration.toMillis();
+        return Timeout.ofMilliseconds(duration.equals(Duration.ofMillis(millis)) ? millis : millis + 1);
+    }
 }
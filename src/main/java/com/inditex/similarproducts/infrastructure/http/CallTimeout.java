@@ -0,0 +1,42 @@
+package com.inditex.similarproducts.infrastructure.http;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Timeout of the upstream call being made by the current thread, read by the request factories of
+ * {@link com.inditex.similarproducts.infrastructure.config.RestTemplateConfig} to shorten their read timeout to the
+ * time left before the deadline of the request.
+ * It is set only for the duration of a synchronous call on the calling thread, so it never leaks to other calls,
+ * whichever thread (fan-out, hedge) they run on.
+ */
+public final class CallTimeout {
+    private static final ThreadLocal<Duration> CURRENT = new ThreadLocal<>();
+
+    private CallTimeout() {
+    }
+
+    /**
+     * Runs {@code call} with {@code timeout} as the timeout of the upstream calls it makes.
+     */
+    public static <T> T within(Duration timeout, Supplier<T> call) {
+        Duration previous = CURRENT.get();
+        CURRENT.set(timeout);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the timeout of the call being made by the current thread, or {@code null} when it has none.
+     */
+    public static Duration current() {
+        return CURRENT.get();
+    }
+}
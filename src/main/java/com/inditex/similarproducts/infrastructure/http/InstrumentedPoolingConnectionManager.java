@@ -0,0 +1,66 @@
+package com.inditex.similarproducts.infrastructure.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Connection pool of the upstream client that exports its occupancy (leased, available, pending and max
+ * connections) as gauges and the time spent waiting to lease a connection as a timer.
+ */
+public class InstrumentedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+    private static final String POOL_CONNECTIONS = "upstream.http.pool.connections";
+    private static final String POOL_WAIT = "upstream.http.pool.wait";
+    private static final String TAG_STATE = "state";
+
+    private final Timer leaseWait;
+
+    public InstrumentedPoolingConnectionManager(MeterRegistry meterRegistry) {
+        this.leaseWait = Timer.builder(POOL_WAIT)
+                .description("Time spent waiting for a pooled connection to the product API")
+                .register(meterRegistry);
+        gauge(meterRegistry, "leased", m -> m.getTotalStats().getLeased());
+        gauge(meterRegistry, "available", m -> m.getTotalStats().getAvailable());
+        gauge(meterRegistry, "pending", m -> m.getTotalStats().getPending());
+        gauge(meterRegistry, "max", m -> m.getTotalStats().getMax());
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return delegate.get(timeout);
+                } finally {
+                    leaseWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String state,
+                       ToDoubleFunction<InstrumentedPoolingConnectionManager> value) {
+        Gauge.builder(POOL_CONNECTIONS, this, value)
+                .tag(TAG_STATE, state)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of one tier of one cache, registered once by {@link MetricsRecorder#cacheMeters(String, String)}
+ * so the cache operations only increment them:
+ * <ul>
+ *     <li>{@code cache.tier.gets{cache,tier,result=hit|miss}}: looked up keys.</li>
+ *     <li>{@code cache.tier.puts{cache,tier}} and {@code cache.tier.evictions{cache,tier}}: written and evicted keys.</li>
+ *     <li>{@code cache.tier.errors{cache,tier}}: failed operations.</li>
+ *     <li>{@code cache.tier.latency{cache,tier,operation=get|set}}: latency of reads and writes, single or batched.</li>
+ * </ul>
+ * The names differ from the {@code cache.gets}/{@code cache.puts} meters of Spring Boot, which are tagged differently.
+ */
+public class CacheMeters {
+    public static final String TIER_L1 = "l1";
+    public static final String TIER_REDIS = "redis";
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter errors;
+    private final Timer getLatency;
+    private final Timer setLatency;
+
+    CacheMeters(MeterRegistry meterRegistry, String cacheName, String tier) {
+        this.hits = counter("cache.tier.gets", cacheName, tier).tag("result", "hit").register(meterRegistry);
+        this.misses = counter("cache.tier.gets", cacheName, tier).tag("result", "miss").register(meterRegistry);
+        this.puts = counter("cache.tier.puts", cacheName, tier).register(meterRegistry);
+        this.evictions = counter("cache.tier.evictions", cacheName, tier).register(meterRegistry);
+        this.errors = counter("cache.tier.errors", cacheName, tier).register(meterRegistry);
+        this.getLatency = timer(meterRegistry, cacheName, tier, "get");
+        this.setLatency = timer(meterRegistry, cacheName, tier, "set");
+    }
+
+    public void recordGet(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    public void recordGets(int hitCount, int missCount) {
+        hits.increment(hitCount);
+        misses.increment(missCount);
+    }
+
+    public void recordPuts(int count) {
+        puts.increment(count);
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} at which the read started.
+     */
+    public void recordGetLatency(long startNanos) {
+        getLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} at which the write started.
+     */
+    public void recordSetLatency(long startNanos) {
+        setLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter.Builder counter(String name, String cacheName, String tier) {
+        return Counter.builder(name)
+                .tag("cache", cacheName)
+                .tag("tier", tier);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String cacheName, String tier, String operation) {
+        return Timer.builder("cache.tier.latency")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Streaming estimate of the most frequent keys: a count-min sketch counts every key in fixed memory, and the
+ * {@code k} keys with the highest estimates are kept as candidates.
+ * Counting is lock-free; only a key that enters the candidates takes a lock. Every {@code 10 * width} additions
+ * all the counts are halved, so the estimates follow the recent traffic rather than the whole history.
+ * Estimates never undercount, and overcount by at most {@code e * total / width} with high probability.
+ */
+public final class HeavyHitterSketch {
+    private final int depth;
+    private final int mask;
+    private final int k;
+    private final long sampleSize;
+    private final AtomicLongArray counters;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong additions = new AtomicLong();
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long candidateFloor;
+
+    public HeavyHitterSketch(int width, int depth, int k) {
+        int rowWidth = Integer.highestOneBit(Math.max(16, width) - 1) << 1;
+        this.depth = Math.max(1, depth);
+        this.mask = rowWidth - 1;
+        this.k = Math.max(1, k);
+        this.sampleSize = 10L * rowWidth;
+        this.counters = new AtomicLongArray(this.depth * rowWidth);
+    }
+
+    /**
+     * Counts one occurrence of {@code key}.
+     *
+     * @return the estimated count of the key, including this occurrence.
+     */
+    public long add(String key) {
+        long estimate = increment(key);
+        total.incrementAndGet();
+
+        if (candidates.computeIfPresent(key, (ignored, previous) -> estimate) == null
+                && (candidates.size() < k || estimate > candidateFloor)) {
+            admit(key, estimate);
+        }
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            halve();
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the tracked heaviest keys with their estimated counts, heaviest first.
+     */
+    public List<Map.Entry<String, Long>> top() {
+        return candidates.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .toList();
+    }
+
+    /**
+     * @return the number of occurrences counted, halved along with the estimates.
+     */
+    public long total() {
+        return total.get();
+    }
+
+    private long increment(String key) {
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * (mask + 1) + ((h1 + row * h2) & mask);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    private synchronized void admit(String key, long estimate) {
+        candidates.put(key, estimate);
+        if (candidates.size() > k) {
+            candidates.entrySet().stream()
+                    .min(Comparator.comparingLong(Map.Entry::getValue))
+                    .ifPresent(lightest -> candidates.remove(lightest.getKey()));
+        }
+        candidateFloor = candidates.size() < k ? 0
+                : candidates.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+
+    private synchronized void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        total.getAndUpdate(count -> count >>> 1);
+        candidates.replaceAll((key, count) -> count >>> 1);
+        candidates.values().removeIf(count -> count == 0);
+        candidateFloor >>>= 1;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,160 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import com.inditex.similarproducts.infrastructure.cache.PinnedKeys;
+import com.inditex.similarproducts.infrastructure.config.HotKeysProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the product IDs that dominate the traffic (heavy hitters), per dimension: the base products of the similar
+ * products requests ({@link #SIMILAR_PRODUCTS}) and the product details looked up ({@link #PRODUCT_DETAIL}).
+ * Every lookup is counted in a {@link HeavyHitterSketch}. Every {@code hot-keys.refresh-interval}, the keys that
+ * account for at least {@code hot-keys.pinning.min-share} of their dimension are pinned in the in-process tier of
+ * the caches of that dimension ({@link PinnedKeys}), and the others are unpinned.
+ * The top keys are served by the {@code hotkeys} actuator endpoint; the metrics only carry their estimates by rank
+ * ({@code hotkeys.top.estimate{dimension,rank}}), the share of the traffic of the top keys ({@code hotkeys.top.share})
+ * and the number of pinned keys ({@code hotkeys.pinned}), so the product IDs never become metric tags.
+ */
+@Component
+@Slf4j
+public class HotKeyTracker implements InitializingBean, DisposableBean {
+    public static final String SIMILAR_PRODUCTS = "similarProducts";
+    public static final String PRODUCT_DETAIL = "productDetail";
+    static final int RANKED_GAUGES = 10;
+    private static final String TAG_DIMENSION = "dimension";
+    private static final Map<String, List<String>> PINNED_CACHES = Map.of(
+            SIMILAR_PRODUCTS, List.of("similarIds", "similarProducts"),
+            PRODUCT_DETAIL, List.of("productDetail"));
+
+    private final HotKeysProperties props;
+    private final PinnedKeys pinnedKeys;
+    private final Map<String, HeavyHitterSketch> sketches = new LinkedHashMap<>();
+    private final Map<String, List<HotKey>> published = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("hot-keys").factory());
+
+    public HotKeyTracker(HotKeysProperties props, PinnedKeys pinnedKeys, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.pinnedKeys = pinnedKeys;
+        for (String dimension : List.of(SIMILAR_PRODUCTS, PRODUCT_DETAIL)) {
+            sketches.put(dimension, new HeavyHitterSketch(props.getSketchWidth(), props.getSketchDepth(), props.getTopK()));
+            published.put(dimension, List.of());
+            Gauge.builder("hotkeys.top.share", () -> published.get(dimension).stream().mapToDouble(HotKey::share).sum())
+                    .tag(TAG_DIMENSION, dimension).register(meterRegistry);
+            Gauge.builder("hotkeys.pinned", () -> pinnedKeys.get(PINNED_CACHES.get(dimension).get(0)).size())
+                    .tag(TAG_DIMENSION, dimension).register(meterRegistry);
+            for (int rank = 1; rank <= RANKED_GAUGES; rank++) {
+                int index = rank - 1;
+                Gauge.builder("hotkeys.top.estimate", () -> {
+                            List<HotKey> top = published.get(dimension);
+                            return index < top.size() ? top.get(index).estimate() : 0;
+                        })
+                        .tag(TAG_DIMENSION, dimension).tag("rank", String.valueOf(rank)).register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (props.isEnabled()) {
+            long interval = props.getRefreshInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Counts a lookup of {@code key} in {@code dimension}.
+     */
+    public void record(String dimension, String key) {
+        if (props.isEnabled()) {
+            sketches.get(dimension).add(key);
+        }
+    }
+
+    public void recordAll(String dimension, Collection<String> keys) {
+        if (props.isEnabled()) {
+            HeavyHitterSketch sketch = sketches.get(dimension);
+            keys.forEach(sketch::add);
+        }
+    }
+
+    /**
+     * @return the current heaviest keys of every dimension, heaviest first.
+     */
+    public Map<String, List<HotKey>> top() {
+        Map<String, List<HotKey>> top = new LinkedHashMap<>();
+        sketches.keySet().forEach(dimension -> top.put(dimension, top(dimension)));
+        return top;
+    }
+
+    /**
+     * @return the current heaviest keys of {@code dimension}, heaviest first, or {@code null} for an unknown one.
+     */
+    public List<HotKey> top(String dimension) {
+        HeavyHitterSketch sketch = sketches.get(dimension);
+        if (sketch == null) {
+            return null;
+        }
+        double total = Math.max(1, sketch.total());
+        Set<String> pinned = pinnedKeys.get(PINNED_CACHES.get(dimension).get(0));
+        return sketch.top().stream()
+                .map(entry -> new HotKey(entry.getKey(), entry.getValue(), Math.min(1.0, entry.getValue() / total),
+                        pinned.contains(entry.getKey())))
+                .toList();
+    }
+
+    /**
+     * Publishes the heaviest keys to the metrics and pins the ones above the threshold.
+     */
+    void refresh() {
+        for (String dimension : sketches.keySet()) {
+            List<HotKey> top = top(dimension);
+            published.put(dimension, top);
+            Set<String> pins = !props.getPinning().isEnabled() ? Set.of() : top.stream()
+                    .filter(hotKey -> hotKey.share() >= props.getPinning().getMinShare())
+                    .limit(props.getPinning().getMaxKeys())
+                    .map(HotKey::key)
+                    .collect(Collectors.toSet());
+            PINNED_CACHES.get(dimension).forEach(cacheName -> pinnedKeys.pin(cacheName, pins));
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh the hot keys: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * A heavy hitter.
+     *
+     * @param key the product ID.
+     * @param estimate the estimated number of recent lookups of the key (an upper bound).
+     * @param share the estimated share of the recent lookups of its dimension.
+     * @param pinned whether the key is pinned in the in-process cache tier.
+     */
+    public record HotKey(String key, long estimate, double share, boolean pinned) {
+    }
+}
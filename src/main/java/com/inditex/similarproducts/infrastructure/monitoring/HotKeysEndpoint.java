@@ -0,0 +1,31 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hotkeys}: the heaviest product IDs of every {@link HotKeyTracker} dimension, and
+ * {@code /actuator/hotkeys/{dimension}} for a single one.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+    private final HotKeyTracker hotKeys;
+
+    @ReadOperation
+    public Map<String, List<HotKeyTracker.HotKey>> hotKeys() {
+        return hotKeys.top();
+    }
+
+    @ReadOperation
+    public List<HotKeyTracker.HotKey> hotKeys(@Selector String dimension) {
+        return hotKeys.top(dimension);
+    }
+}
@@ -1,7 +1,14 @@
 package com.inditex.similarproducts.infrastructure.monitoring;
 
+import java.util.List;
+
 public class MetricsEndpoint {
     public static final String PRODUCT_DETAIL = "product_detail";
     public static final String SIMILAR_IDS = "similar_ids";
     public static final String SIMILAR_PRODUCTS = "similar_products";
+    public static final String SIMILAR_PRODUCTS_BATCH = "similar_products_batch";
+
+    /** Every flow above; their meters are registered up front by the {@link MetricsRecorder}. */
+    public static final List<String> FLOWS = List.of(PRODUCT_DETAIL, SIMILAR_IDS, SIMILAR_PRODUCTS,
+            SIMILAR_PRODUCTS_BATCH);
 }
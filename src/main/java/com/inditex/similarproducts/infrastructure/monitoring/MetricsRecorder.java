@@ -1,26 +1,167 @@
 package com.inditex.similarproducts.infrastructure.monitoring;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the metrics of the service. The request counters of every (flow, {@link MetricsType}) and the latency
+ * timers of every flow of {@link MetricsEndpoint#FLOWS} are registered once, up front, and looked up without
+ * locking nor allocating on the hot path. Percentile histograms of {@code api.latency} are configured through
+ * {@code management.metrics.distribution.*}.
+ */
 @Component
 public class MetricsRecorder {
     private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter[]> requestCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Counter>> refreshCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> entryAgeTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> notFoundHitCounters = new ConcurrentHashMap<>();
     private static final String KEY = "api.requests";
+    private static final String LATENCY_KEY = "api.latency";
     private static final String TAG_FLOW = "flow";
     private static final String TAG_TYPE = "type";
+    private static final String COALESCED_KEY = "cache.coalesced";
+    private static final String TAG_CACHE = "cache";
+    private static final String REFRESH_KEY = "cache.refresh";
+    private static final String TAG_RESULT = "result";
+    private static final String ENTRY_AGE_KEY = "cache.entry.age";
+    private static final String NOT_FOUND_HITS_KEY = "cache.not_found.hits";
+    private static final String ASSEMBLED_GETS_KEY = "cache.assembled.gets";
+    private static final String ENTRY_SIZE_KEY = "cache.entry.size";
 
     public MetricsRecorder(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
+        MetricsEndpoint.FLOWS.forEach(flow -> {
+            requestCounters(flow);
+            latencyTimer(flow);
+        });
     }
 
     public void recordRequest(String endpoint, MetricsType tag) {
-        Counter.builder(KEY)
-                .tag(TAG_FLOW, endpoint)
-                .tag(TAG_TYPE, tag.getValue())
-                .register(meterRegistry)
-                .increment();
+        requestCounters(endpoint)[tag.ordinal()].increment();
+    }
+
+    /**
+     * Records the latency of a flow.
+     *
+     * @param flow one of the {@link MetricsEndpoint} flows.
+     * @param startNanos the {@link System#nanoTime()} at which the flow started.
+     */
+    public void recordLatency(String flow, long startNanos) {
+        latencyTimer(flow).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter[] requestCounters(String flow) {
+        Counter[] counters = requestCounters.get(flow);
+        return counters != null ? counters : requestCounters.computeIfAbsent(flow, this::registerRequestCounters);
+    }
+
+    private Counter[] registerRequestCounters(String flow) {
+        MetricsType[] types = MetricsType.values();
+        Counter[] counters = new Counter[types.length];
+        for (MetricsType type : types) {
+            counters[type.ordinal()] = Counter.builder(KEY)
+                    .tag(TAG_FLOW, flow)
+                    .tag(TAG_TYPE, type.getValue())
+                    .register(meterRegistry);
+        }
+        return counters;
+    }
+
+    private Timer latencyTimer(String flow) {
+        Timer timer = latencyTimers.get(flow);
+        return timer != null ? timer : latencyTimers.computeIfAbsent(flow, key -> Timer.builder(LATENCY_KEY)
+                .tag(TAG_FLOW, key)
+                .register(meterRegistry));
+    }
+
+    public void recordCoalesced(String cacheName) {
+        Counter counter = coalescedCounters.get(cacheName);
+        if (counter == null) {
+            counter = coalescedCounters.computeIfAbsent(cacheName, key -> Counter.builder(COALESCED_KEY)
+                    .tag(TAG_CACHE, key)
+                    .register(meterRegistry));
+        }
+        counter.increment();
     }
 
+    public void recordCacheRefresh(String cacheName, String result) {
+        ConcurrentMap<String, Counter> counters = refreshCounters.get(cacheName);
+        if (counters == null) {
+            counters = refreshCounters.computeIfAbsent(cacheName, key -> new ConcurrentHashMap<>());
+        }
+        Counter counter = counters.get(result);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(result, key -> Counter.builder(REFRESH_KEY)
+                    .tag(TAG_CACHE, cacheName)
+                    .tag(TAG_RESULT, key)
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    /**
+     * Records the age of an entry read from a cache. Runs on every cache read, so the timer of each cache is
+     * registered once and looked up afterwards.
+     */
+    public void recordCacheEntryAge(String cacheName, Duration age) {
+        Timer timer = entryAgeTimers.get(cacheName);
+        if (timer == null) {
+            timer = entryAgeTimers.computeIfAbsent(cacheName, key -> Timer.builder(ENTRY_AGE_KEY)
+                    .tag(TAG_CACHE, key)
+                    .register(meterRegistry));
+        }
+        timer.record(age);
+    }
+
+    public void recordNotFoundHit(String cacheName) {
+        Counter counter = notFoundHitCounters.get(cacheName);
+        if (counter == null) {
+            counter = notFoundHitCounters.computeIfAbsent(cacheName, key -> Counter.builder(NOT_FOUND_HITS_KEY)
+                    .tag(TAG_CACHE, key)
+                    .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    /**
+     * Registers the counter of the hits, or of the misses, of a cache of assembled responses, to be kept by the
+     * adapter of that cache.
+     */
+    public Counter assembledCacheGets(String cacheName, boolean hit) {
+        return Counter.builder(ASSEMBLED_GETS_KEY)
+                .tag(TAG_CACHE, cacheName)
+                .tag(TAG_RESULT, hit ? "hit" : "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the meters of one tier of a cache, to be kept by the cache itself.
+     *
+     * @param cacheName the name of the cache.
+     * @param tier the tier, {@link CacheMeters#TIER_L1} or {@link CacheMeters#TIER_REDIS}.
+     */
+    public CacheMeters cacheMeters(String cacheName, String tier) {
+        return new CacheMeters(meterRegistry, cacheName, tier);
+    }
+
+    /**
+     * Registers the distribution of the serialized size of the entries written to a cache, to be kept by the cache.
+     */
+    public DistributionSummary cacheEntrySizes(String cacheName) {
+        return DistributionSummary.builder(ENTRY_SIZE_KEY)
+                .tag(TAG_CACHE, cacheName)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
 }
@@ -10,9 +10,11 @@ public enum MetricsType {
     ERROR("error"),
     BAD_REQUEST("bad_request"),
     NOT_FOUND("not_found"),
+    NOT_MODIFIED("not_modified"),
     FALLBACK("fallback"),
     SKIPPED_NOT_FOUND("skipped_not_found"),
-    SKIPPED_ERROR("skipped_error");
+    SKIPPED_ERROR("skipped_error"),
+    DEADLINE_EXCEEDED("deadline_exceeded");
 
     private final String value;
 
@@ -0,0 +1,169 @@
+package com.inditex.similarproducts.infrastructure.resilience;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.functions.Either;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Retries an upstream call, blocking or not, within the {@link Deadline} of the request it is made for.
+ * The policy (max attempts, retried exceptions, jittered exponential backoff) is the one of the resilience4j retry
+ * instance of the same name ({@code resilience4j.retry.instances.*}), but no attempt is started once the deadline
+ * has passed, and a retry whose backoff would not end before the deadline is not attempted: the last failure is
+ * rethrown instead of sleeping through the rest of the budget.
+ * Exported per retry instance as {@code upstream.retries} (retried or budget exhausted), {@code upstream.retry.budget}
+ * (the time left when a retry is considered) and {@code upstream.deadline.exceeded}.
+ */
+@Component
+@Slf4j
+public class DeadlineAwareRetry {
+    private static final String TAG_NAME = "name";
+    private static final String TAG_RESULT = "result";
+
+    private final RetryRegistry retryRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RetryMeters> meters = new ConcurrentHashMap<>();
+
+    public DeadlineAwareRetry(RetryRegistry retryRegistry, MeterRegistry meterRegistry) {
+        this.retryRegistry = retryRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code call}, retrying its failures while the policy and the deadline allow it.
+     *
+     * @param name the resilience4j retry instance whose policy applies.
+     * @param deadline the deadline of the request the call is made for.
+     * @param call the idempotent blocking call.
+     * @return the result of the first attempt that succeeds.
+     * @throws DeadlineExceededException if the deadline passed before or during an attempt.
+     */
+    public <T> T execute(String name, Deadline deadline, Supplier<T> call) {
+        RetryConfig config = retryRegistry.retry(name).getRetryConfig();
+        RetryMeters retryMeters = meters(name);
+        for (int attempt = 1; ; attempt++) {
+            if (deadline.isExpired()) {
+                retryMeters.deadlineExceeded.increment();
+                throw new DeadlineExceededException(String.format("Deadline exceeded before %s attempt %d", name, attempt));
+            }
+            try {
+                return call.get();
+            } catch (RuntimeException ex) {
+                Either<RuntimeException, Duration> next = onFailure(name, attempt, deadline, config, retryMeters, ex);
+                if (next.isLeft()) {
+                    throw next.getLeft();
+                }
+                try {
+                    Thread.sleep(next.get());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(String, Deadline, Supplier)}: every attempt subscribes to {@code call}
+     * again and is cut short when the deadline passes, and backoffs are delays instead of sleeps.
+     *
+     * @param call the idempotent call, subscribed to once per attempt.
+     * @return a {@link Mono} with the result of the first attempt that succeeds, failing with
+     * {@link DeadlineExceededException} if the deadline passed before or during an attempt.
+     */
+    public <T> Mono<T> execute(String name, Deadline deadline, Mono<T> call) {
+        return Mono.defer(() -> attempt(name, deadline, call, retryRegistry.retry(name).getRetryConfig(), meters(name), 1));
+    }
+
+    private <T> Mono<T> attempt(String name, Deadline deadline, Mono<T> call, RetryConfig config,
+                                RetryMeters retryMeters, int attempt) {
+        if (deadline.isExpired()) {
+            retryMeters.deadlineExceeded.increment();
+            return Mono.error(new DeadlineExceededException(
+                    String.format("Deadline exceeded before %s attempt %d", name, attempt)));
+        }
+        Mono<T> bounded = !deadline.isBounded() ? call : call.timeout(deadline.remaining(), Mono.error(() ->
+                new DeadlineExceededException(String.format("Deadline exceeded during %s attempt %d", name, attempt))));
+        return bounded.onErrorResume(RuntimeException.class, ex -> {
+            Either<RuntimeException, Duration> next = onFailure(name, attempt, deadline, config, retryMeters, ex);
+            return next.isLeft() ? Mono.error(next.getLeft()) : Mono.delay(next.get())
+                    .then(Mono.defer(() -> attempt(name, deadline, call, config, retryMeters, attempt + 1)));
+        });
+    }
+
+    /**
+     * Decides what follows a failed attempt.
+     *
+     * @return the backoff before the next attempt, or the failure to give up with: {@code failure} itself, or a
+     * {@link DeadlineExceededException} if the deadline passed during the attempt.
+     */
+    private Either<RuntimeException, Duration> onFailure(String name, int attempt, Deadline deadline,
+                                                         RetryConfig config, RetryMeters retryMeters,
+                                                         RuntimeException failure) {
+        if (failure instanceof DeadlineExceededException) {
+            retryMeters.deadlineExceeded.increment();
+            return Either.left(failure);
+        }
+        if (deadline.isExpired()) {
+            retryMeters.deadlineExceeded.increment();
+            return Either.left(new DeadlineExceededException(
+                    String.format("Deadline exceeded during %s attempt %d", name, attempt), failure));
+        }
+        if (attempt >= config.getMaxAttempts() || !config.getExceptionPredicate().test(failure)) {
+            return Either.left(failure);
+        }
+        IntervalBiFunction<Object> interval = config.getIntervalBiFunction();
+        long waitMillis = interval.apply(attempt, Either.left(failure));
+        Duration remaining = deadline.remaining();
+        if (deadline.isBounded()) {
+            retryMeters.budget.record(remaining);
+        }
+        if (remaining.toMillis() <= waitMillis) {
+            retryMeters.budgetExhausted.increment();
+            log.warn("Not retrying {} after attempt {}: backoff of {} ms, {} ms left", name, attempt, waitMillis,
+                    remaining.toMillis());
+            return Either.left(failure);
+        }
+        retryMeters.retried.increment();
+        return Either.right(Duration.ofMillis(waitMillis));
+    }
+
+    private RetryMeters meters(String name) {
+        RetryMeters retryMeters = meters.get(name);
+        return retryMeters != null ? retryMeters : meters.computeIfAbsent(name, RetryMeters::new);
+    }
+
+    /**
+     * Meters of one retry instance.
+     */
+    private class RetryMeters {
+        private final Counter retried;
+        private final Counter budgetExhausted;
+        private final Counter deadlineExceeded;
+        private final Timer budget;
+
+        RetryMeters(String name) {
+            this.retried = Counter.builder("upstream.retries")
+                    .tag(TAG_NAME, name).tag(TAG_RESULT, "retried").register(meterRegistry);
+            this.budgetExhausted = Counter.builder("upstream.retries")
+                    .tag(TAG_NAME, name).tag(TAG_RESULT, "budget_exhausted").register(meterRegistry);
+            this.deadlineExceeded = Counter.builder("upstream.deadline.exceeded")
+                    .tag(TAG_NAME, name).register(meterRegistry);
+            this.budget = Timer.builder("upstream.retry.budget")
+                    .tag(TAG_NAME, name).register(meterRegistry);
+        }
+    }
+}
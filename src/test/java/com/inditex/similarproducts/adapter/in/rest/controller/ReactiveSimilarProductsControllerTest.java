@@ -0,0 +1,158 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.adapter.in.rest.error.ExceptionHandlerController;
+import com.inditex.similarproducts.application.port.in.ReactiveSimilarProductsUseCase;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.infrastructure.config.DeadlineProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveSimilarProductsController.class)
+@TestPropertySource(properties = "execution.mode=reactive")
+@Import({ExceptionHandlerController.class, DeadlineProperties.class})
+class ReactiveSimilarProductsControllerTest {
+    @Autowired MockMvc mvc;
+    @MockitoBean ReactiveSimilarProductsUseCase useCase;
+    @MockitoBean MetricsRecorder metrics;
+
+    @Test
+    void getSimilarProducts_ok() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any()))
+                .willReturn(Mono.just(List.of(new ProductDetail("1", "Name 1", 10.0, true))));
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].id").value("1"));
+    }
+
+    @Test
+    void getSimilarProducts_passesQueryAndProjectsFields() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(new SimilarProductsQuery(2, 4, true)), any()))
+                .willReturn(Mono.just(List.of(new ProductDetail("3", "Name 3", 30.0, true))));
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("offset", "2")
+                        .param("limit", "4")
+                        .param("availableOnly", "true")
+                        .param("fields", "price, id")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":\"3\",\"price\":30.0}]", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void getSimilarProducts_gatewayTimeout_whenDeadlineExceeded() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any()))
+                .willReturn(Mono.error(new DeadlineExceededException("too late")));
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(content().string("Request deadline exceeded"));
+    }
+
+    @Test
+    void getSimilarProducts_passesBoundedDeadline() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), any(), argThat(deadline -> deadline.isBounded() && !deadline.isExpired())))
+                .willReturn(Mono.just(List.of()));
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getSimilarProducts_badRequest_whenUnknownField() throws Exception {
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("fields", "id,color")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Unknown field 'color'")));
+
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void getSimilarProducts_badRequest_whenLimitNotPositive() throws Exception {
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void getSimilarProductsBatch_ok() throws Exception {
+        Map<String, SimilarProductsLookup> lookups = new LinkedHashMap<>();
+        lookups.put("1", SimilarProductsLookup.found("1", List.of(new ProductDetail("2", "Name 2", 20.0, true))));
+        lookups.put("3", SimilarProductsLookup.failed("3", new NotFoundException("Product not found")));
+        given(useCase.getSimilarProductsBatch(eq(List.of("1", "3")), any())).willReturn(Mono.just(lookups));
+
+        MvcResult result = mvc.perform(post("/product/similar:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[\"1\",\"3\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.status").value(200))
+                .andExpect(jsonPath("$.1.products[0].id").value("2"))
+                .andExpect(jsonPath("$.3.status").value(404));
+    }
+
+    @Test
+    void getSimilarProductsBatch_badRequest_whenNoProductIds() throws Exception {
+        mvc.perform(post("/product/similar:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(useCase);
+    }
+}
@@ -1,29 +1,68 @@
 package com.inditex.similarproducts.adapter.in.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.adapter.in.rest.encoding.EncodedBodyCache;
 import com.inditex.similarproducts.application.port.in.SimilarProductsUseCase;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
 import com.inditex.similarproducts.adapter.in.rest.error.ExceptionHandlerController;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.config.DeadlineProperties;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import com.inditex.similarproducts.infrastructure.config.ResponseCacheProperties;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SimilarProductsController.class)
-@Import(ExceptionHandlerController.class)
+@Import({ExceptionHandlerController.class, DeadlineProperties.class, EncodedBodyCache.class,
+        ResponseCacheProperties.class, SimpleMeterRegistry.class, FanOutExecutor.class, FanOutProperties.class})
 class SimilarProductsControllerTest {
     @Autowired MockMvc mvc;
     @MockitoBean SimilarProductsUseCase useCase;
     @MockitoBean MetricsRecorder metrics;
+    @Autowired ObjectMapper objectMapper;
 
     @Test
     void getSimilarProducts_ok() throws Exception {
@@ -31,7 +70,7 @@ class SimilarProductsControllerTest {
                 new ProductDetail("1", "Name 1", 10.0, true),
                 new ProductDetail("2", "Name 2", 20.0, false)
         );
-        given(useCase.getSimilarProducts("10")).willReturn(payload);
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any())).willReturn(payload);
 
         mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -42,4 +81,273 @@ class SimilarProductsControllerTest {
                 .andExpect(jsonPath("$[1].availability").value(false));
     }
 
+    @Test
+    void getSimilarProducts_notModified_whenIfNoneMatchesETag() throws Exception {
+        List<ProductDetail> payload = List.of(new ProductDetail("1", "Name 1", 10.0, true));
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any())).willReturn(payload);
+        String etag = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getSimilarProducts_newETag_whenProductsChange() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any()))
+                .willReturn(List.of(new ProductDetail("1", "Name 1", 10.0, true)));
+        String etag = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any()))
+                .willReturn(List.of(new ProductDetail("1", "Name 1", 10.5, true)));
+
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$[0].price").value(10.5));
+    }
+
+    @Test
+    void getSimilarProducts_gzip_whenAccepted() throws Exception {
+        List<ProductDetail> payload = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new ProductDetail(String.valueOf(i), "Name " + i, i * 10.0, true))
+                .toList();
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any())).willReturn(payload);
+
+        byte[] body = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(input.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(payload));
+        }
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[9].id").value("10"));
+    }
+
+    @Test
+    void getSimilarProducts_etagOfCoding_andNotModifiedVaryingByEncoding() throws Exception {
+        List<ProductDetail> payload = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new ProductDetail(String.valueOf(i), "Name " + i, i * 10.0, true))
+                .toList();
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any())).willReturn(payload);
+        String identity = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String gzip = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(gzip).isEqualTo(identity.substring(0, identity.length() - 1) + "-gzip\"");
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzip))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void streamSimilarProducts_ndjson() throws Exception {
+        given(useCase.streamSimilarProducts(eq("10"), any(), any())).willAnswer(inv -> {
+            Consumer<ProductDetail> onProduct = inv.getArgument(2);
+            onProduct.accept(new ProductDetail("2", "Name 2", 20.0, false));
+            onProduct.accept(new ProductDetail("1", "Name 1", 10.0, true));
+            return new SimilarProductsSummary("SUCCESS", 2, 2);
+        });
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":\"2\",\"name\":\"Name 2\",\"price\":20.0,\"availability\":false}\n"
+                                + "{\"id\":\"1\",\"name\":\"Name 1\",\"price\":10.0,\"availability\":true}\n"
+                                + "{\"outcome\":\"SUCCESS\",\"requested\":2,\"returned\":2}\n"));
+    }
+
+    @Test
+    void streamSimilarProducts_serverSentEvents() throws Exception {
+        given(useCase.streamSimilarProducts(eq("10"), any(), any())).willAnswer(inv -> {
+            Consumer<ProductDetail> onProduct = inv.getArgument(2);
+            onProduct.accept(new ProductDetail("1", "Name 1", 10.0, true));
+            return new SimilarProductsSummary("PARTIAL_SUCCESS", 2, 1);
+        });
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(
+                        "event:product\ndata:{\"id\":\"1\",\"name\":\"Name 1\",\"price\":10.0,\"availability\":true}\n\n"
+                                + "event:summary\ndata:{\"outcome\":\"PARTIAL_SUCCESS\",\"requested\":2,\"returned\":1}\n\n"));
+    }
+
+    @Test
+    void streamSimilarProducts_notFound() throws Exception {
+        given(useCase.streamSimilarProducts(eq("10"), any(), any())).willThrow(new NotFoundException("not found"));
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamSimilarProducts_shouldStopProducing_whenResponseTimesOut() throws Exception {
+        CountDownLatch producing = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        given(useCase.streamSimilarProducts(eq("10"), any(), any())).willAnswer(inv -> {
+            producing.countDown();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                stopped.countDown();
+            }
+            return new SimilarProductsSummary("SUCCESS", 0, 0);
+        });
+
+        MvcResult result = mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(producing.await(5, TimeUnit.SECONDS)).isTrue();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void getSimilarProducts_deadlineExceeded() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(SimilarProductsQuery.ALL), any())).willThrow(new DeadlineExceededException("too late"));
+
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(content().string("Request deadline exceeded"));
+    }
+
+    @Test
+    void getSimilarProducts_passesBoundedDeadline() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), any(), argThat(deadline -> deadline.isBounded() && !deadline.isExpired())))
+                .willReturn(List.of());
+
+        mvc.perform(get("/product/{productId}/similar", "10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void getSimilarProducts_passesSliceAndProjectsFields() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"), eq(new SimilarProductsQuery(2, 4, true)), any()))
+                .willReturn(List.of(new ProductDetail("3", "Name 3", 30.0, true)));
+
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("offset", "2")
+                        .param("limit", "4")
+                        .param("availableOnly", "true")
+                        .param("fields", "price, id")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":\"3\",\"price\":30.0}]", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void getSimilarProducts_passesUnlimitedQuery_whenOffsetWithoutLimit() throws Exception {
+        given(useCase.getSimilarProducts(eq("10"),
+                eq(new SimilarProductsQuery(2, SimilarProductsQuery.UNLIMITED, false)), any()))
+                .willReturn(List.of(new ProductDetail("3", "Name 3", 30.0, true)));
+
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("offset", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("3"));
+    }
+
+    @Test
+    void getSimilarProducts_badRequest_whenUnknownField() throws Exception {
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("fields", "id,color")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Unknown field 'color'")));
+
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void getSimilarProducts_badRequest_whenLimitNotPositive() throws Exception {
+        mvc.perform(get("/product/{productId}/similar", "10")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void getSimilarProductsBatch_ok() throws Exception {
+        Map<String, SimilarProductsLookup> lookups = new LinkedHashMap<>();
+        lookups.put("1", SimilarProductsLookup.found("1", List.of(new ProductDetail("2", "Name 2", 20.0, true))));
+        lookups.put("3", SimilarProductsLookup.failed("3", new NotFoundException("not found")));
+        lookups.put("4", SimilarProductsLookup.failed("4", new DeadlineExceededException("too late")));
+        given(useCase.getSimilarProductsBatch(eq(List.of("1", "3", "4", "1")), any())).willReturn(lookups);
+
+        mvc.perform(post("/product/similar:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[\"1\",\"3\",\"4\",\"1\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.status").value(200))
+                .andExpect(jsonPath("$.1.products[0].id").value("2"))
+                .andExpect(jsonPath("$.1.error").doesNotExist())
+                .andExpect(jsonPath("$.3.status").value(404))
+                .andExpect(jsonPath("$.3.products").isEmpty())
+                .andExpect(jsonPath("$.3.error").value("Product not found"))
+                .andExpect(jsonPath("$.4.status").value(504));
+    }
+
+    @Test
+    void getSimilarProductsBatch_badRequest_whenNoProductIds() throws Exception {
+        mvc.perform(post("/product/similar:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The 'productIds' list is required"));
+    }
+
+    @Test
+    void getSimilarProductsBatch_badRequest_whenTooManyProductIds() throws Exception {
+        String ids = IntStream.rangeClosed(1, SimilarProductsBatchRequest.MAX_PRODUCT_IDS + 1)
+                .mapToObj(i -> "\"" + i + "\"")
+                .collect(Collectors.joining(","));
+
+        mvc.perform(post("/product/similar:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,66 @@
+package com.inditex.similarproducts.adapter.in.rest.controller;
+
+import com.inditex.similarproducts.adapter.in.rest.encoding.ContentEncoding;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarProductsETagTest {
+    private static final List<ProductDetail> PRODUCTS = List.of(
+            new ProductDetail("1", "Shirt", 9.99, true),
+            new ProductDetail("2", "Jeans", 19.99, false));
+
+    @Test
+    void of_shouldBeAQuotedStrongETag_stableForEqualProducts() {
+        String etag = SimilarProductsETag.of(SimilarProductsQuery.ALL, null, PRODUCTS);
+
+        assertTrue(etag.matches("\"[0-9a-f]{16}\""), etag);
+        assertEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL, null, List.copyOf(PRODUCTS)));
+    }
+
+    @Test
+    void of_shouldChangeWithAnyFieldOrderSliceOrProjection() {
+        String etag = SimilarProductsETag.of(SimilarProductsQuery.ALL, null, PRODUCTS);
+
+        assertNotEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL, null,
+                List.of(PRODUCTS.get(1), PRODUCTS.get(0))));
+        assertNotEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL, null,
+                List.of(PRODUCTS.get(0), new ProductDetail("2", "Jeans", 19.99, true))));
+        assertNotEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL, null,
+                List.of(PRODUCTS.get(0), new ProductDetail("2", "Jeanz", 19.99, false))));
+        assertNotEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL, null,
+                List.of(new ProductDetail("12", "Shirt", 9.99, true), new ProductDetail("", "Jeans", 19.99, false))));
+        assertNotEquals(etag, SimilarProductsETag.of(new SimilarProductsQuery(0, 2, false), null, PRODUCTS));
+        assertNotEquals(etag, SimilarProductsETag.of(SimilarProductsQuery.ALL,
+                EnumSet.of(ProductDetailField.ID), PRODUCTS));
+    }
+
+    @Test
+    void matches_shouldCompareWeakly_andAcceptListsAndWildcard() {
+        String etag = SimilarProductsETag.of(SimilarProductsQuery.ALL, null, PRODUCTS);
+
+        assertTrue(SimilarProductsETag.matches(etag, etag));
+        assertTrue(SimilarProductsETag.matches("\"a\", W/" + etag, etag));
+        assertTrue(SimilarProductsETag.matches("*", etag));
+        assertFalse(SimilarProductsETag.matches("\"a\"", etag));
+        assertFalse(SimilarProductsETag.matches(null, etag));
+    }
+
+    @Test
+    void match_shouldAcceptETagOfAnyCoding_andReturnIt() {
+        String etag = SimilarProductsETag.of(SimilarProductsQuery.ALL, null, PRODUCTS);
+        String brotli = ContentEncoding.BROTLI.etag(etag);
+
+        assertEquals(etag.substring(0, etag.length() - 1) + "-br\"", brotli);
+        assertEquals(brotli, SimilarProductsETag.match("\"a\", " + brotli, etag));
+        assertEquals("W/" + ContentEncoding.GZIP.etag(etag),
+                SimilarProductsETag.match("W/" + ContentEncoding.GZIP.etag(etag), etag));
+        assertEquals(etag, SimilarProductsETag.match("*", etag));
+        assertNull(SimilarProductsETag.match(etag.substring(0, etag.length() - 1) + "-deflate\"", etag));
+    }
+}
@@ -0,0 +1,87 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedBodyCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponseCacheProperties props = new ResponseCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ProductDetail> products = IntStream.rangeClosed(1, 10)
+            .mapToObj(i -> new ProductDetail(String.valueOf(i), "Name " + i, i * 10.0, i % 2 == 0))
+            .toList();
+    private EncodedBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EncodedBodyCache(objectMapper, props, meterRegistry);
+    }
+
+    @Test
+    void get_reusesBody_whileETagIsUnchanged() {
+        EncodedBody first = cache.get("10", "\"a\"", products);
+        EncodedBody second = cache.get("10", "\"a\"", List.of());
+
+        assertThat(second).isSameAs(first);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void get_rebuildsBody_whenETagChanges() throws IOException {
+        cache.get("10", "\"a\"", products);
+        EncodedBody changed = cache.get("10", "\"b\"", products.subList(0, 9));
+
+        assertThat(changed.etag()).isEqualTo("\"b\"");
+        assertThat(changed.bytes(ContentEncoding.IDENTITY))
+                .isEqualTo(objectMapper.writeValueAsBytes(products.subList(0, 9)));
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void get_compressesBody() throws IOException {
+        EncodedBody body = cache.get("10", "\"a\"", products);
+
+        byte[] json = objectMapper.writeValueAsBytes(products);
+        assertThat(body.bytes(ContentEncoding.IDENTITY)).isEqualTo(json);
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body.bytes(ContentEncoding.GZIP)))) {
+            assertThat(input.readAllBytes()).isEqualTo(json);
+        }
+        assertThat(body.bytes(ContentEncoding.GZIP).length).isLessThan(json.length);
+        assertThat(body.variants().containsKey(ContentEncoding.BROTLI)).isEqualTo(ContentEncoding.BROTLI.isAvailable());
+    }
+
+    @Test
+    void get_doesNotCompressSmallBodies() {
+        EncodedBody body = cache.get("10", "\"a\"", products.subList(0, 1));
+
+        assertThat(body.variants()).containsOnlyKeys(ContentEncoding.IDENTITY);
+    }
+
+    @Test
+    void get_buildsEveryTime_whenDisabled() {
+        props.setEnabled(false);
+
+        EncodedBody first = cache.get("10", "\"a\"", products);
+        EncodedBody second = cache.get("10", "\"a\"", products);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(count("hit") + count("miss")).isZero();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("response.body.cache").tag("result", result).counter().count();
+    }
+}
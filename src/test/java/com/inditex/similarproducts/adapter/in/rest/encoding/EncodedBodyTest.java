@@ -0,0 +1,53 @@
+package com.inditex.similarproducts.adapter.in.rest.encoding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedBodyTest {
+    private final EncodedBody body = body(ContentEncoding.IDENTITY, ContentEncoding.GZIP, ContentEncoding.BROTLI);
+
+    @Test
+    void negotiate_identity_whenNoAcceptEncoding() {
+        assertThat(body.negotiate(null)).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(body.negotiate(" ")).isEqualTo(ContentEncoding.IDENTITY);
+    }
+
+    @Test
+    void negotiate_prefersBrotli_onTies() {
+        assertThat(body.negotiate("gzip, deflate, br, zstd")).isEqualTo(ContentEncoding.BROTLI);
+        assertThat(body.negotiate("*")).isEqualTo(ContentEncoding.BROTLI);
+    }
+
+    @Test
+    void negotiate_honoursQualityValues() {
+        assertThat(body.negotiate("br;q=0.5, gzip;q=0.8")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(body.negotiate("br;q=0, gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(body.negotiate("gzip;q=0.5, identity")).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(body.negotiate("*;q=0.5, identity;q=0.1")).isEqualTo(ContentEncoding.BROTLI);
+    }
+
+    @Test
+    void negotiate_skipsMissingVariants() {
+        EncodedBody gzipOnly = body(ContentEncoding.IDENTITY, ContentEncoding.GZIP);
+        assertThat(gzipOnly.negotiate("br, gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(gzipOnly.negotiate("br")).isEqualTo(ContentEncoding.IDENTITY);
+        assertThat(body(ContentEncoding.IDENTITY).negotiate("gzip")).isEqualTo(ContentEncoding.IDENTITY);
+    }
+
+    @Test
+    void size_sumsVariants() {
+        assertThat(body.size()).isEqualTo(6);
+    }
+
+    private static EncodedBody body(ContentEncoding... encodings) {
+        Map<ContentEncoding, byte[]> variants = new EnumMap<>(ContentEncoding.class);
+        for (ContentEncoding encoding : encodings) {
+            variants.put(encoding, new byte[]{1, 2});
+        }
+        return new EncodedBody("\"etag\"", variants);
+    }
+}
@@ -1,8 +1,11 @@
 package com.inditex.similarproducts.adapter.in.rest.error;
 
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
 import com.inditex.similarproducts.domain.exception.ExternalServiceException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -47,6 +50,14 @@ class ExceptionHandlerControllerTest {
         verify(metrics).recordRequest(anyString(), any());
     }
 
+    @Test
+    void handleDeadlineExceeded_returns504(){
+        ResponseEntity<String> resp = advice.handleDeadlineExceeded(new DeadlineExceededException("too late"));
+        assertThat(resp.getStatusCode().value()).isEqualTo(504);
+        assertThat(resp.getBody()).contains("Request deadline exceeded");
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.DEADLINE_EXCEEDED);
+    }
+
     @Test
     void handleGeneric_returns500(){
         ResponseEntity<String> resp = advice.handleGeneric(new RuntimeException("internal error"));
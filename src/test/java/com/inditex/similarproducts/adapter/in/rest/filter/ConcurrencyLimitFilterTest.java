@@ -0,0 +1,93 @@
+package com.inditex.similarproducts.adapter.in.rest.filter;
+
+import com.inditex.similarproducts.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.inditex.similarproducts.infrastructure.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties props = new ConcurrencyLimitProperties();
+        props.setInitialLimit(1);
+        props.setMinLimit(1);
+        props.setRetryAfter(Duration.ofSeconds(2));
+        limiter = new AdaptiveConcurrencyLimiter(props, new SimpleMeterRegistry());
+        filter = new ConcurrencyLimitFilter(limiter, props);
+    }
+
+    @Test
+    void doFilter_shouldReleaseSlot_whenRequestCompletes() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/product/1/similar"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_shouldReject_whenLimitIsReached() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> fail("The request should not reach the controller");
+
+        filter.doFilter(request("/product/1/similar"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals("Service overloaded, retry later", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_shouldLimitBatchEndpoint() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/product/similar:batch"), response,
+                (req, res) -> fail("The request should not reach the controller"));
+
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void doFilter_shouldNotLimitOtherPaths() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/actuator/prometheus"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_shouldKeepSlot_untilAsyncProcessingCompletes() throws Exception {
+        MockHttpServletRequest request = request("/product/1/similar");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertEquals(1, limiter.getInFlight());
+
+        request.getAsyncContext().complete();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,117 @@
+package com.inditex.similarproducts.adapter.out.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import com.inditex.similarproducts.infrastructure.config.MockApiProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockProductAdapterTest {
+    private static final Deadline DEADLINE = Deadline.after(Duration.ofMinutes(1));
+
+    private MockApiProperties props;
+
+    private FanOutExecutor fanOutExecutor;
+
+    @BeforeEach
+    void setUp() {
+        props = new MockApiProperties();
+        fanOutExecutor = new FanOutExecutor(new FanOutProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.destroy();
+    }
+
+    @Test
+    void shouldAnswerFromTheFile() throws IOException {
+        MockProductAdapter adapter = adapter();
+
+        assertEquals(new ProductDetail("1", "Shirt", 9.99, true), adapter.getProductDetail("1", DEADLINE));
+        assertEquals(List.of("2", "3"), adapter.getSimilarIds("1", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("4", DEADLINE));
+        assertThrows(ExternalServiceException.class, () -> adapter.getSimilarIds("5", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("unknown", DEADLINE));
+        assertEquals(List.of(), adapter.getSimilarIds("unknown", DEADLINE));
+    }
+
+    @Test
+    void shouldGenerateTheSameSyntheticCatalog_forTheSameSeed() throws IOException {
+        props.getCatalog().setSize(2_000_000);
+        props.getCatalog().setMinSimilarIds(3);
+        props.getCatalog().setMaxSimilarIds(5);
+        MockProductAdapter adapter = adapter();
+        MockProductAdapter other = adapter();
+
+        ProductDetail detail = adapter.getProductDetail("1999999", DEADLINE);
+        List<String> similarIds = adapter.getSimilarIds("1999999", DEADLINE);
+
+        assertEquals("1999999", detail.id());
+        assertEquals(detail, other.getProductDetail("1999999", DEADLINE));
+        assertEquals(similarIds, other.getSimilarIds("1999999", DEADLINE));
+        assertTrue(similarIds.size() >= 3 && similarIds.size() <= 5, "similar IDs: " + similarIds);
+        assertFalse(similarIds.contains("1999999"));
+        similarIds.forEach(id -> assertDoesNotThrow(() -> adapter.getProductDetail(id, DEADLINE)));
+        assertEquals(new ProductDetail("1", "Shirt", 9.99, true), adapter.getProductDetail("1", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("4", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("2000001", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("0100", DEADLINE));
+    }
+
+    @Test
+    void shouldInjectFaults() throws IOException {
+        props.getProductDetail().setErrorRate(1);
+        props.getSimilarIds().setNotFoundRate(1);
+        MockProductAdapter adapter = adapter();
+
+        assertThrows(ExternalServiceException.class, () -> adapter.getProductDetail("1", DEADLINE));
+        assertThrows(NotFoundException.class, () -> adapter.getSimilarIds("1", DEADLINE));
+    }
+
+    @Test
+    void shouldFailWhenTheLatencyOutlastsTheDeadline() throws IOException {
+        props.getProductDetail().getLatency().setMedian(Duration.ofSeconds(10));
+        MockProductAdapter adapter = adapter();
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class,
+                () -> adapter.getProductDetail("1", Deadline.after(Duration.ofMillis(50))));
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void getProductDetails_shouldLookUpConcurrently_andKeepOrder() throws IOException {
+        props.getProductDetail().getLatency().setMedian(Duration.ofMillis(200));
+        MockProductAdapter adapter = adapter();
+
+        long start = System.nanoTime();
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("3", "1", "4", "2", "1"), DEADLINE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("3", "1", "4", "2"), List.copyOf(result.keySet()));
+        assertTrue(result.get("3").isFound());
+        assertInstanceOf(NotFoundException.class, result.get("4").error());
+        assertTrue(elapsedMillis < 600, "expected concurrent lookups but took " + elapsedMillis + " ms");
+    }
+
+    private MockProductAdapter adapter() throws IOException {
+        return new MockProductAdapter(new ObjectMapper(), props, fanOutExecutor);
+    }
+}
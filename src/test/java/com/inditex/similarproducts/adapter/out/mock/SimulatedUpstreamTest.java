@@ -0,0 +1,88 @@
+package com.inditex.similarproducts.adapter.out.mock;
+
+import com.inditex.similarproducts.infrastructure.config.MockApiProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedUpstreamTest {
+    private static final long MILLIS = 1_000_000;
+
+    private final MockApiProperties props = new MockApiProperties();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final SimulatedUpstream upstream =
+            new SimulatedUpstream(props, () -> new SplittableRandom(7), clock::get);
+
+    @Test
+    void latency_shouldBeFixed() {
+        props.getProductDetail().getLatency().setMedian(Duration.ofMillis(20));
+
+        assertEquals(20 * MILLIS, upstream.latency(props.getProductDetail().getLatency()));
+    }
+
+    @Test
+    void latency_shouldBeLogNormalAroundTheMedian() {
+        MockApiProperties.Latency latency = latency(MockApiProperties.Distribution.LOGNORMAL);
+        SimulatedUpstream upstream = new SimulatedUpstream(props, seeded(), clock::get);
+
+        long[] samples = LongStream.range(0, 10_000).map(i -> upstream.latency(latency)).sorted().toArray();
+
+        assertEquals(20 * MILLIS, samples[samples.length / 2], 2 * MILLIS);
+        assertTrue(samples[samples.length * 99 / 100] > 50 * MILLIS);
+        assertTrue(samples[samples.length * 99 / 100] < 100 * MILLIS);
+    }
+
+    @Test
+    void latency_shouldHaveALongTail() {
+        MockApiProperties.Latency latency = latency(MockApiProperties.Distribution.LONG_TAIL);
+        latency.setTailProbability(0.02);
+        latency.setTailLatency(Duration.ofMillis(500));
+        SimulatedUpstream upstream = new SimulatedUpstream(props, seeded(), clock::get);
+
+        long[] samples = LongStream.range(0, 10_000).map(i -> upstream.latency(latency)).sorted().toArray();
+
+        assertEquals(20 * MILLIS, samples[samples.length / 2], 3 * MILLIS);
+        long tail = Arrays.stream(samples).filter(sample -> sample >= 500 * MILLIS).count();
+        assertTrue(tail > 100 && tail < 300, "tail samples: " + tail);
+        assertTrue(samples[samples.length - 1] <= latency.getMax().toNanos());
+    }
+
+    @Test
+    void latency_shouldBeStretchedDuringSlowdowns() {
+        props.getProductDetail().getLatency().setMedian(Duration.ofMillis(20));
+        props.getSlowdown().setEvery(Duration.ofMinutes(1));
+        props.getSlowdown().setDuration(Duration.ofSeconds(10));
+        props.getSlowdown().setFactor(5);
+
+        assertTrue(upstream.isSlowdown());
+        assertEquals(100 * MILLIS, upstream.latency(props.getProductDetail().getLatency()));
+        clock.set(Duration.ofSeconds(30).toNanos());
+        assertFalse(upstream.isSlowdown());
+        assertEquals(20 * MILLIS, upstream.latency(props.getProductDetail().getLatency()));
+        clock.set(Duration.ofSeconds(65).toNanos());
+        assertTrue(upstream.isSlowdown());
+    }
+
+    private MockApiProperties.Latency latency(MockApiProperties.Distribution distribution) {
+        MockApiProperties.Latency latency = new MockApiProperties.Latency();
+        latency.setDistribution(distribution);
+        latency.setMedian(Duration.ofMillis(20));
+        latency.setSigma(0.5);
+        return latency;
+    }
+
+    private static Supplier<RandomGenerator> seeded() {
+        SplittableRandom random = new SplittableRandom(7);
+        return () -> random;
+    }
+}
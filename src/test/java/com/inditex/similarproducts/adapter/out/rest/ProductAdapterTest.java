@@ -1,24 +1,67 @@
 package com.inditex.similarproducts.adapter.out.rest;
 
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
 import com.inditex.similarproducts.domain.exception.ExternalServiceException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.exception.ResponseTooLargeException;
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarIdsLookup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.infrastructure.cache.CacheEntry;
+import com.inditex.similarproducts.infrastructure.cache.CacheRefresher;
+import com.inditex.similarproducts.infrastructure.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.cache.RefreshAheadCache;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.concurrency.RequestHedger;
+import com.inditex.similarproducts.infrastructure.concurrency.SingleFlight;
 import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.HotKeyTracker;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import com.inditex.similarproducts.infrastructure.resilience.DeadlineAwareRetry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.HttpStatus.*;
 
 class ProductAdapterTest {
+    private static final Deadline DEADLINE = Deadline.after(Duration.ofMinutes(1));
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     @Mock
     private RestTemplate restTemplate;
@@ -30,6 +73,20 @@ class ProductAdapterTest {
 
     private ExternalApiProperties props;
 
+    private FanOutExecutor fanOutExecutor;
+
+    private Cache productDetailCache;
+
+    private Cache similarIdsCache;
+
+    @Mock
+    private HotKeyTracker hotKeys;
+
+    @Mock
+    private CacheRefresher cacheRefresher;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -37,7 +94,25 @@ class ProductAdapterTest {
         props.setBaseUrl("http://localhost:8080");
         props.setProductDetailPath("/product/{productId}");
         props.setSimilarIdsPath("/product/{productId}/similarids");
-        adapter = new ProductAdapter(restTemplate, props, metrics);
+        productDetailCache = new RefreshAheadCache(new ConcurrentMapCache("productDetail"), null, cacheRefresher, metrics);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        similarIdsCache = new RefreshAheadCache(new ConcurrentMapCache("similarIds"), null, cacheRefresher, metrics);
+        cacheManager.setCaches(List.of(productDetailCache, similarIdsCache,
+                new ConcurrentMapCache(NotFoundCache.CACHE_NAME)));
+        cacheManager.afterPropertiesSet();
+        fanOutExecutor = new FanOutExecutor(new FanOutProperties());
+        RetryRegistry retryRegistry = RetryRegistry.of(
+                RetryConfig.custom().maxAttempts(2).waitDuration(Duration.ofMillis(1))
+                        .ignoreExceptions(NotFoundException.class, ResponseTooLargeException.class).build());
+        adapter = new ProductAdapter(restTemplate, props, metrics, cacheManager, fanOutExecutor,
+                new DeadlineAwareRetry(retryRegistry, new SimpleMeterRegistry()), circuitBreakerRegistry,
+                new SingleFlight(metrics), cacheRefresher, new NotFoundCache(cacheManager, metrics),
+                new RequestHedger(props, new SimpleMeterRegistry()), hotKeys);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.destroy();
     }
 
     // --- Tests getProductDetail ---
@@ -45,52 +120,305 @@ class ProductAdapterTest {
     @Test
     void getProductDetail_shouldReturnProductDetail_whenApiReturnsOk() {
         ProductDetail mockDetail = new ProductDetail("123", "Test", 10.0, true);
-        when(restTemplate.getForObject(anyString(), eq(ProductDetail.class))).thenReturn(mockDetail);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(respond(mockDetail));
 
-        ProductDetail result = adapter.getProductDetail("123");
+        ProductDetail result = adapter.getProductDetail("123", DEADLINE);
 
         assertNotNull(result);
         assertEquals("123", result.id());
         verify(metrics).recordRequest(any(), eq(MetricsType.SUCCESS));
     }
 
+    @Test
+    void getProductDetail_shouldParseResponseBody() {
+        respondWith("{\"id\":\"123\",\"name\":\"Test\",\"price\":10.5,\"availability\":true,\"extra\":[1]}");
+
+        assertEquals(new ProductDetail("123", "Test", 10.5, true), adapter.getProductDetail("123", DEADLINE));
+    }
+
     @Test
     void getProductDetail_shouldThrowNotFoundException_whenApiReturns404() {
-        when(restTemplate.getForObject(anyString(), eq(ProductDetail.class)))
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
                 .thenThrow(new HttpClientErrorException(NOT_FOUND));
 
-        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("123"));
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("123", DEADLINE));
 
         verify(metrics).recordRequest(any(), eq(MetricsType.NOT_FOUND));
     }
 
+    @Test
+    void getProductDetail_shouldNotCallApiAgain_whenProductWasRecentlyNotFound() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpClientErrorException(NOT_FOUND));
+
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("123", DEADLINE));
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> adapter.getProductDetail("123", DEADLINE));
+
+        assertEquals("Product 123 not found", ex.getMessage());
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), any(), any());
+        verify(metrics).recordNotFoundHit("productDetail");
+    }
+
     @Test
     void getProductDetail_shouldThrowExternalServiceException_whenApiReturns500() {
-        when(restTemplate.getForObject(anyString(), eq(ProductDetail.class)))
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
                 .thenThrow(new HttpClientErrorException(INTERNAL_SERVER_ERROR));
 
-        assertThrows(ExternalServiceException.class, () -> adapter.getProductDetail("123"));
+        assertThrows(ExternalServiceException.class, () -> adapter.getProductDetail("123", DEADLINE));
 
-        verify(metrics).recordRequest(any(), eq(MetricsType.ERROR));
+        verify(metrics, times(2)).recordRequest(any(), eq(MetricsType.ERROR));
     }
 
     @Test
     void getProductDetail_shouldThrowExternalServiceException_whenUnexpectedError() {
-        when(restTemplate.getForObject(anyString(), eq(ProductDetail.class))).thenThrow(new RuntimeException("error"));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenThrow(new RuntimeException("error"));
 
-        assertThrows(ExternalServiceException.class, () -> adapter.getProductDetail("123"));
+        assertThrows(ExternalServiceException.class, () -> adapter.getProductDetail("123", DEADLINE));
 
-        verify(metrics).recordRequest(any(), eq(MetricsType.ERROR));
+        verify(metrics, times(2)).recordRequest(any(), eq(MetricsType.ERROR));
+    }
+
+    @Test
+    void getProductDetail_shouldNotRecordError_forCancelledHedgeLoser() {
+        props.getHedge().setEnabled(true);
+        props.getHedge().setDelay(Duration.ofMillis(20));
+        ProductDetail detail = new ProductDetail("123", "Test", 10.0, true);
+        AtomicInteger calls = new AtomicInteger();
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ResourceAccessException("I/O error: interrupted");
+                }
+            }
+            return respond(detail).answer(inv);
+        });
+
+        assertEquals(detail, adapter.getProductDetail("123", DEADLINE));
+
+        verify(metrics, after(200).never()).recordRequest(any(), eq(MetricsType.ERROR));
+        verify(metrics).recordRequest(any(), eq(MetricsType.SUCCESS));
+        verify(metrics).recordLatency(any(), anyLong());
+    }
+
+    @Test
+    void getProductDetail_shouldNotCallApi_whenDeadlineHasPassed() {
+        assertThrows(DeadlineExceededException.class,
+                () -> adapter.getProductDetail("123", Deadline.after(Duration.ZERO)));
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void refreshProductDetail_shouldKeepETagOfDownloadedDetail() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> extract(inv,
+                "{\"id\":\"123\",\"name\":\"Test\",\"price\":10.0,\"availability\":true}", HttpStatus.OK, "\"v1\""));
+
+        CacheEntry<?> refreshed = refreshLoader("productDetail").load("123", null);
+
+        assertEquals(new ProductDetail("123", "Test", 10.0, true), refreshed.value());
+        assertEquals("\"v1\"", refreshed.etag());
+    }
+
+    @Test
+    void refreshProductDetail_shouldRevalidateWithETagOfEntry_andKeepCachedDetailWhenNotModified() {
+        ProductDetail cached = new ProductDetail("123", "Test", 10.0, true);
+        List<List<String>> sentETags = new ArrayList<>();
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            sentETags.add(ifNoneMatch(inv));
+            return extract(inv, "", HttpStatus.NOT_MODIFIED, null);
+        });
+
+        CacheEntry<?> refreshed = refreshLoader("productDetail").load("123", new CacheEntry<>(cached, 42, "\"v1\""));
+
+        assertSame(cached, refreshed.value());
+        assertEquals("\"v1\"", refreshed.etag());
+        assertTrue(refreshed.writtenAt() > 42);
+        assertEquals(List.of(List.of("\"v1\"")), sentETags);
+        verify(metrics).recordRequest(any(), eq(MetricsType.NOT_MODIFIED));
+    }
+
+    @Test
+    void refreshSimilarIds_shouldDownloadChangedIds_withTheirNewETag() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(inv -> extract(inv, "[\"10\",\"30\"]", HttpStatus.OK, "\"v2\""));
+
+        CacheEntry<?> refreshed = refreshLoader("similarIds")
+                .load("123", new CacheEntry<>(List.of("10", "20"), 42, "\"v1\""));
+
+        assertEquals(List.of("10", "30"), refreshed.value());
+        assertEquals("\"v2\"", refreshed.etag());
+        verify(metrics).recordRequest(any(), eq(MetricsType.SUCCESS));
+    }
+
+    @Test
+    void refreshProductDetail_shouldNotSendIfNoneMatch_whenEntryHasNoETag() {
+        ProductDetail cached = new ProductDetail("123", "Test", 10.0, true);
+        List<List<String>> sentETags = new ArrayList<>();
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            sentETags.add(ifNoneMatch(inv));
+            return extract(inv, cached);
+        });
+
+        refreshLoader("productDetail").load("123", new CacheEntry<>(cached, 42));
+        adapter.getProductDetail("123", DEADLINE);
+
+        assertEquals(List.of(List.of(), List.of()), sentETags);
+    }
+
+    @Test
+    void refreshProductDetail_shouldRevalidateWithETagOfFirstDownload() {
+        List<List<String>> sentETags = new ArrayList<>();
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            sentETags.add(ifNoneMatch(inv));
+            return sentETags.size() == 1
+                    ? extract(inv, "{\"id\":\"123\",\"name\":\"Test\",\"price\":10.0,\"availability\":true}",
+                            HttpStatus.OK, "\"v1\"")
+                    : extract(inv, "", HttpStatus.NOT_MODIFIED, null);
+        });
+        adapter.getProductDetail("123", DEADLINE);
+        CacheEntry<?> stored = storedEntry(productDetailCache, "123");
+
+        CacheEntry<?> refreshed = refreshLoader("productDetail").load("123", stored);
+
+        assertEquals("\"v1\"", stored.etag());
+        assertEquals(List.of(List.of(), List.of("\"v1\"")), sentETags);
+        assertEquals("\"v1\"", refreshed.etag());
+    }
+
+    @Test
+    void refreshSimilarIds_shouldRevalidateWithETagOfBatchDownload() {
+        List<List<String>> sentETags = new ArrayList<>();
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            sentETags.add(ifNoneMatch(inv));
+            return sentETags.size() == 1
+                    ? extract(inv, "[\"10\",\"20\"]", HttpStatus.OK, "\"v1\"")
+                    : extract(inv, "", HttpStatus.NOT_MODIFIED, null);
+        });
+        adapter.getAllSimilarIds(List.of("123"), DEADLINE);
+
+        refreshLoader("similarIds").load("123", storedEntry(similarIdsCache, "123"));
+
+        assertEquals(List.of(List.of(), List.of("\"v1\"")), sentETags);
+    }
+
+    // --- Tests getProductDetails ---
+
+    @Test
+    void getProductDetails_shouldOnlyFetchMisses_andCacheFetchedDetails() {
+        ProductDetail cached = new ProductDetail("1", "Cached", 10.0, true);
+        ProductDetail fetched = new ProductDetail("2", "Fetched", 20.0, true);
+        productDetailCache.put("1", cached);
+        when(restTemplate.execute(eq("http://localhost:8080/product/2"), eq(HttpMethod.GET), any(), any())).thenAnswer(respond(fetched));
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("1", "2", "1"), DEADLINE);
+
+        assertEquals(List.of("1", "2"), List.copyOf(result.keySet()));
+        assertEquals(cached, result.get("1").detail());
+        assertEquals(fetched, result.get("2").detail());
+        assertEquals(fetched, productDetailCache.get("2", ProductDetail.class));
+        verify(restTemplate, never()).execute(eq("http://localhost:8080/product/1"), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void getProductDetails_shouldCountCachedAndFetchedLookupsAsHotKeys_unlikeSingleLookups() {
+        productDetailCache.put("1", new ProductDetail("1", "Cached", 10.0, true));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respond(new ProductDetail("2", "Fetched", 20.0, true)));
+
+        adapter.getProductDetail("2", DEADLINE);
+        adapter.getProductDetails(List.of("1", "2"), DEADLINE);
+
+        verify(hotKeys).recordAll(HotKeyTracker.PRODUCT_DETAIL, List.of("1", "2"));
+        verify(hotKeys, never()).record(anyString(), anyString());
+    }
+
+    @Test
+    void getProductDetails_shouldReportFailuresPerProduct_afterRetrying() {
+        when(restTemplate.execute(eq("http://localhost:8080/product/1"), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpClientErrorException(NOT_FOUND));
+        when(restTemplate.execute(eq("http://localhost:8080/product/2"), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpClientErrorException(INTERNAL_SERVER_ERROR));
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("1", "2"), DEADLINE);
+
+        assertInstanceOf(NotFoundException.class, result.get("1").error());
+        assertInstanceOf(ExternalServiceException.class, result.get("2").error());
+        assertNull(productDetailCache.get("1"));
+        verify(restTemplate, times(1)).execute(eq("http://localhost:8080/product/1"), eq(HttpMethod.GET), any(), any());
+        verify(restTemplate, times(2)).execute(eq("http://localhost:8080/product/2"), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void getProductDetails_shouldResolveRecentlyNotFoundProducts_withoutCallingApi() {
+        when(restTemplate.execute(eq("http://localhost:8080/product/1"), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpClientErrorException(NOT_FOUND));
+        adapter.getProductDetails(List.of("1"), DEADLINE);
+        clearInvocations(restTemplate);
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("1"), DEADLINE);
+
+        NotFoundException ex = assertInstanceOf(NotFoundException.class, result.get("1").error());
+        assertEquals("Product 1 not found", ex.getMessage());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getProductDetails_shouldFetchMissesConcurrently_andKeepOrder() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            String url = inv.getArgument(0);
+            String id = url.substring(url.lastIndexOf('/') + 1);
+            Thread.sleep(Long.parseLong(id));
+            return extract(inv, new ProductDetail(id, "P" + id, 1.0, true));
+        });
+
+        long start = System.nanoTime();
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("300", "200", "100"), DEADLINE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("300", "200", "100"), List.copyOf(result.keySet()));
+        assertTrue(elapsedMillis < 600, "expected concurrent fetch but took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void streamProductDetails_shouldHandOverCachedFirst_thenInCompletionOrder() {
+        productDetailCache.put("50", new ProductDetail("50", "Cached", 1.0, true));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(inv -> {
+            String url = inv.getArgument(0);
+            String id = url.substring(url.lastIndexOf('/') + 1);
+            Thread.sleep(Long.parseLong(id));
+            return extract(inv, new ProductDetail(id, "P" + id, 1.0, true));
+        });
+        List<String> resolved = new ArrayList<>();
+
+        adapter.streamProductDetails(List.of("300", "50", "100"), DEADLINE, lookup -> resolved.add(lookup.productId()));
+
+        assertEquals(List.of("50", "100", "300"), resolved);
+        assertNotNull(productDetailCache.get("300"));
+    }
+
+    @Test
+    void getProductDetails_shouldFailMisses_whenDeadlineHasPassed() {
+        productDetailCache.put("1", new ProductDetail("1", "A", 10.0, true));
+
+        Map<String, ProductDetailLookup> result =
+                adapter.getProductDetails(List.of("1", "2"), Deadline.after(Duration.ZERO));
+
+        assertTrue(result.get("1").isFound());
+        assertInstanceOf(DeadlineExceededException.class, result.get("2").error());
+        verifyNoInteractions(restTemplate);
     }
 
     // --- Tests getSimilarIds ---
 
     @Test
     void getSimilarIds_shouldReturnIds_whenApiReturnsOk() {
-        String[] mockResponse = {"10", "20", "30"};
-        when(restTemplate.getForObject(anyString(), eq(String[].class))).thenReturn(mockResponse);
+        List<String> mockResponse = List.of("10", "20", "30");
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(respond(mockResponse));
 
-        List<String> result = adapter.getSimilarIds("123");
+        List<String> result = adapter.getSimilarIds("123", DEADLINE);
 
         assertEquals(3, result.size());
         assertEquals(List.of("10", "20", "30"), result);
@@ -99,9 +427,9 @@ class ProductAdapterTest {
 
     @Test
     void getSimilarIds_shouldReturnEmptyList_whenApiReturnsNull() {
-        when(restTemplate.getForObject(anyString(), eq(String[].class))).thenReturn(null);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenAnswer(respond(null));
 
-        List<String> result = adapter.getSimilarIds("123");
+        List<String> result = adapter.getSimilarIds("123", DEADLINE);
 
         assertTrue(result.isEmpty());
         verify(metrics).recordRequest(any(), eq(MetricsType.SUCCESS));
@@ -109,40 +437,157 @@ class ProductAdapterTest {
 
     @Test
     void getSimilarIds_shouldThrowNotFoundException_whenApiReturns404() {
-        when(restTemplate.getForObject(anyString(), eq(String[].class)))
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
                 .thenThrow(new HttpClientErrorException(NOT_FOUND));
 
-        assertThrows(NotFoundException.class, () -> adapter.getSimilarIds("123"));
+        assertThrows(NotFoundException.class, () -> adapter.getSimilarIds("123", DEADLINE));
 
         verify(metrics).recordRequest(any(), eq(MetricsType.NOT_FOUND));
     }
 
     @Test
     void getSimilarIds_shouldThrowExternalServiceException_whenApiReturns500() {
-        when(restTemplate.getForObject(anyString(), eq(String[].class)))
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
                 .thenThrow(new HttpClientErrorException(INTERNAL_SERVER_ERROR));
 
-        assertThrows(ExternalServiceException.class, () -> adapter.getSimilarIds("123"));
+        assertThrows(ExternalServiceException.class, () -> adapter.getSimilarIds("123", DEADLINE));
 
-        verify(metrics).recordRequest(any(), eq(MetricsType.ERROR));
+        verify(metrics, times(2)).recordRequest(any(), eq(MetricsType.ERROR));
     }
 
     @Test
     void getSimilarIds_shouldThrowExternalServiceException_whenUnexpectedExceptionOccurs() {
-        when(restTemplate.getForObject(anyString(), eq(String[].class))).thenThrow(new RuntimeException("error"));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenThrow(new RuntimeException("error"));
+
+        assertThrows(ExternalServiceException.class, () -> adapter.getSimilarIds("123", DEADLINE));
+
+        verify(metrics, times(2)).recordRequest(any(), eq(MetricsType.ERROR));
+    }
+
+    @Test
+    void getSimilarIds_shouldParseResponseBody() {
+        respondWith("[\"10\", 20, null, \"30\"]");
+
+        assertEquals(List.of("10", "20", "30"), adapter.getSimilarIds("123", DEADLINE));
+    }
+
+    @Test
+    void getSimilarIds_shouldRejectOversizedResponse_withoutRetrying() {
+        props.setMaxSimilarIds(2);
+        respondWith("[\"10\", \"20\", \"30\"]");
 
-        assertThrows(ExternalServiceException.class, () -> adapter.getSimilarIds("123"));
+        ExternalServiceException ex = assertThrows(ResponseTooLargeException.class,
+                () -> adapter.getSimilarIds("123", DEADLINE));
 
+        assertEquals(HttpStatus.BAD_GATEWAY.value(), ex.getStatus());
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), any(), any());
         verify(metrics).recordRequest(any(), eq(MetricsType.ERROR));
+        assertNull(similarIdsCache.get("123"));
+    }
+
+    @Test
+    void getAllSimilarIds_shouldOnlyFetchMisses_andReportFailuresPerProduct() {
+        similarIdsCache.put("1", List.of("10", "11"));
+        when(restTemplate.execute(eq("http://localhost:8080/product/2/similarids"), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respond(List.of("11", "12")));
+        when(restTemplate.execute(eq("http://localhost:8080/product/3/similarids"), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpClientErrorException(NOT_FOUND));
+
+        Map<String, SimilarIdsLookup> result = adapter.getAllSimilarIds(List.of("1", "2", "3", "2"), DEADLINE);
+
+        assertEquals(List.of("1", "2", "3"), List.copyOf(result.keySet()));
+        assertEquals(List.of("10", "11"), result.get("1").similarIds());
+        assertEquals(List.of("11", "12"), result.get("2").similarIds());
+        assertInstanceOf(NotFoundException.class, result.get("3").error());
+        assertEquals(List.of("11", "12"), similarIdsCache.get("2", List.class));
+        verify(restTemplate, never()).execute(eq("http://localhost:8080/product/1/similarids"), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void getAllSimilarIds_shouldRecordFetchesInCircuitBreaker() {
+        when(restTemplate.execute(eq("http://localhost:8080/product/1/similarids"), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respond(List.of("10")));
+        when(restTemplate.execute(eq("http://localhost:8080/product/2/similarids"), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        adapter.getAllSimilarIds(List.of("1", "2"), DEADLINE);
+
+        CircuitBreaker.Metrics breakerMetrics = circuitBreakerRegistry.circuitBreaker("similarIds").getMetrics();
+        assertEquals(1, breakerMetrics.getNumberOfSuccessfulCalls());
+        assertEquals(1, breakerMetrics.getNumberOfFailedCalls());
+    }
+
+    @Test
+    void getAllSimilarIds_shouldFallBackWithoutCallingApi_whenCircuitBreakerIsOpen() {
+        circuitBreakerRegistry.circuitBreaker("similarIds").transitionToForcedOpenState();
+
+        Map<String, SimilarIdsLookup> result = adapter.getAllSimilarIds(List.of("1"), DEADLINE);
+
+        assertEquals(List.of(), result.get("1").similarIds());
+        assertNull(similarIdsCache.get("1"));
+        verify(metrics).recordRequest(any(), eq(MetricsType.FALLBACK));
+        verify(restTemplate, never()).execute(anyString(), any(HttpMethod.class), any(), any());
     }
 
     // --- Test fallback ---
 
     @Test
     void similarIdsFallback_shouldReturnEmptyList() {
-        List<String> result = adapter.similarIdsFallback("123", new RuntimeException("error"));
+        List<String> result = adapter.similarIdsFallback("123", DEADLINE, new RuntimeException("error"));
 
         assertTrue(result.isEmpty());
         verify(metrics).recordRequest(any(), eq(MetricsType.FALLBACK));
     }
+
+    /**
+     * Answers every API call by running the response extractor of the adapter on {@code body}.
+     */
+    private void respondWith(String body) {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(inv -> extract(inv, body, HttpStatus.OK, null));
+    }
+
+    /**
+     * Answers an API call with {@code body} serialized as JSON, nothing when {@code null}.
+     */
+    private static Answer<Object> respond(Object body) {
+        return inv -> extract(inv, body);
+    }
+
+    private static Object extract(InvocationOnMock inv, Object body) throws IOException {
+        return extract(inv, body == null ? "" : OBJECT_MAPPER.writeValueAsString(body), HttpStatus.OK, null);
+    }
+
+    private static Object extract(InvocationOnMock inv, String body, HttpStatus status, String etag) throws IOException {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        if (etag != null) {
+            response.getHeaders().setETag(etag);
+        }
+        ResponseExtractor<?> extractor = inv.getArgument(3);
+        return extractor.extractData(response);
+    }
+
+    /**
+     * @return the entry stored for {@code key} under the {@link RefreshAheadCache}, as the refresh gets it.
+     */
+    private static CacheEntry<?> storedEntry(Cache cache, String key) {
+        return (CacheEntry<?>) ((Map<?, ?>) cache.getNativeCache()).get(key);
+    }
+
+    /**
+     * @return the {@code If-None-Match} header sent by an API call.
+     */
+    private static List<String> ifNoneMatch(InvocationOnMock inv) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        RequestCallback callback = inv.getArgument(2);
+        callback.doWithRequest(request);
+        return request.getHeaders().getIfNoneMatch();
+    }
+
+    private CacheRefresher.RefreshLoader refreshLoader(String cacheName) {
+        adapter.registerRefreshLoaders();
+        ArgumentCaptor<CacheRefresher.RefreshLoader> loader = ArgumentCaptor.forClass(CacheRefresher.RefreshLoader.class);
+        verify(cacheRefresher).register(eq(cacheName), loader.capture());
+        return loader.getValue();
+    }
 }
@@ -0,0 +1,73 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.inditex.similarproducts.domain.exception.ResponseTooLargeException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponsesTest {
+
+    @Test
+    void readProductDetail_shouldReadFields_andSkipUnknownOnes() throws IOException {
+        ProductDetail detail = ProductResponses.readProductDetail(body(
+                "{\"id\":1,\"tags\":{\"a\":[1,2]},\"name\":\"Shirt\",\"price\":\"19.95\",\"availability\":true}"));
+
+        assertEquals(new ProductDetail("1", "Shirt", 19.95, true), detail);
+    }
+
+    @Test
+    void readProductDetail_shouldReturnNull_forEmptyBody() throws IOException {
+        assertNull(ProductResponses.readProductDetail(body("")));
+        assertNull(ProductResponses.readProductDetail(body("null")));
+    }
+
+    @Test
+    void readProductDetail_shouldRejectNonObjects() {
+        assertThrows(IOException.class, () -> ProductResponses.readProductDetail(body("[\"1\"]")));
+    }
+
+    @Test
+    void readSimilarIds_shouldReadIdsInOrder_skippingNulls() throws IOException {
+        List<String> ids = ProductResponses.readSimilarIds(body("[\"3\", 1, null, \"2\"]"), 10);
+
+        assertEquals(List.of("3", "1", "2"), ids);
+        assertThrows(UnsupportedOperationException.class, () -> ids.add("4"));
+    }
+
+    @Test
+    void readSimilarIds_shouldReturnEmptyList_forEmptyBodyOrArray() throws IOException {
+        assertEquals(List.of(), ProductResponses.readSimilarIds(body(""), 10));
+        assertEquals(List.of(), ProductResponses.readSimilarIds(body("[]"), 10));
+    }
+
+    @Test
+    void readSimilarIds_shouldAcceptUpToMaxIds() throws IOException {
+        assertEquals(List.of("1", "2", "3"), ProductResponses.readSimilarIds(body("[\"1\",\"2\",\"3\"]"), 3));
+    }
+
+    @Test
+    void readSimilarIds_shouldRejectOversizedArray_beforeReadingItAll() {
+        // the array is not even closed: the parser stops at the first ID past the limit
+        ResponseTooLargeException ex = assertThrows(ResponseTooLargeException.class,
+                () -> ProductResponses.readSimilarIds(body("[\"1\",\"2\",\"3\",\"4\""), 2));
+
+        assertEquals(502, ex.getStatus());
+    }
+
+    @Test
+    void readSimilarIds_shouldRejectNestedValues() {
+        assertThrows(IOException.class, () -> ProductResponses.readSimilarIds(body("[[\"1\"]]"), 10));
+        assertThrows(IOException.class, () -> ProductResponses.readSimilarIds(body("{\"ids\":[]}"), 10));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,287 @@
+package com.inditex.similarproducts.adapter.out.rest;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.infrastructure.cache.CacheEntry;
+import com.inditex.similarproducts.infrastructure.cache.CacheRefresher;
+import com.inditex.similarproducts.infrastructure.concurrency.SingleFlight;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import com.inditex.similarproducts.infrastructure.resilience.DeadlineAwareRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint.PRODUCT_DETAIL;
+import static com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint.SIMILAR_IDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveProductAdapterTest {
+    private static final Deadline DEADLINE = Deadline.after(Duration.ofMinutes(1));
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    @Mock
+    private ReactiveRedisTemplate<String, CacheEntry<ProductDetail>> productDetailRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, CacheEntry<ProductDetail>> productDetailOps;
+
+    @Mock
+    private ReactiveRedisTemplate<String, CacheEntry<List<String>>> similarIdsRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, CacheEntry<List<String>>> similarIdsOps;
+
+    @Mock
+    private ReactiveRedisTemplate<String, CacheEntry<String>> notFoundRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, CacheEntry<String>> notFoundOps;
+
+    @Mock
+    private CacheRefresher cacheRefresher;
+
+    private final Map<String, ClientResponse> responses = new ConcurrentHashMap<>();
+
+    private final Set<String> hanging = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private ReactiveProductAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ExternalApiProperties props = new ExternalApiProperties();
+        props.setBaseUrl("http://localhost:8080");
+        props.setProductDetailPath("/product/{productId}");
+        props.setSimilarIdsPath("/product/{productId}/similarids");
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setProductDetailTtl(Duration.ofMinutes(30));
+        cacheProperties.setSimilarIdsTtl(Duration.ofHours(1));
+        cacheProperties.setNotFoundTtl(Duration.ofMinutes(1));
+
+        when(productDetailRedisTemplate.opsForValue()).thenReturn(productDetailOps);
+        when(similarIdsRedisTemplate.opsForValue()).thenReturn(similarIdsOps);
+        when(productDetailOps.get(anyString())).thenReturn(Mono.empty());
+        when(similarIdsOps.get(anyString())).thenReturn(Mono.empty());
+        when(productDetailOps.set(anyString(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(similarIdsOps.set(anyString(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(notFoundRedisTemplate.opsForValue()).thenReturn(notFoundOps);
+        when(notFoundOps.get(anyString())).thenReturn(Mono.empty());
+        when(notFoundOps.multiGet(anyCollection())).thenAnswer(invocation ->
+                Mono.just(Arrays.asList(new CacheEntry<?>[invocation.<List<?>>getArgument(0).size()])));
+        when(notFoundOps.set(anyString(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    if (hanging.contains(request.url().getPath())) {
+                        return Mono.never();
+                    }
+                    ClientResponse response = responses.get(request.url().getPath());
+                    return Mono.just(response != null ? response : ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                })
+                .build();
+        RetryRegistry retryRegistry = RetryRegistry.of(
+                RetryConfig.custom().maxAttempts(2).waitDuration(Duration.ofMillis(1))
+                        .ignoreExceptions(NotFoundException.class).build());
+        adapter = new ReactiveProductAdapter(webClient, props, cacheProperties, new FanOutProperties(), metrics,
+                productDetailRedisTemplate, similarIdsRedisTemplate, notFoundRedisTemplate,
+                new DeadlineAwareRetry(retryRegistry, new SimpleMeterRegistry()),
+                new SingleFlight(metrics), cacheRefresher);
+    }
+
+    @Test
+    void getProductDetail_shouldFetchAndCache_whenNotCached() {
+        respond("/product/1", HttpStatus.OK, "{\"id\":\"1\",\"name\":\"A\",\"price\":10.0,\"availability\":true}");
+
+        ProductDetail result = adapter.getProductDetail("1", DEADLINE).block();
+
+        assertEquals(new ProductDetail("1", "A", 10.0, true), result);
+        verify(productDetailOps).set(eq("productDetail::1"), argThat(entry -> result.equals(entry.value())),
+                eq(Duration.ofMinutes(30)));
+        verify(metrics).recordRequest(PRODUCT_DETAIL, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void getProductDetail_shouldServeFromCache_withoutCallingApi() {
+        ProductDetail cached = new ProductDetail("1", "A", 10.0, true);
+        when(productDetailOps.get("productDetail::1")).thenReturn(Mono.just(CacheEntry.of(cached)));
+
+        assertEquals(cached, adapter.getProductDetail("1", DEADLINE).block());
+        assertEquals(0, calls.get());
+        verifyNoInteractions(cacheRefresher);
+    }
+
+    @Test
+    void getProductDetail_shouldServeStaleEntry_andScheduleRefresh() {
+        ProductDetail stale = new ProductDetail("1", "Old", 10.0, true);
+        long writtenAt = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        when(productDetailOps.get("productDetail::1")).thenReturn(Mono.just(new CacheEntry<>(stale, writtenAt)));
+
+        assertEquals(stale, adapter.getProductDetail("1", DEADLINE).block());
+        verify(cacheRefresher).refresh(eq("productDetail"), eq("1"), any(Runnable.class));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void getProductDetail_shouldThrowNotFound_whenApiReturns404() {
+        assertThrows(NotFoundException.class, () -> adapter.getProductDetail("1", DEADLINE).block());
+        verify(metrics).recordRequest(PRODUCT_DETAIL, MetricsType.NOT_FOUND);
+        verify(productDetailOps, never()).set(anyString(), any(), any(Duration.class));
+        verify(notFoundOps).set(eq("notFound::productDetail:1"),
+                argThat(entry -> "Product 1 not found".equals(entry.value())), eq(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void getProductDetail_shouldThrowNotFound_withoutCallingApi_whenRecentlyNotFound() {
+        when(notFoundOps.get("notFound::productDetail:1")).thenReturn(Mono.just(CacheEntry.of("Product 1 not found")));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> adapter.getProductDetail("1", DEADLINE).block());
+
+        assertEquals("Product 1 not found", ex.getMessage());
+        assertEquals(0, calls.get());
+        verify(metrics).recordNotFoundHit("productDetail");
+    }
+
+    @Test
+    void getProductDetail_shouldThrowExternalServiceException_withApiStatus_whenApiReturnsOther4xx() {
+        respond("/product/1", HttpStatus.BAD_REQUEST, "");
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class,
+                () -> adapter.getProductDetail("1", DEADLINE).block());
+
+        assertEquals(400, ex.getStatus());
+        // retried once (max-attempts 2)
+        verify(metrics, times(2)).recordRequest(PRODUCT_DETAIL, MetricsType.ERROR);
+    }
+
+    @Test
+    void getProductDetail_shouldThrowInternalError_whenApiReturns5xx() {
+        respond("/product/1", HttpStatus.SERVICE_UNAVAILABLE, "");
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class,
+                () -> adapter.getProductDetail("1", DEADLINE).block());
+
+        assertEquals(500, ex.getStatus());
+    }
+
+    @Test
+    void getProductDetail_shouldFailWithDeadlineExceeded_whenApiDoesNotAnswerInTime() {
+        hanging.add("/product/1");
+
+        assertThrows(DeadlineExceededException.class,
+                () -> adapter.getProductDetail("1", Deadline.after(Duration.ofMillis(50))).block(Duration.ofSeconds(5)));
+        assertEquals(1, calls.get());
+        verify(productDetailOps, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void getProductDetail_shouldNotCallApi_whenDeadlineHasPassed() {
+        assertThrows(DeadlineExceededException.class,
+                () -> adapter.getProductDetail("1", Deadline.after(Duration.ZERO)).block());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void getProductDetails_shouldReportDeadlineExceeded_forMissesNotFetchedInTime() {
+        when(productDetailOps.multiGet(List.of("productDetail::3", "productDetail::2")))
+                .thenReturn(Mono.just(Arrays.asList(null, null)));
+        respond("/product/2", HttpStatus.OK, "{\"id\":\"2\",\"name\":\"B\",\"price\":20.0,\"availability\":true}");
+        hanging.add("/product/3");
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("3", "2"),
+                Deadline.after(Duration.ofMillis(50))).block(Duration.ofSeconds(5));
+
+        assertEquals("B", result.get("2").detail().name());
+        assertInstanceOf(DeadlineExceededException.class, result.get("3").error());
+    }
+
+    @Test
+    void getSimilarIds_shouldFetchAndCache() {
+        respond("/product/1/similarids", HttpStatus.OK, "[\"2\",\"3\"]");
+
+        List<String> result = adapter.getSimilarIds("1", DEADLINE).block();
+
+        assertEquals(List.of("2", "3"), result);
+        verify(similarIdsOps).set(eq("similarIds::1"), argThat(entry -> List.of("2", "3").equals(entry.value())),
+                eq(Duration.ofHours(1)));
+        verify(metrics).recordRequest(SIMILAR_IDS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void similarIdsFallback_shouldReturnEmptyList() {
+        assertEquals(List.of(), adapter.similarIdsFallback("1", DEADLINE, new RuntimeException("error")).block());
+        verify(metrics).recordRequest(SIMILAR_IDS, MetricsType.FALLBACK);
+    }
+
+    @Test
+    void getProductDetails_shouldReadCacheInOneBatch_andOnlyFetchMisses() {
+        ProductDetail cached = new ProductDetail("2", "B", 20.0, true);
+        when(productDetailOps.multiGet(List.of("productDetail::3", "productDetail::2", "productDetail::4")))
+                .thenReturn(Mono.just(Arrays.asList(null, CacheEntry.of(cached), null)));
+        respond("/product/3", HttpStatus.OK, "{\"id\":\"3\",\"name\":\"C\",\"price\":30.0,\"availability\":true}");
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("3", "2", "4", "3"), DEADLINE).block();
+
+        assertEquals(List.of("3", "2", "4"), List.copyOf(result.keySet()));
+        assertEquals(cached, result.get("2").detail());
+        assertEquals("C", result.get("3").detail().name());
+        assertInstanceOf(NotFoundException.class, result.get("4").error());
+        verify(productDetailOps, never()).get(anyString());
+        verify(productDetailOps).set(eq("productDetail::3"), any(), eq(Duration.ofMinutes(30)));
+        // not found is not retried
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void getProductDetails_shouldResolveRecentlyNotFoundProducts_withoutCallingApi() {
+        when(productDetailOps.multiGet(List.of("productDetail::1"))).thenReturn(Mono.just(Arrays.asList((CacheEntry<ProductDetail>) null)));
+        when(notFoundOps.multiGet(List.of("notFound::productDetail:1")))
+                .thenReturn(Mono.just(List.of(CacheEntry.of("Product 1 not found"))));
+
+        Map<String, ProductDetailLookup> result = adapter.getProductDetails(List.of("1"), DEADLINE).block();
+
+        assertInstanceOf(NotFoundException.class, result.get("1").error());
+        assertEquals(0, calls.get());
+    }
+
+    private void respond(String path, HttpStatus status, String body) {
+        responses.put(path, ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
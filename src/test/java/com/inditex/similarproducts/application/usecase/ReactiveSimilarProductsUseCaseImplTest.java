@@ -0,0 +1,168 @@
+package com.inditex.similarproducts.application.usecase;
+
+import com.inditex.similarproducts.application.port.out.ReactiveProductPort;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveSimilarProductsUseCaseImplTest {
+    private static final Deadline DEADLINE = Deadline.after(Duration.ofMinutes(1));
+
+    @Mock
+    private ReactiveProductPort productAdapter;
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    private ReactiveSimilarProductsUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        useCase = new ReactiveSimilarProductsUseCaseImpl(productAdapter, metrics);
+    }
+
+    @Test
+    void getSimilarProducts_shouldReturnListInOrder_whenAllSuccess() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.just(List.of("3", "2")));
+        when(productAdapter.getProductDetails(List.of("3", "2"), DEADLINE)).thenReturn(Mono.just(Map.of(
+                "2", ProductDetailLookup.found("2", p2),
+                "3", ProductDetailLookup.found("3", p3))));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE).block();
+
+        assertEquals(List.of(p3, p2), result);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void getSimilarProducts_shouldSkipNotFoundAndErrorProducts() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        Map<String, ProductDetailLookup> lookups = new LinkedHashMap<>();
+        lookups.put("2", ProductDetailLookup.found("2", p2));
+        lookups.put("3", ProductDetailLookup.failed("3", new NotFoundException("not found")));
+        lookups.put("4", ProductDetailLookup.failed("4", new RuntimeException("error")));
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productAdapter.getProductDetails(List.of("2", "3", "4"), DEADLINE)).thenReturn(Mono.just(lookups));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE).block();
+
+        assertEquals(List.of(p2), result);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_ERROR);
+    }
+
+    @Test
+    void getSimilarProducts_withAvailableOnly_shouldLookUpFollowingIdsUntilLimit() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, false);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.just(List.of("9", "2", "3", "4", "5")));
+        when(productAdapter.getProductDetails(List.of("2", "3"), DEADLINE)).thenReturn(Mono.just(Map.of(
+                "2", ProductDetailLookup.found("2", p2),
+                "3", ProductDetailLookup.found("3", p3))));
+        when(productAdapter.getProductDetails(List.of("4"), DEADLINE)).thenReturn(Mono.just(Map.of(
+                "4", ProductDetailLookup.found("4", p4))));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(1, 2, true), DEADLINE).block();
+
+        assertEquals(List.of(p3, p4), result);
+        verify(productAdapter, never()).getProductDetails(List.of("5"), DEADLINE);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void getSimilarProducts_shouldPropagateNotFound_whenSimilarIdsNotFound() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.error(new NotFoundException("not found")));
+
+        assertThrows(NotFoundException.class, () -> useCase.getSimilarProducts("1", DEADLINE).block());
+        verify(productAdapter, never()).getProductDetails(anyList(), any());
+    }
+
+    @Test
+    void getSimilarProducts_shouldPropagateDeadlineExceeded_fromSimilarIds() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.error(new DeadlineExceededException("too late")));
+
+        assertThrows(DeadlineExceededException.class, () -> useCase.getSimilarProducts("1", DEADLINE).block());
+        verify(productAdapter, never()).getProductDetails(anyList(), any());
+    }
+
+    @Test
+    void getSimilarProducts_withQuery_shouldStopWalking_whenDeadlinePasses() {
+        Deadline expired = Deadline.after(Duration.ZERO);
+        when(productAdapter.getSimilarIds("1", expired)).thenReturn(Mono.just(List.of("2", "3")));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(0, 2, true), expired)
+                .block();
+
+        assertEquals(List.of(), result);
+        verify(productAdapter, never()).getProductDetails(anyList(), any());
+    }
+
+    @Test
+    void streamSimilarProducts_shouldHandOverProductsAsResolved_andReturnSummary() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productAdapter.streamProductDetails(List.of("2", "3", "4"), DEADLINE)).thenReturn(Flux.just(
+                ProductDetailLookup.found("3", p3),
+                ProductDetailLookup.failed("4", new RuntimeException("error")),
+                ProductDetailLookup.found("2", p2)));
+        List<ProductDetail> streamed = new ArrayList<>();
+
+        SimilarProductsSummary summary = useCase.streamSimilarProducts("1", DEADLINE, streamed::add).block();
+
+        assertEquals(List.of(p3, p2), streamed);
+        assertEquals(new SimilarProductsSummary("PARTIAL_SUCCESS", 3, 2), summary);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_ERROR);
+    }
+
+    @Test
+    void getSimilarProductsBatch_shouldLookUpSharedDetailsOnce_andReportFailuresPerProduct() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(Mono.just(List.of("2", "3")));
+        when(productAdapter.getSimilarIds("4", DEADLINE)).thenReturn(Mono.just(List.of("3")));
+        when(productAdapter.getSimilarIds("5", DEADLINE)).thenReturn(Mono.error(new NotFoundException("not found")));
+        when(productAdapter.getProductDetails(List.of("2", "3"), DEADLINE)).thenReturn(Mono.just(Map.of(
+                "2", ProductDetailLookup.found("2", p2),
+                "3", ProductDetailLookup.found("3", p3))));
+
+        Map<String, SimilarProductsLookup> result = useCase.getSimilarProductsBatch(List.of("1", "4", "5", "1"), DEADLINE).block();
+
+        assertEquals(List.of("1", "4", "5"), List.copyOf(result.keySet()));
+        assertEquals(List.of(p2, p3), result.get("1").products());
+        assertEquals(List.of(p3), result.get("4").products());
+        assertInstanceOf(NotFoundException.class, result.get("5").error());
+        verify(productAdapter, times(1)).getProductDetails(anyList(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.NOT_FOUND);
+        verify(metrics).recordLatency(eq(MetricsEndpoint.SIMILAR_PRODUCTS_BATCH), anyLong());
+    }
+}
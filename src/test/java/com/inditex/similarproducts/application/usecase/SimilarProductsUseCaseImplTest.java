@@ -1,60 +1,82 @@
 package com.inditex.similarproducts.application.usecase;
 
-import com.inditex.similarproducts.adapter.out.rest.ProductAdapter;
+import com.inditex.similarproducts.application.port.out.ProductPort;
+import com.inditex.similarproducts.application.port.out.SimilarProductsCachePort;
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
 import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
 import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.ProductDetailLookup;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.domain.model.SimilarProductsLookup;
+import com.inditex.similarproducts.domain.model.SimilarProductsQuery;
+import com.inditex.similarproducts.domain.model.SimilarProductsSummary;
+import com.inditex.similarproducts.infrastructure.monitoring.HotKeyTracker;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsEndpoint;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
 import com.inditex.similarproducts.infrastructure.monitoring.MetricsType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class SimilarProductsUseCaseImplTest {
+    private static final Deadline DEADLINE = Deadline.after(Duration.ofMinutes(1));
 
-    @Mock
-    private ProductAdapter productAdapter;
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private ProductPort productAdapter;
 
     @Mock
     private MetricsRecorder metrics;
 
+    @Mock
+    private SimilarProductsCachePort similarProductsCache;
+
+    @Mock
+    private HotKeyTracker hotKeys;
+
     private SimilarProductsUseCaseImpl useCase;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        useCase = new SimilarProductsUseCaseImpl(productAdapter, metrics);
+        useCase = new SimilarProductsUseCaseImpl(productAdapter, metrics, similarProductsCache, hotKeys);
     }
 
     @Test
     void getSimilarProducts_shouldReturnList_whenAllSuccess() {
         ProductDetail mainProduct = new ProductDetail("1", "A", 10.0, true);
-        when(productAdapter.getProductDetail("1")).thenReturn(mainProduct);
-        when(productAdapter.getSimilarIds("1")).thenReturn(List.of("2", "3"));
+        when(productAdapter.getProductDetail("1", DEADLINE)).thenReturn(mainProduct);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
         ProductDetail productB = new ProductDetail("2", "B", 20.0, true);
         ProductDetail productC = new ProductDetail("3", "C", 30.0, true);
-        when(productAdapter.getProductDetail("2")).thenReturn(productB);
-        when(productAdapter.getProductDetail("3")).thenReturn(productC);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(productB);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenReturn(productC);
 
-        List<ProductDetail> result = useCase.getSimilarProducts("1");
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
 
         assertEquals(List.of(productB, productC), result);
         verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+        verify(hotKeys).record(HotKeyTracker.SIMILAR_PRODUCTS, "1");
     }
 
     @Test
     void getSimilarProducts_shouldReturnEmpty_whenNoSimilarIds() {
         ProductDetail mainProduct = new ProductDetail("1", "A", 10.0, true);
-        when(productAdapter.getProductDetail("1")).thenReturn(mainProduct);
-        when(productAdapter.getSimilarIds("1")).thenReturn(List.of());
+        when(productAdapter.getProductDetail("1", DEADLINE)).thenReturn(mainProduct);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of());
 
-        List<ProductDetail> result = useCase.getSimilarProducts("1");
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
 
         assertTrue(result.isEmpty());
         verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.EMPTY);
@@ -63,14 +85,14 @@ class SimilarProductsUseCaseImplTest {
     @Test
     void getSimilarProducts_shouldSkipNotFoundProduct() {
         ProductDetail mainProduct = new ProductDetail("1", "C", 10.0, true);
-        when(productAdapter.getProductDetail("1")).thenReturn(mainProduct);
-        when(productAdapter.getSimilarIds("1")).thenReturn(List.of("2", "3"));
+        when(productAdapter.getProductDetail("1", DEADLINE)).thenReturn(mainProduct);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
 
         ProductDetail productB = new ProductDetail("2", "B", 20.0, true);
-        when(productAdapter.getProductDetail("2")).thenReturn(productB);
-        when(productAdapter.getProductDetail("3")).thenThrow(new NotFoundException("not found"));
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(productB);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new NotFoundException("not found"));
 
-        List<ProductDetail> result = useCase.getSimilarProducts("1");
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
 
         assertEquals(List.of(productB), result);
         verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
@@ -80,17 +102,258 @@ class SimilarProductsUseCaseImplTest {
     @Test
     void getSimilarProducts_shouldSkipErrorProduct() {
         ProductDetail mainProduct = new ProductDetail("1", "A", 10.0, true);
-        when(productAdapter.getProductDetail("1")).thenReturn(mainProduct);
-        when(productAdapter.getSimilarIds("1")).thenReturn(List.of("2", "3"));
+        when(productAdapter.getProductDetail("1", DEADLINE)).thenReturn(mainProduct);
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
 
         ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
-        when(productAdapter.getProductDetail("2")).thenReturn(p2);
-        when(productAdapter.getProductDetail("3")).thenThrow(new RuntimeException("error"));
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new RuntimeException("error"));
 
-        List<ProductDetail> result = useCase.getSimilarProducts("1");
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
 
         assertEquals(List.of(p2), result);
         verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
         verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_ERROR);
+        verify(similarProductsCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    void getSimilarProducts_shouldReturnPartialResponse_whenDeadlinePassesDuringFanOut() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new DeadlineExceededException("too late"));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
+
+        assertEquals(List.of(p2), result);
+        verify(similarProductsCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    void getSimilarProducts_shouldPropagateDeadlineExceeded_fromSimilarIds() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenThrow(new DeadlineExceededException("too late"));
+
+        assertThrows(DeadlineExceededException.class, () -> useCase.getSimilarProducts("1", DEADLINE));
+        verify(productAdapter, never()).getProductDetails(any(), any());
+    }
+
+    @Test
+    void getSimilarProducts_shouldCacheAssembledResponse_includingNotFoundIds() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new NotFoundException("not found"));
+
+        useCase.getSimilarProducts("1", DEADLINE);
+
+        verify(similarProductsCache).put("1", new SimilarProducts(List.of("2", "3"), List.of(p2)));
+    }
+
+    @Test
+    void getSimilarProducts_shouldServeCachedResponse_withoutCallingPort() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(similarProductsCache.get("1"))
+                .thenReturn(Optional.of(new SimilarProducts(List.of("2", "3"), List.of(p2))));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
+
+        assertEquals(List.of(p2), result);
+        verifyNoInteractions(productAdapter);
+        verify(similarProductsCache, never()).put(anyString(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+    }
+
+    @Test
+    void getSimilarProducts_shouldKeepOrderOfSimilarIds() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("4", "2", "3"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        doReturn(Map.of(
+                "2", ProductDetailLookup.found("2", p2),
+                "3", ProductDetailLookup.found("3", p3),
+                "4", ProductDetailLookup.found("4", p4)))
+                .when(productAdapter).getProductDetails(List.of("4", "2", "3"), DEADLINE);
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", DEADLINE);
+
+        assertEquals(List.of(p4, p2, p3), result);
+        verify(productAdapter, never()).getProductDetail(anyString(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void streamSimilarProducts_shouldHandOverFoundProducts_andReturnSummary() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "2"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new NotFoundException("not found"));
+        List<ProductDetail> streamed = new ArrayList<>();
+
+        SimilarProductsSummary summary = useCase.streamSimilarProducts("1", DEADLINE, streamed::add);
+
+        assertEquals(List.of(p2), streamed);
+        assertEquals(new SimilarProductsSummary("PARTIAL_SUCCESS", 2, 1), summary);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+    }
+
+    @Test
+    void streamSimilarProducts_shouldPropagateNotFound_beforeStreaming() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenThrow(new NotFoundException("not found"));
+
+        assertThrows(NotFoundException.class, () -> useCase.streamSimilarProducts("1", DEADLINE, detail -> fail()));
+    }
+
+    @Test
+    void getSimilarProductsBatch_shouldLookUpUnionOfSimilarIdsOnce() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3"));
+        when(productAdapter.getSimilarIds("5", DEADLINE)).thenReturn(List.of("3", "4"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenReturn(p3);
+        when(productAdapter.getProductDetail("4", DEADLINE)).thenReturn(p4);
+
+        Map<String, SimilarProductsLookup> result = useCase.getSimilarProductsBatch(List.of("1", "5", "1"), DEADLINE);
+
+        assertEquals(List.of("1", "5"), List.copyOf(result.keySet()));
+        assertEquals(List.of(p2, p3), result.get("1").products());
+        assertEquals(List.of(p3, p4), result.get("5").products());
+        verify(productAdapter).getProductDetails(List.of("2", "3", "4"), DEADLINE);
+        verify(productAdapter, times(1)).getProductDetail("3", DEADLINE);
+        verify(similarProductsCache).put("1", new SimilarProducts(List.of("2", "3"), List.of(p2, p3)));
+        verify(metrics, times(2)).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void getSimilarProductsBatch_shouldReportStatusPerEntry() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(similarProductsCache.getAll(List.of("1", "6", "7")))
+                .thenReturn(Map.of("1", new SimilarProducts(List.of("2"), List.of(p2))));
+        when(productAdapter.getSimilarIds("6", DEADLINE)).thenThrow(new NotFoundException("not found"));
+        when(productAdapter.getSimilarIds("7", DEADLINE)).thenThrow(new DeadlineExceededException("too late"));
+
+        Map<String, SimilarProductsLookup> result = useCase.getSimilarProductsBatch(List.of("1", "6", "7"), DEADLINE);
+
+        assertEquals(List.of(p2), result.get("1").products());
+        assertInstanceOf(NotFoundException.class, result.get("6").error());
+        assertInstanceOf(DeadlineExceededException.class, result.get("7").error());
+        verify(productAdapter, never()).getSimilarIds("1", DEADLINE);
+        verify(productAdapter, never()).getProductDetails(any(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.NOT_FOUND);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.DEADLINE_EXCEEDED);
+    }
+
+    @Test
+    void getSimilarProducts_shouldOnlyLookUpTheRequestedSlice() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "4", "5", "6"));
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, false);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenReturn(p3);
+        when(productAdapter.getProductDetail("4", DEADLINE)).thenReturn(p4);
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(1, 2, false), DEADLINE);
+
+        assertEquals(List.of(p3, p4), result);
+        verify(productAdapter).getProductDetails(List.of("3", "4"), DEADLINE);
+        verify(productAdapter, never()).getProductDetail("2", DEADLINE);
+        verify(productAdapter, never()).getProductDetail("5", DEADLINE);
+        verify(similarProductsCache, never()).put(any(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SUCCESS);
+    }
+
+    @Test
+    void getSimilarProducts_shouldKeepLookingUp_untilLimitAvailableProductsAreFound() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "4", "5", "6"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, false);
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenReturn(p3);
+        when(productAdapter.getProductDetail("4", DEADLINE)).thenReturn(p4);
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(0, 2, true), DEADLINE);
+
+        assertEquals(List.of(p3, p4), result);
+        verify(productAdapter).getProductDetails(List.of("2", "3"), DEADLINE);
+        verify(productAdapter).getProductDetails(List.of("4"), DEADLINE);
+        verify(productAdapter, never()).getProductDetail("5", DEADLINE);
+    }
+
+    @Test
+    void getSimilarProducts_shouldReturnRest_whenOffsetWithoutLimit() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "4", "5"));
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        ProductDetail p5 = new ProductDetail("5", "E", 50.0, false);
+        when(productAdapter.getProductDetail("4", DEADLINE)).thenReturn(p4);
+        when(productAdapter.getProductDetail("5", DEADLINE)).thenReturn(p5);
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1",
+                new SimilarProductsQuery(2, SimilarProductsQuery.UNLIMITED, false), DEADLINE);
+
+        assertEquals(List.of(p4, p5), result);
+        verify(productAdapter).getProductDetails(List.of("4", "5"), DEADLINE);
+    }
+
+    @Test
+    void getSimilarProducts_shouldReturnAvailableRest_whenOffsetWithoutLimit() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "4"));
+        ProductDetail p3 = new ProductDetail("3", "C", 30.0, false);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenReturn(p3);
+        when(productAdapter.getProductDetail("4", DEADLINE)).thenReturn(p4);
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1",
+                new SimilarProductsQuery(1, SimilarProductsQuery.UNLIMITED, true), DEADLINE);
+
+        assertEquals(List.of(p4), result);
+        verify(productAdapter, never()).getProductDetail("2", DEADLINE);
+    }
+
+    @Test
+    void getSimilarProducts_shouldNotWalkPastSlice_whenProductNotFound() {
+        when(productAdapter.getSimilarIds("1", DEADLINE)).thenReturn(List.of("2", "3", "4", "5"));
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        when(productAdapter.getProductDetail("2", DEADLINE)).thenReturn(p2);
+        when(productAdapter.getProductDetail("3", DEADLINE)).thenThrow(new NotFoundException("Not found"));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(0, 2, false), DEADLINE);
+
+        assertEquals(List.of(p2), result);
+        verify(productAdapter, never()).getProductDetail("4", DEADLINE);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
+    }
+
+    @Test
+    void getSimilarProducts_shouldNotWalkPastCachedSlice_whenProductNotFound() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, true);
+        when(similarProductsCache.get("1")).thenReturn(Optional.of(
+                new SimilarProducts(List.of("2", "3", "4"), List.of(p2, p4))));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(0, 2, false), DEADLINE);
+
+        assertEquals(List.of(p2), result);
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.SKIPPED_NOT_FOUND);
+    }
+
+    @Test
+    void getSimilarProducts_shouldSliceCachedResponse_withoutCallingUpstream() {
+        ProductDetail p2 = new ProductDetail("2", "B", 20.0, true);
+        ProductDetail p4 = new ProductDetail("4", "D", 40.0, false);
+        ProductDetail p5 = new ProductDetail("5", "E", 50.0, true);
+        when(similarProductsCache.get("1")).thenReturn(Optional.of(
+                new SimilarProducts(List.of("2", "3", "4", "5"), List.of(p2, p4, p5))));
+
+        List<ProductDetail> result = useCase.getSimilarProducts("1", new SimilarProductsQuery(1, 3, true), DEADLINE);
+
+        assertEquals(List.of(p5), result);
+        verify(productAdapter, never()).getSimilarIds(any(), any());
+        verify(productAdapter, never()).getProductDetails(any(), any());
+        verify(metrics).recordRequest(MetricsEndpoint.SIMILAR_PRODUCTS, MetricsType.PARTIAL_SUCCESS);
     }
 }
@@ -0,0 +1,88 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchRedisCacheTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+
+    private DistributionSummary entrySizes;
+
+    private BatchRedisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(30))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(StringRedisSerializer.UTF_8));
+        entrySizes = DistributionSummary.builder("cache.entry.size").register(new SimpleMeterRegistry());
+        cache = new BatchRedisCache("productDetail", cacheWriter, config, connectionFactory, entrySizes);
+    }
+
+    @Test
+    void getAll_shouldIssueSingleMget_andReturnOnlyHits() {
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(Arrays.asList(bytes("one"), null, bytes("three")));
+
+        Map<Object, Object> result = cache.getAll(List.of("1", "2", "3"));
+
+        assertEquals(Map.of("1", "one", "3", "three"), result);
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(stringCommands, times(1)).mGet(keys.capture());
+        assertEquals("productDetail::1", new String(keys.getValue()[0], StandardCharsets.UTF_8));
+        verify(connection).close();
+    }
+
+    @Test
+    void putAll_shouldWriteEntriesInOnePipelineWithTtl() {
+        cache.putAll(Map.of("1", "one", "2", "two"));
+
+        verify(connection, times(1)).openPipeline();
+        verify(stringCommands, times(2)).set(any(byte[].class), any(byte[].class),
+                eq(Expiration.from(Duration.ofMinutes(30))), eq(RedisStringCommands.SetOption.upsert()));
+        verify(connection, times(1)).closePipeline();
+        assertEquals(2, entrySizes.count());
+        assertEquals(6.0, entrySizes.totalAmount());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.domain.model.SimilarProducts;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCacheEntrySerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void productDetail_shouldRoundTrip_andBeSmallerThanJson() {
+        CacheEntry<ProductDetail> entry = new CacheEntry<>(new ProductDetail("1", "Shirt", 9.99, true), 1_700_000_000_000L);
+        RedisSerializer<CacheEntry<ProductDetail>> binary = serializers(CacheProperties.Codec.Format.BINARY,
+                CacheCompression.LZ4).productDetail();
+        RedisSerializer<CacheEntry<ProductDetail>> json = serializers(CacheProperties.Codec.Format.JSON,
+                CacheCompression.LZ4).productDetail();
+
+        byte[] bytes = binary.serialize(entry);
+
+        assertEquals(BinaryCacheEntrySerializer.MAGIC, bytes[0]);
+        assertEquals(entry, binary.deserialize(bytes));
+        assertTrue(bytes.length * 2 < json.serialize(entry).length);
+    }
+
+    @Test
+    void similarIdsAndNotFound_shouldRoundTrip_includingNonAsciiAndNullStrings() {
+        CacheSerializers serializers = serializers(CacheProperties.Codec.Format.BINARY, CacheCompression.NONE);
+        CacheEntry<List<String>> ids = new CacheEntry<>(List.of("2", "3", "ñ€"), 42);
+        CacheEntry<String> notFound = new CacheEntry<>("Product 1 not found", 42);
+        CacheEntry<ProductDetail> nullName = new CacheEntry<>(new ProductDetail("1", null, 0.0, false), 42);
+
+        assertEquals(ids, serializers.similarIds().deserialize(serializers.similarIds().serialize(ids)));
+        assertEquals(notFound, serializers.notFound().deserialize(serializers.notFound().serialize(notFound)));
+        assertEquals(nullName, serializers.productDetail().deserialize(serializers.productDetail().serialize(nullName)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = CacheCompression.class, names = {"DEFLATE", "LZ4"})
+    void largeValues_shouldBeCompressed_andRoundTrip(CacheCompression compression) {
+        List<ProductDetail> products = IntStream.range(0, 50)
+                .mapToObj(i -> new ProductDetail(String.valueOf(i), "Product name " + i, i * 1.5, i % 2 == 0))
+                .toList();
+        CacheEntry<SimilarProducts> entry = new CacheEntry<>(new SimilarProducts(
+                products.stream().map(ProductDetail::id).toList(), products), 42);
+        RedisSerializer<CacheEntry<SimilarProducts>> compressed =
+                serializers(CacheProperties.Codec.Format.BINARY, compression).similarProducts();
+        RedisSerializer<CacheEntry<SimilarProducts>> plain =
+                serializers(CacheProperties.Codec.Format.BINARY, CacheCompression.NONE).similarProducts();
+
+        byte[] bytes = compressed.serialize(entry);
+
+        assertEquals(compression.id(), bytes[2]);
+        assertTrue(bytes.length < plain.serialize(entry).length);
+        assertEquals(entry, compressed.deserialize(bytes));
+        assertEquals(entry, plain.deserialize(bytes));
+    }
+
+    @Test
+    void smallValues_shouldNotBeCompressed() {
+        CacheEntry<String> entry = new CacheEntry<>("Product 1 not found", 42);
+
+        byte[] bytes = serializers(CacheProperties.Codec.Format.BINARY, CacheCompression.LZ4).notFound().serialize(entry);
+
+        assertEquals(CacheCompression.NONE.id(), bytes[2]);
+    }
+
+    @Test
+    void shouldReadJsonEntries_andWriteJson_whenFormatIsJson() {
+        CacheEntry<ProductDetail> entry = new CacheEntry<>(new ProductDetail("1", "Shirt", 9.99, true), 42);
+        RedisSerializer<CacheEntry<ProductDetail>> json = serializers(CacheProperties.Codec.Format.JSON,
+                CacheCompression.LZ4).productDetail();
+        RedisSerializer<CacheEntry<ProductDetail>> binary = serializers(CacheProperties.Codec.Format.BINARY,
+                CacheCompression.LZ4).productDetail();
+
+        byte[] bytes = json.serialize(entry);
+
+        assertEquals('{', bytes[0]);
+        assertEquals(entry, binary.deserialize(bytes));
+        assertEquals(new ProductDetail("1", "A", 1.0, true), binary.deserialize(
+                "{\"id\":\"1\",\"name\":\"A\",\"price\":1.0,\"availability\":true}".getBytes(StandardCharsets.UTF_8)).value());
+    }
+
+    @Test
+    void shouldRoundTripETag_andReadEntriesWrittenWithoutOne() {
+        RedisSerializer<CacheEntry<ProductDetail>> serializer =
+                serializers(CacheProperties.Codec.Format.BINARY, CacheCompression.LZ4).productDetail();
+        CacheEntry<ProductDetail> entry = new CacheEntry<>(new ProductDetail("1", "Shirt", 9.99, true), 42, "\"v1\"");
+
+        assertEquals(entry, serializer.deserialize(serializer.serialize(entry)));
+
+        byte[] version1 = serializer.serialize(new CacheEntry<>(entry.value(), 42));
+        byte[] withoutETag = new byte[version1.length - 1];
+        System.arraycopy(version1, 0, withoutETag, 0, 11);
+        System.arraycopy(version1, 12, withoutETag, 11, version1.length - 12);
+        withoutETag[1] = 1;
+        assertEquals(new CacheEntry<>(entry.value(), 42), serializer.deserialize(withoutETag));
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() {
+        RedisSerializer<CacheEntry<String>> serializer =
+                serializers(CacheProperties.Codec.Format.BINARY, CacheCompression.NONE).notFound();
+        byte[] bytes = serializer.serialize(new CacheEntry<>("x", 42));
+        bytes[1] = 99;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    private CacheSerializers serializers(CacheProperties.Codec.Format format, CacheCompression compression) {
+        CacheProperties properties = new CacheProperties();
+        properties.getCodec().setFormat(format);
+        properties.getCodec().setCompression(compression);
+        properties.getCodec().setCompressionThreshold(DataSize.ofBytes(256));
+        return new CacheSerializers(objectMapper, properties);
+    }
+}
@@ -0,0 +1,115 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheRefresherTest {
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    private CacheProperties cacheProperties;
+
+    private CacheRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cacheProperties = new CacheProperties();
+        cacheProperties.getRefresh().setThreads(1);
+        cacheProperties.getRefresh().setQueueCapacity(1);
+        refresher = new CacheRefresher(cacheProperties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.destroy();
+    }
+
+    @Test
+    void refresh_shouldLoadWithRegisteredLoader_andStoreResult() throws Exception {
+        AtomicReference<Object> stored = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        refresher.register("similarIds", id -> "loaded-" + id);
+
+        assertTrue(refresher.refresh("similarIds", "1", value -> {
+            stored.set(value);
+            done.countDown();
+        }));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("loaded-1", ((CacheEntry<?>) stored.get()).value());
+        verify(metrics, timeout(5_000)).recordCacheRefresh("similarIds", CacheRefresher.SUCCESS);
+    }
+
+    @Test
+    void refresh_shouldHandTheCurrentEntryToTheLoader() throws Exception {
+        AtomicReference<CacheEntry<?>> stored = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        refresher.register("similarIds",
+                (id, current) -> CacheEntry.of(current.value() + "-revalidated", current.etag()));
+
+        assertTrue(refresher.refresh("similarIds", "1", new CacheEntry<>("cached", 42, "\"v1\""), entry -> {
+            stored.set(entry);
+            done.countDown();
+        }));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("cached-revalidated", stored.get().value());
+        assertEquals("\"v1\"", stored.get().etag());
+    }
+
+    @Test
+    void refresh_shouldSkipKeyAlreadyPending_andRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable blocking = () -> {
+            runs.incrementAndGet();
+            await(release);
+        };
+
+        assertTrue(refresher.refresh("productDetail", "1", blocking));
+        assertFalse(refresher.refresh("productDetail", "1", blocking));
+        assertTrue(refresher.refresh("productDetail", "2", blocking));
+        assertFalse(refresher.refresh("productDetail", "3", blocking));
+        release.countDown();
+
+        verify(metrics, timeout(5_000).times(2)).recordCacheRefresh("productDetail", CacheRefresher.SUCCESS);
+        verify(metrics).recordCacheRefresh("productDetail", CacheRefresher.REJECTED);
+        assertEquals(2, runs.get());
+        assertTrue(refresher.refresh("productDetail", "1", () -> { }));
+    }
+
+    @Test
+    void refresh_shouldRecordFailure_andDoNothingWhenDisabled() {
+        assertTrue(refresher.refresh("productDetail", "1", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        verify(metrics, timeout(5_000)).recordCacheRefresh("productDetail", CacheRefresher.FAILURE);
+
+        cacheProperties.getRefresh().setEnabled(false);
+        assertFalse(new CacheRefresher(cacheProperties, metrics).refresh("productDetail", "2", () -> { }));
+        assertFalse(refresher.refresh("unknown", "1", value -> { }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_shouldRoundTrip() throws IOException {
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        keys.put("productDetail", List.of("3", "1", "2"));
+        keys.put("similarIds", List.of("1"));
+        CacheSnapshot snapshot = new CacheSnapshot(keys);
+        Path file = dir.resolve("snapshots/hot-keys.bin");
+
+        snapshot.write(file);
+
+        assertEquals(snapshot, CacheSnapshot.read(file));
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void read_shouldRejectFilesThatAreNotSnapshots() {
+        assertThrows(IOException.class,
+                () -> CacheSnapshot.readFrom(new ByteArrayInputStream("productDetail:1\n".getBytes())));
+    }
+
+    @Test
+    void parseHotKeys_shouldIgnoreCommentsAndMalformedLines() {
+        CacheSnapshot snapshot = CacheSnapshot.parseHotKeys(List.of(
+                "# hottest products", "productDetail:1", "", "similarIds:1", "productDetail:2", "productDetail:1",
+                "no-cache", ":3", "similarIds:"));
+
+        assertEquals(Map.of("productDetail", List.of("1", "2"), "similarIds", List.of("1")), snapshot.keys());
+        assertEquals(3, snapshot.size());
+    }
+
+    @Test
+    void merge_shouldKeepOrderAndDropDuplicates() {
+        CacheSnapshot hotKeys = new CacheSnapshot(Map.of("productDetail", List.of("1", "2")));
+        CacheSnapshot written = new CacheSnapshot(Map.of("productDetail", List.of("2", "3"), "similarIds", List.of("1")));
+
+        CacheSnapshot merged = hotKeys.merge(written);
+
+        assertEquals(List.of("1", "2", "3"), merged.keys().get("productDetail"));
+        assertEquals(List.of("1"), merged.keys().get("similarIds"));
+        assertFalse(merged.isEmpty());
+        assertTrue(CacheSnapshot.EMPTY.isEmpty());
+    }
+}
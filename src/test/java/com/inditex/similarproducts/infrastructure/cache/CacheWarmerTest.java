@@ -0,0 +1,149 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.application.port.out.ProductPort;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.concurrency.FanOutExecutor;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+
+    @Mock
+    private ProductPort productPort;
+
+    @TempDir
+    Path dir;
+
+    private CacheProperties cacheProperties;
+
+    private ConcurrentMapCache productDetailCache;
+
+    private SimpleMeterRegistry registry;
+
+    private FanOutExecutor fanOut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cacheProperties = new CacheProperties();
+        productDetailCache = new ConcurrentMapCache("productDetail");
+        registry = new SimpleMeterRegistry();
+        fanOut = new FanOutExecutor(new FanOutProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOut.destroy();
+    }
+
+    @Test
+    void warmUp_shouldOnlyFetchTheKeysRedisDoesNotHave() {
+        productDetailCache.put("1", new ProductDetail("1", "A", 10.0, true));
+        doThrow(new NotFoundException("not found")).when(productPort).getProductDetail(eq("3"), any());
+        doThrow(new ExternalServiceException("boom", 500)).when(productPort).getSimilarIds(eq("4"), any());
+
+        Map<CacheWarmer.Result, Integer> results = warmer(100).warmUp(new CacheSnapshot(Map.of(
+                "productDetail", List.of("1", "2", "3"),
+                "similarIds", List.of("4"),
+                "unknown", List.of("5"))));
+
+        assertEquals(Map.of(CacheWarmer.Result.LOADED, 1, CacheWarmer.Result.FETCHED, 2, CacheWarmer.Result.FAILED, 1),
+                results);
+        verify(productPort, never()).getProductDetail(eq("1"), any());
+        verify(productPort).getProductDetail(eq("2"), any());
+        assertEquals(1.0, registry.get("cache.warmup.keys").tags("cache", "productDetail", "result", "loaded")
+                .counter().count());
+        assertEquals(1.0, registry.get("cache.warmup.keys").tags("cache", "similarIds", "result", "failed")
+                .counter().count());
+        assertEquals(1, registry.get("cache.warmup.duration").timer().count());
+    }
+
+    @Test
+    void warmUp_shouldSkipKeys_whenRateLimitOutlastsTimeout() {
+        cacheProperties.getWarmup().setTimeout(Duration.ofMillis(200));
+
+        Map<CacheWarmer.Result, Integer> results = warmer(1).warmUp(
+                new CacheSnapshot(Map.of("productDetail", List.of("1", "2", "3"))));
+
+        assertEquals(1, results.get(CacheWarmer.Result.FETCHED));
+        assertEquals(2, results.get(CacheWarmer.Result.SKIPPED));
+        verify(productPort, times(1)).getProductDetail(anyString(), any());
+    }
+
+    @Test
+    void warmUp_shouldNotWaitForPermitPastTimeout_whenRateLimiterWouldWaitLonger() {
+        cacheProperties.getWarmup().setTimeout(Duration.ofMillis(200));
+        long start = System.nanoTime();
+
+        Map<CacheWarmer.Result, Integer> results = warmer(1, Duration.ofSeconds(30)).warmUp(
+                new CacheSnapshot(Map.of("productDetail", List.of("1", "2", "3"))));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, results.get(CacheWarmer.Result.FETCHED));
+        assertEquals(2, results.get(CacheWarmer.Result.SKIPPED));
+    }
+
+    @Test
+    void run_shouldReadHotKeysListAndSnapshot() throws Exception {
+        Path hotKeys = Files.writeString(dir.resolve("hot-keys.txt"), "productDetail:1\n");
+        Path snapshot = dir.resolve("snapshot.bin");
+        new CacheSnapshot(Map.of("productDetail", List.of("2"), "similarIds", List.of("1"))).write(snapshot);
+        cacheProperties.getWarmup().setHotKeysFile(hotKeys.toString());
+        cacheProperties.getWarmup().setSnapshotFile(snapshot.toString());
+
+        warmer(100).run(null);
+
+        verify(productPort).getProductDetail(eq("1"), any());
+        verify(productPort).getProductDetail(eq("2"), any());
+        verify(productPort).getSimilarIds(eq("1"), any());
+    }
+
+    @Test
+    void run_shouldDoNothing_whenNoFileExists() {
+        cacheProperties.getWarmup().setSnapshotFile(dir.resolve("missing.bin").toString());
+
+        warmer(100).run(null);
+
+        verifyNoInteractions(productPort);
+    }
+
+    private CacheWarmer warmer(int permitsPerSecond) {
+        return warmer(permitsPerSecond, Duration.ofMillis(100));
+    }
+
+    private CacheWarmer warmer(int permitsPerSecond, Duration permitTimeout) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(productDetailCache, new ConcurrentMapCache("similarIds")));
+        cacheManager.afterPropertiesSet();
+        RateLimiterRegistry rateLimiters = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(permitsPerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(permitTimeout)
+                .build());
+        return new CacheWarmer(cacheProperties, cacheManager, productPort, fanOut, rateLimiters, registry);
+    }
+}
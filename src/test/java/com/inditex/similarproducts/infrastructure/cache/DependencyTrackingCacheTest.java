@@ -0,0 +1,149 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DependencyTrackingCacheTest {
+
+    private final DependencyIndex index = new InMemoryDependencyIndex();
+
+    private DependencyTrackingCacheManager manager;
+
+    private Cache similarProducts;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager delegate = new SimpleCacheManager();
+        delegate.setCaches(List.of(
+                new ConcurrentMapCache("productDetail"),
+                new ConcurrentMapCache("similarIds"),
+                new ConcurrentMapCache("similarProducts")));
+        delegate.afterPropertiesSet();
+        manager = new DependencyTrackingCacheManager(delegate, index, "similarProducts",
+                Set.of("productDetail", "similarIds"));
+        similarProducts = manager.getCache("similarProducts");
+        similarProducts.put("1", "assembled 1");
+        similarProducts.put("10", "assembled 10");
+        index.register("1", "productDetail", List.of("2", "3"));
+        index.register("10", "productDetail", List.of("3", "4"));
+        index.register("1", "similarIds", List.of("1"));
+    }
+
+    @Test
+    void put_shouldOnlyEvictResponsesContainingTheProduct() {
+        manager.getCache("productDetail").put("2", "detail 2");
+
+        assertNull(similarProducts.get("1"));
+        assertNotNull(similarProducts.get("10"));
+    }
+
+    @Test
+    void putAll_shouldEvictEveryDependentResponse() {
+        manager.getCache("productDetail").evict("5");
+        assertNotNull(similarProducts.get("1"));
+
+        CacheBatches.putAll(manager.getCache("productDetail"), Map.of("3", "detail 3"));
+
+        assertNull(similarProducts.get("1"));
+        assertNull(similarProducts.get("10"));
+    }
+
+    @Test
+    void put_ofUnchangedValue_shouldKeepDependentResponses() {
+        Cache productDetail = manager.getCache("productDetail");
+        productDetail.put("2", new CacheEntry<>("detail 2", 1));
+        similarProducts.put("1", "rebuilt 1");
+        index.register("1", "productDetail", List.of("2", "3"));
+
+        productDetail.put("2", new CacheEntry<>("detail 2", 2));
+
+        assertEquals("rebuilt 1", similarProducts.get("1").get());
+    }
+
+    @Test
+    void putAll_shouldOnlyEvictResponsesOfChangedValues() {
+        Cache productDetail = manager.getCache("productDetail");
+        CacheBatches.putAll(productDetail, Map.of("3", "detail 3", "4", "detail 4"));
+        similarProducts.put("1", "rebuilt 1");
+        similarProducts.put("10", "rebuilt 10");
+        index.register("1", "productDetail", List.of("2", "3"));
+        index.register("10", "productDetail", List.of("3", "4"));
+
+        CacheBatches.putAll(productDetail, Map.of("3", "detail 3", "4", "detail 4 changed"));
+
+        assertEquals("rebuilt 1", similarProducts.get("1").get());
+        assertNull(similarProducts.get("10"));
+    }
+
+    @Test
+    void put_ofEntryWithSameETag_shouldKeepDependentResponses() {
+        Cache productDetail = manager.getCache("productDetail");
+        productDetail.put("2", new CacheEntry<>("detail 2", 1, "\"v1\""));
+        similarProducts.put("1", "rebuilt 1");
+        index.register("1", "productDetail", List.of("2", "3"));
+
+        productDetail.put("2", new CacheEntry<>("detail 2", 2, "\"v1\""));
+
+        assertEquals("rebuilt 1", similarProducts.get("1").get());
+    }
+
+    @Test
+    void put_onTwoTierCache_shouldCompareWithLocalCopyWithoutReadingRedis() {
+        ConcurrentMapCache remote = spy(new ConcurrentMapCache("productDetail", false));
+        TwoTierCache twoTier = new TwoTierCache("productDetail", Caffeine.newBuilder().maximumSize(10).build(), remote,
+                mock(CacheInvalidationPublisher.class),
+                new MetricsRecorder(new SimpleMeterRegistry()).cacheMeters("productDetail", CacheMeters.TIER_L1));
+        List<Collection<?>> changes = new ArrayList<>();
+        Cache productDetail = new DependencyTrackingCache(twoTier, changes::add);
+
+        productDetail.put("2", new CacheEntry<>("detail 2", 1));
+        productDetail.put("2", new CacheEntry<>("detail 2", 2));
+        CacheBatches.putAll(productDetail, Map.of("2", new CacheEntry<>("detail 2", 3),
+                "3", new CacheEntry<>("detail 3", 3)));
+
+        assertEquals(List.of(List.of("2"), List.of("3")), changes);
+        verify(remote, never()).get(any());
+    }
+
+    @Test
+    void evict_ofSimilarIds_shouldEvictTheResponseOfThatProduct() {
+        manager.getCache("similarIds").evict("1");
+
+        assertNull(similarProducts.get("1"));
+        assertNotNull(similarProducts.get("10"));
+    }
+
+    @Test
+    void clear_ofComponentCache_shouldClearAllResponses() {
+        manager.getCache("productDetail").clear();
+
+        assertNull(similarProducts.get("1"));
+        assertNull(similarProducts.get("10"));
+    }
+
+    @Test
+    void dependencies_shouldBeConsumedByTheFirstInvalidation() {
+        manager.getCache("productDetail").put("3", "detail 3");
+        similarProducts.put("1", "rebuilt 1");
+
+        manager.getCache("productDetail").put("3", "detail 3 again");
+
+        assertEquals("rebuilt 1", similarProducts.get("1").get());
+    }
+}
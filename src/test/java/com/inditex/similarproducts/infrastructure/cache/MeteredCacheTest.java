@@ -0,0 +1,71 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeteredCacheTest {
+
+    private SimpleMeterRegistry registry;
+
+    private MeteredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new MeteredCache(new ConcurrentMapCache("similarIds", false),
+                new MetricsRecorder(registry).cacheMeters("similarIds", CacheMeters.TIER_REDIS));
+    }
+
+    @Test
+    void operations_shouldRecordHitsMissesPutsAndEvictions() {
+        cache.put("1", List.of("2"));
+        cache.putAll(Map.of("3", List.of("4"), "5", List.of("6")));
+
+        assertNotNull(cache.get("1"));
+        assertNull(cache.get("7"));
+        assertEquals(2, cache.getAll(List.of("3", "5", "8")).size());
+        cache.evict("1");
+
+        assertEquals(3.0, count("cache.tier.gets", "result", "hit"));
+        assertEquals(2.0, count("cache.tier.gets", "result", "miss"));
+        assertEquals(3.0, count("cache.tier.puts"));
+        assertEquals(1.0, count("cache.tier.evictions"));
+        assertEquals(0.0, count("cache.tier.errors"));
+        assertEquals(3, timerCount("get"));
+        assertEquals(2, timerCount("set"));
+    }
+
+    @Test
+    void get_shouldRecordErrorAndRethrow_whenDelegateFails() {
+        Cache failing = mock(Cache.class);
+        when(failing.get("1")).thenThrow(new IllegalStateException("connection refused"));
+        MeteredCache metered = new MeteredCache(failing,
+                new MetricsRecorder(registry).cacheMeters("similarIds", CacheMeters.TIER_REDIS));
+
+        assertThrows(IllegalStateException.class, () -> metered.get("1"));
+
+        assertEquals(1.0, count("cache.tier.errors"));
+        assertEquals(0.0, count("cache.tier.gets", "result", "miss"));
+        assertEquals(1, timerCount("get"));
+    }
+
+    private double count(String name, String... tags) {
+        return registry.get(name).tags("cache", "similarIds", "tier", "redis").tags(tags).counter().count();
+    }
+
+    private long timerCount(String operation) {
+        return registry.get("cache.tier.latency").tags("cache", "similarIds", "tier", "redis", "operation", operation)
+                .timer().count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotFoundCacheTest {
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    private NotFoundCache notFoundCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new ConcurrentMapCache(NotFoundCache.CACHE_NAME)));
+        cacheManager.afterPropertiesSet();
+        notFoundCache = new NotFoundCache(cacheManager, metrics);
+    }
+
+    @Test
+    void guard_shouldRememberNotFound_andFailFastAfterwards() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            NotFoundException ex = assertThrows(NotFoundException.class, () -> notFoundCache.guard("productDetail", "1", () -> {
+                calls.incrementAndGet();
+                throw new NotFoundException("Product 1 not found");
+            }));
+            assertEquals("Product 1 not found", ex.getMessage());
+        }
+
+        assertEquals(1, calls.get());
+        verify(metrics).recordNotFoundHit("productDetail");
+    }
+
+    @Test
+    void guard_shouldNotRememberOtherFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> notFoundCache.guard("productDetail", "1", () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("error");
+            }));
+        }
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void getAll_shouldOnlyReturnKeysOfTheSameCache() {
+        notFoundCache.put("productDetail", "1", "Product 1 not found");
+        notFoundCache.put("similarIds", "2", "Similar Ids not found for product 2");
+
+        Map<String, String> result = notFoundCache.getAll("productDetail", List.of("1", "2"));
+
+        assertEquals(Map.of("1", "Product 1 not found"), result);
+    }
+
+    @Test
+    void shouldDoNothing_whenCacheManagerHasNoNotFoundCache() {
+        SimpleCacheManager empty = new SimpleCacheManager();
+        empty.afterPropertiesSet();
+        NotFoundCache disabled = new NotFoundCache(empty, metrics);
+
+        disabled.put("productDetail", "1", "Product 1 not found");
+
+        assertEquals(Map.of(), disabled.getAll("productDetail", List.of("1")));
+        assertEquals("ok", disabled.guard("productDetail", "1", () -> "ok"));
+    }
+}
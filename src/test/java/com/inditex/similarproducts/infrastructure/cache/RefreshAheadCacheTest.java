@@ -0,0 +1,130 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshAheadCacheTest {
+
+    private static final Duration SOFT_TTL = Duration.ofMinutes(20);
+
+    @Mock
+    private CacheRefresher refresher;
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    private ConcurrentMapCache delegate;
+
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        delegate = new ConcurrentMapCache("productDetail", false);
+        cache = new RefreshAheadCache(delegate, SOFT_TTL, refresher, metrics);
+    }
+
+    @Test
+    void put_shouldStoreEntryWithWriteTime_andGetShouldUnwrapIt() {
+        ProductDetail detail = new ProductDetail("1", "A", 10.0, true);
+
+        cache.put("1", detail);
+
+        assertInstanceOf(CacheEntry.class, delegate.get("1").get());
+        assertEquals(detail, cache.get("1", ProductDetail.class));
+        verify(metrics).recordCacheEntryAge(eq("productDetail"), any(Duration.class));
+        verifyNoInteractions(refresher);
+    }
+
+    @Test
+    void put_shouldStoreEntryAsItIs_keepingItsETag() {
+        CacheEntry<ProductDetail> entry = CacheEntry.of(new ProductDetail("1", "A", 10.0, true), "\"v1\"");
+
+        cache.put("1", entry);
+        cache.putAll(Map.of("2", entry));
+
+        assertSame(entry, delegate.get("1").get());
+        assertSame(entry, delegate.get("2").get());
+        assertEquals(entry.value(), cache.get("1", ProductDetail.class));
+    }
+
+    @Test
+    void get_shouldServeStaleEntry_andScheduleRefreshThatStoresNewEntry() {
+        ProductDetail stale = new ProductDetail("1", "Old", 10.0, true);
+        ProductDetail fresh = new ProductDetail("1", "New", 12.0, true);
+        CacheEntry<ProductDetail> staleEntry =
+                new CacheEntry<>(stale, System.currentTimeMillis() - SOFT_TTL.toMillis() - 1_000, "\"v1\"");
+        delegate.put("1", staleEntry);
+
+        assertEquals(stale, cache.get("1", ProductDetail.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<CacheEntry<?>>> store = ArgumentCaptor.forClass(Consumer.class);
+        verify(refresher).refresh(eq("productDetail"), eq("1"), eq(staleEntry), store.capture());
+        CacheEntry<ProductDetail> freshEntry = CacheEntry.of(fresh, "\"v2\"");
+        store.getValue().accept(freshEntry);
+        assertEquals(fresh, cache.get("1", ProductDetail.class));
+        assertSame(freshEntry, delegate.get("1").get());
+    }
+
+    @Test
+    void getAll_shouldUnwrapHits_andRefreshOnlyStaleOnes() {
+        ProductDetail one = new ProductDetail("1", "A", 10.0, true);
+        ProductDetail two = new ProductDetail("2", "B", 20.0, true);
+        delegate.put("1", CacheEntry.of(one));
+        delegate.put("2", new CacheEntry<>(two, 0));
+
+        Map<Object, Object> result = cache.getAll(List.of("1", "2", "3"));
+
+        assertEquals(Map.of("1", one, "2", two), result);
+        verify(refresher).refresh(eq("productDetail"), eq("2"), eq(new CacheEntry<>(two, 0)), anyConsumer());
+        verify(refresher, never()).refresh(eq("productDetail"), eq("1"), any(CacheEntry.class), anyConsumer());
+    }
+
+    @Test
+    void getWithLoader_shouldStoreLoadedValueAsEntry() {
+        ProductDetail detail = new ProductDetail("1", "A", 10.0, true);
+
+        assertEquals(detail, cache.get("1", () -> detail));
+        assertEquals(detail, ((CacheEntry<?>) delegate.get("1").get()).value());
+    }
+
+    @Test
+    void serializer_shouldRoundTripEntries_andReadLegacyValuesAsDueForRefresh() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CacheEntrySerializer<ProductDetail> serializer =
+                new CacheEntrySerializer<>(objectMapper, objectMapper.constructType(ProductDetail.class));
+        CacheEntry<ProductDetail> entry = CacheEntry.of(new ProductDetail("1", "A", 10.0, true));
+        CacheEntry<ProductDetail> withETag = CacheEntry.of(entry.value(), "\"v1\"");
+
+        assertEquals(entry, serializer.deserialize(serializer.serialize(entry)));
+        assertEquals(withETag, serializer.deserialize(serializer.serialize(withETag)));
+
+        CacheEntry<ProductDetail> legacy = serializer.deserialize(
+                "{\"id\":\"1\",\"name\":\"A\",\"price\":10.0,\"availability\":true}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(entry.value(), legacy.value());
+        assertTrue(legacy.isOlderThan(SOFT_TTL));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<CacheEntry<?>> anyConsumer() {
+        return any(Consumer.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.inditex.similarproducts.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.domain.model.ProductDetail;
+import com.inditex.similarproducts.infrastructure.config.CacheProperties;
+import com.inditex.similarproducts.infrastructure.monitoring.CacheMeters;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private ConcurrentMapCache remote;
+
+    private SimpleMeterRegistry registry;
+
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        remote = spy(new ConcurrentMapCache("productDetail", false));
+        registry = new SimpleMeterRegistry();
+        cache = new TwoTierCache("productDetail", Caffeine.newBuilder().maximumSize(10).build(), remote, publisher,
+                new MetricsRecorder(registry).cacheMeters("productDetail", CacheMeters.TIER_L1));
+    }
+
+    @Test
+    void get_shouldServeFromLocalTier_afterFirstRemoteHit() {
+        ProductDetail detail = new ProductDetail("1", "A", 10.0, true);
+        remote.put("1", detail);
+
+        assertEquals(detail, cache.get("1", ProductDetail.class));
+        assertEquals(detail, cache.get("1", ProductDetail.class));
+
+        verify(remote, times(1)).get("1");
+        assertEquals(1.0, l1Gets("hit"));
+        assertEquals(1.0, l1Gets("miss"));
+    }
+
+    @Test
+    void get_shouldReturnNull_whenMissingInBothTiers() {
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    void getWithLoader_shouldLoadAndStoreInBothTiers() {
+        ProductDetail detail = new ProductDetail("1", "A", 10.0, true);
+
+        ProductDetail result = cache.get("1", () -> detail);
+
+        assertEquals(detail, result);
+        assertEquals(detail, remote.get("1", ProductDetail.class));
+        verify(publisher).publish("productDetail", "1");
+    }
+
+    @Test
+    void hottestKeys_shouldReturnTheLocalKeys() {
+        cache.put("1", new ProductDetail("1", "A", 10.0, true));
+        cache.put("2", new ProductDetail("2", "B", 20.0, true));
+
+        assertEquals(Set.of("1", "2"), Set.copyOf(cache.hottestKeys(10)));
+        assertEquals(1, cache.hottestKeys(1).size());
+    }
+
+    @Test
+    void evict_shouldRemoveFromBothTiersAndPublish() {
+        cache.put("1", new ProductDetail("1", "A", 10.0, true));
+
+        cache.evict("1");
+
+        assertNull(cache.get("1"));
+        verify(publisher, times(2)).publish("productDetail", "1");
+    }
+
+    @Test
+    void evictLocal_shouldKeepRemoteEntry() {
+        ProductDetail detail = new ProductDetail("1", "A", 10.0, true);
+        cache.put("1", detail);
+
+        cache.evictLocal("1");
+
+        assertEquals(detail, cache.get("1", ProductDetail.class));
+        verify(remote).get("1");
+    }
+
+    @Test
+    void getAll_shouldOnlyQueryRemoteForLocalMisses() {
+        ProductDetail one = new ProductDetail("1", "A", 10.0, true);
+        ProductDetail two = new ProductDetail("2", "B", 20.0, true);
+        cache.put("1", one);
+        remote.put("2", two);
+
+        Map<Object, Object> result = cache.getAll(List.of("1", "2", "3"));
+
+        assertEquals(Map.of("1", one, "2", two), result);
+        verify(remote, never()).get("1");
+        verify(remote).get("2");
+        assertEquals(1.0, l1Gets("hit"));
+        assertEquals(2.0, l1Gets("miss"));
+    }
+
+    @Test
+    void putAll_shouldStoreInBothTiersAndPublishOnce() {
+        ProductDetail one = new ProductDetail("1", "A", 10.0, true);
+        ProductDetail two = new ProductDetail("2", "B", 20.0, true);
+
+        cache.putAll(Map.of("1", one, "2", two));
+
+        assertEquals(one, remote.get("1", ProductDetail.class));
+        assertEquals(two, cache.get("2", ProductDetail.class));
+        verify(publisher).publishAll(eq("productDetail"), anyCollection());
+    }
+
+    @Test
+    void listener_shouldEvictLocalEntry_whenMessageComesFromAnotherNode() {
+        SimpleCacheManager remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(new ConcurrentMapCache("similarIds")));
+        remoteManager.afterPropertiesSet();
+        CacheProperties.L1 l1 = new CacheProperties.L1();
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                remoteManager, l1, Map.of("similarIds", Duration.ofHours(1)), publisher,
+                new MetricsRecorder(registry), new PinnedKeys());
+        Cache similarIds = manager.getCache("similarIds");
+        similarIds.put("1", List.of("2", "3"));
+        remoteManager.getCache("similarIds").put("1", List.of("4"));
+
+        CacheInvalidationListener listener = new CacheInvalidationListener(manager, "node-a");
+        listener.onMessage(message(new CacheInvalidation("node-a", "similarIds", List.of("1"))), null);
+        assertEquals(List.of("2", "3"), similarIds.get("1").get());
+
+        listener.onMessage(message(new CacheInvalidation("node-b", "similarIds", List.of("1"))), null);
+        assertEquals(List.of("4"), similarIds.get("1").get());
+    }
+
+    @Test
+    void pinnedKeys_shouldNotBeEvictedForSize() {
+        SimpleCacheManager remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(new ConcurrentMapCache("productDetail")));
+        remoteManager.afterPropertiesSet();
+        CacheProperties.L1 l1 = new CacheProperties.L1();
+        l1.setMaximumSize(10);
+        PinnedKeys pinnedKeys = new PinnedKeys();
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                remoteManager, l1, Map.of("productDetail", Duration.ofMinutes(30)), publisher,
+                new MetricsRecorder(registry), pinnedKeys);
+        TwoTierCache productDetail = (TwoTierCache) manager.getCache("productDetail");
+        productDetail.put("hot", new ProductDetail("hot", "A", 10.0, true));
+        pinnedKeys.pin("productDetail", Set.of("hot"));
+
+        for (int i = 0; i < 1_000; i++) {
+            productDetail.put(String.valueOf(i), new ProductDetail(String.valueOf(i), "B", 20.0, true));
+            productDetail.get(String.valueOf(i));
+        }
+        remoteManager.getCache("productDetail").clear();
+
+        assertNotNull(productDetail.get("hot"));
+        assertNull(productDetail.get("0"));
+    }
+
+    @Test
+    void cacheInvalidation_shouldRoundTrip() {
+        CacheInvalidation keyed = new CacheInvalidation("node", "productDetail", List.of("10", "20"));
+        CacheInvalidation clear = new CacheInvalidation("node", "productDetail", List.of());
+
+        assertEquals(keyed, CacheInvalidation.decode(keyed.encode()));
+        assertEquals(clear, CacheInvalidation.decode(clear.encode()));
+    }
+
+    private double l1Gets(String result) {
+        return registry.get("cache.tier.gets").tags("cache", "productDetail", "tier", "l1", "result", result)
+                .counter().count();
+    }
+
+    private static DefaultMessage message(CacheInvalidation invalidation) {
+        return new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                invalidation.encode().getBytes(StandardCharsets.UTF_8));
+    }
+}
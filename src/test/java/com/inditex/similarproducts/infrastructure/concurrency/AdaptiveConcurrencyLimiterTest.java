@@ -0,0 +1,110 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.infrastructure.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry registry;
+
+    private ConcurrencyLimitProperties props;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new ConcurrencyLimitProperties();
+        props.setInitialLimit(10);
+        props.setMinLimit(2);
+        props.setMaxLimit(100);
+        props.setBackoffRatio(0.5);
+        props.setShortWindow(1);
+        props.setLongWindow(1000);
+    }
+
+    @Test
+    void tryAcquire_shouldReject_whenLimitIsReached() {
+        props.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(System.nanoTime(), false);
+        assertTrue(limiter.tryAcquire());
+
+        assertEquals(1.0, registry.get("api.concurrency.rejected").counter().count());
+        assertEquals(2.0, registry.get("api.concurrency.in_flight").gauge().value());
+        assertEquals(2.0, registry.get("api.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void release_shouldDecreaseLimitOnce_whenLatencyExceedsLongTermLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+        long slowStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+
+        complete(limiter, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+        complete(limiter, slowStart);
+        assertEquals(5, limiter.getLimit());
+
+        complete(limiter, slowStart);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldDecreaseLimit_whenRequestIsDropped() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(System.nanoTime(), true);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldNotGoBelowMinLimit() {
+        props.setInitialLimit(3);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(System.nanoTime(), true);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldIncreaseLimit_whenLatencyIsStableAndLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10), false);
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldKeepLimit_whenLimitIsMostlyUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(props, registry);
+
+        for (int i = 0; i < 20; i++) {
+            complete(limiter, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(startNanos, false);
+    }
+}
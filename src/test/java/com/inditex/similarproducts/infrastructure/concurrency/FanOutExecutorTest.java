@@ -0,0 +1,98 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.infrastructure.config.FanOutProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutExecutorTest {
+
+    private FanOutExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void mapOrdered_shouldReturnResultsInInputOrder() {
+        executor = new FanOutExecutor(new FanOutProperties());
+
+        List<Integer> result = executor.mapOrdered(List.of(300, 100, 200), millis -> {
+            sleep(millis);
+            return millis;
+        });
+
+        assertEquals(List.of(300, 100, 200), result);
+    }
+
+    @Test
+    void mapOrdered_shouldReturnEmptyList_whenNoItems() {
+        executor = new FanOutExecutor(new FanOutProperties());
+
+        assertTrue(executor.mapOrdered(List.<String>of(), String::length).isEmpty());
+    }
+
+    @Test
+    void mapOrdered_shouldNotExceedPerRequestConcurrency() {
+        FanOutProperties props = new FanOutProperties();
+        props.setMaxConcurrencyPerRequest(3);
+        executor = new FanOutExecutor(props);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        executor.mapOrdered(IntStream.range(0, 12).boxed().toList(), i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(30);
+            inFlight.decrementAndGet();
+            return i;
+        });
+
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    void mapOrdered_shouldPropagateTaskException() {
+        executor = new FanOutExecutor(new FanOutProperties());
+
+        assertThrows(IllegalArgumentException.class, () -> executor.mapOrdered(List.of("a"), s -> {
+            throw new IllegalArgumentException("boom");
+        }));
+    }
+
+    @Test
+    void forEachCompleted_shouldHandOverResultsInCompletionOrder() {
+        executor = new FanOutExecutor(new FanOutProperties());
+        List<Integer> completed = new ArrayList<>();
+
+        executor.forEachCompleted(List.of(300, 100, 200), millis -> {
+            sleep(millis);
+            return millis;
+        }, completed::add);
+
+        assertEquals(List.of(100, 200, 300), completed);
+    }
+
+    @Test
+    void forEachCompleted_shouldPropagateConsumerException() {
+        executor = new FanOutExecutor(new FanOutProperties());
+
+        assertThrows(IllegalStateException.class, () -> executor.forEachCompleted(List.of(1, 2), i -> i, i -> {
+            throw new IllegalStateException("client gone");
+        }));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
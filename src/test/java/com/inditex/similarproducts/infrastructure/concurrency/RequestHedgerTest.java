@@ -0,0 +1,203 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.infrastructure.config.ExternalApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private static final String FLOW = "product_detail";
+
+    private SimpleMeterRegistry registry;
+
+    private ExternalApiProperties props;
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        props = new ExternalApiProperties();
+        props.getHedge().setEnabled(true);
+        props.getHedge().setDelay(Duration.ofMillis(20));
+        hedger = new RequestHedger(props, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.destroy();
+    }
+
+    @Test
+    void execute_shouldCallOnce_whenDisabled() {
+        props.getHedge().setEnabled(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("detail", hedger.execute(FLOW, () -> {
+            calls.incrementAndGet();
+            sleep(50);
+            return "detail";
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldNotHedge_whenFirstAttemptIsFast() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("detail", hedger.execute(FLOW, () -> {
+            calls.incrementAndGet();
+            return "detail";
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, registry.get("upstream.hedge.sent").counter().count());
+    }
+
+    @Test
+    void execute_shouldReturnHedge_whenFirstAttemptIsSlow() {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String result = hedger.execute(FLOW, () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, registry.get("upstream.hedge.sent").counter().count());
+        assertEquals(1.0, registry.get("upstream.hedge.won").counter().count());
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void execute_shouldAwaitOtherAttempt_whenFirstAnswerIsFailure() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(FLOW, () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(100);
+                return "primary";
+            }
+            throw new ExternalServiceException("boom", null, 500);
+        });
+
+        assertEquals("primary", result);
+        assertEquals(0.0, registry.get("upstream.hedge.won").counter().count());
+    }
+
+    @Test
+    void execute_shouldRethrowFirstFailure_whenBothAttemptsFail() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> hedger.execute(FLOW, () -> {
+            int call = calls.incrementAndGet();
+            sleep(call == 1 ? 100 : 0);
+            throw new ExternalServiceException("attempt " + call, null, 500);
+        }));
+
+        assertEquals("attempt 2", ex.getMessage());
+        assertEquals(1, ex.getSuppressed().length);
+    }
+
+    @Test
+    void execute_shouldReturnAtOnce_whenFirstAnswerIsNotFound() {
+        AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+
+        assertThrows(NotFoundException.class, () -> hedger.execute(FLOW, () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(50);
+                throw new NotFoundException("not found");
+            }
+            sleep(5_000);
+            return "hedge";
+        }));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void isCancelled_shouldBeTrue_forLosingAttempt() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean loserCancelled = new AtomicBoolean();
+        AtomicBoolean winnerCancelled = new AtomicBoolean(true);
+        CountDownLatch loserDone = new CountDownLatch(1);
+
+        hedger.execute(FLOW, () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(5_000);
+                loserCancelled.set(RequestHedger.isCancelled());
+                loserDone.countDown();
+                return "slow";
+            }
+            winnerCancelled.set(RequestHedger.isCancelled());
+            return "hedge";
+        });
+
+        assertTrue(loserDone.await(5, TimeUnit.SECONDS));
+        assertTrue(loserCancelled.get());
+        assertFalse(winnerCancelled.get());
+        assertFalse(RequestHedger.isCancelled());
+    }
+
+    @Test
+    void execute_shouldStopHedging_whenBudgetIsSpent() {
+        props.getHedge().setBudgetPercent(0);
+
+        for (int i = 0; i < 12; i++) {
+            hedger.execute(FLOW, () -> {
+                sleep(30);
+                return "slow";
+            });
+        }
+
+        assertEquals(10.0, registry.get("upstream.hedge.sent").counter().count());
+    }
+
+    @Test
+    void execute_shouldDeriveDelayFromRecentLatencies_whenNoDelayIsSet() {
+        props.getHedge().setDelay(null);
+        props.getHedge().setWindow(10);
+        props.getHedge().setMinDelay(Duration.ofMillis(1));
+
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(FLOW, () -> {
+                sleep(5);
+                return "detail";
+            });
+        }
+
+        double delay = registry.get("upstream.hedge.delay").gauge().value();
+        assertTrue(delay >= 0.005 && delay < 1, "delay " + delay);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.inditex.similarproducts.infrastructure.concurrency;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import com.inditex.similarproducts.infrastructure.monitoring.MetricsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 5;
+
+    @Mock
+    private MetricsRecorder metrics;
+
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        singleFlight = new SingleFlight(metrics);
+    }
+
+    @Test
+    void execute_shouldShareSingleCall_betweenConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute("productDetail", "1", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "detail";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("detail", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        verify(metrics, times(CALLERS - 1)).recordCoalesced("productDetail");
+    }
+
+    @Test
+    void execute_shouldPropagateSameFailure_toAllCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.<String>execute("similarIds", "1", () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new NotFoundException("not found");
+        }), release);
+
+        for (Future<String> result : results) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotFoundException.class, ex.getCause());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldNotCoalesce_differentKeysOrCaches() {
+        assertEquals("a", singleFlight.execute("productDetail", "1", () -> "a"));
+        assertEquals("b", singleFlight.execute("similarIds", "1", () -> "b"));
+        assertEquals("c", singleFlight.execute("productDetail", "1", () -> "c"));
+
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    void execute_shouldStopWaitingForCallInFlight_whenDeadlineOfFollowerPasses() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("productDetail", "1", () -> {
+            started.countDown();
+            await(release);
+            return "detail";
+        }));
+        await(started);
+
+        assertThrows(DeadlineExceededException.class,
+                () -> singleFlight.execute("productDetail", "1", Deadline.after(Duration.ofMillis(20)), () -> "own"));
+        release.countDown();
+        assertEquals("detail", leader.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_shouldStartNewCall_whenDeadlineOfLeaderPassesButNotOfFollower() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<String> leader = executor.submit(() -> singleFlight.<String>execute("productDetail", "1", () -> {
+            started.countDown();
+            await(release);
+            throw new DeadlineExceededException("Deadline exceeded calling product 1");
+        }));
+        await(started);
+        Future<String> follower = executor.submit(() -> singleFlight.execute("productDetail", "1",
+                Deadline.after(Duration.ofSeconds(5)), () -> "own"));
+        verify(metrics, timeout(1000)).recordCoalesced("productDetail");
+
+        release.countDown();
+
+        Exception ex = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, ex.getCause());
+        assertEquals("own", follower.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void executeAsync_shouldShareSingleCall_untilItCompletes() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("productDetail", "1", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("productDetail", "1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        second.cancel(true);
+        upstream.complete("detail");
+
+        assertEquals("detail", first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.isCancelled());
+        assertEquals(1, calls.get());
+        verify(metrics).recordCoalesced("productDetail");
+        assertEquals("next", singleFlight.executeAsync("productDetail", "1",
+                () -> CompletableFuture.completedFuture("next")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executeAsync_shouldPropagateFailure_unwrapped() {
+        CompletableFuture<String> result = singleFlight.executeAsync("similarIds", "1",
+                () -> CompletableFuture.supplyAsync(() -> {
+                    throw new NotFoundException("not found");
+                }));
+
+        Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NotFoundException.class, ex.getCause());
+    }
+
+    private List<Future<String>> runConcurrently(Callable<String> call, CountDownLatch release)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        // wait until every follower joined the flight of the leader
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mockingDetails(metrics).getInvocations().size() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
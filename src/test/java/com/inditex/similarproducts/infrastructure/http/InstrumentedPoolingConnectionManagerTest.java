@@ -0,0 +1,47 @@
+package com.inditex.similarproducts.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedPoolingConnectionManagerTest {
+
+    private SimpleMeterRegistry registry;
+
+    private InstrumentedPoolingConnectionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        manager = new InstrumentedPoolingConnectionManager(registry);
+        manager.setMaxTotal(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close(CloseMode.IMMEDIATE);
+    }
+
+    @Test
+    void lease_shouldRecordWaitTime_andExposeOccupancy() throws Exception {
+        HttpRoute route = new HttpRoute(new HttpHost("http", "localhost", 3001));
+
+        ConnectionEndpoint endpoint = manager.lease("1", route, Timeout.ofSeconds(1), null).get(Timeout.ofSeconds(1));
+
+        assertEquals(1, registry.get("upstream.http.pool.wait").timer().count());
+        assertEquals(1.0, registry.get("upstream.http.pool.connections").tag("state", "leased").gauge().value());
+        assertEquals(10.0, registry.get("upstream.http.pool.connections").tag("state", "max").gauge().value());
+
+        manager.release(endpoint, null, TimeValue.ZERO_MILLISECONDS);
+        assertEquals(0.0, registry.get("upstream.http.pool.connections").tag("state", "leased").gauge().value());
+    }
+}
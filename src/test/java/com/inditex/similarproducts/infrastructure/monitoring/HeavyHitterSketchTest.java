@@ -0,0 +1,58 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    void add_shouldNeverUndercount() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1024, 4, 10);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("key-" + (i % 50));
+        }
+
+        assertTrue(sketch.add("key-7") >= 11);
+        assertEquals(501, sketch.total());
+    }
+
+    @Test
+    void top_shouldKeepTheHeaviestKeys_heaviestFirst() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1024, 4, 3);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("cold-" + i);
+            if (i % 2 == 0) {
+                sketch.add("hot");
+            }
+            if (i % 5 == 0) {
+                sketch.add("warm");
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = sketch.top();
+
+        assertEquals(3, top.size());
+        assertEquals("hot", top.get(0).getKey());
+        assertEquals("warm", top.get(1).getKey());
+        assertTrue(top.get(0).getValue() >= 500);
+    }
+
+    @Test
+    void add_shouldHalveCounts_everySample() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(16, 2, 1);
+        for (int i = 0; i < 159; i++) {
+            sketch.add("hot");
+        }
+
+        assertEquals(159, sketch.top().get(0).getValue());
+
+        sketch.add("hot");
+
+        assertEquals(80, sketch.total());
+        assertEquals(80, sketch.top().get(0).getValue());
+    }
+}
@@ -0,0 +1,77 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import com.inditex.similarproducts.infrastructure.cache.PinnedKeys;
+import com.inditex.similarproducts.infrastructure.config.HotKeysProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest {
+
+    private HotKeysProperties props;
+
+    private PinnedKeys pinnedKeys;
+
+    private SimpleMeterRegistry registry;
+
+    private HotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        props = new HotKeysProperties();
+        props.getPinning().setMinShare(0.2);
+        pinnedKeys = new PinnedKeys();
+        registry = new SimpleMeterRegistry();
+        tracker = new HotKeyTracker(props, pinnedKeys, registry);
+    }
+
+    @Test
+    void refresh_shouldPinKeysAboveTheMinShare_inTheCachesOfTheirDimension() {
+        for (int i = 0; i < 100; i++) {
+            tracker.record(HotKeyTracker.SIMILAR_PRODUCTS, i % 2 == 0 ? "1" : "other-" + i);
+        }
+        tracker.recordAll(HotKeyTracker.PRODUCT_DETAIL, List.of("2", "3", "4", "5", "6", "7"));
+
+        tracker.refresh();
+
+        assertEquals(Set.of("1"), pinnedKeys.get("similarIds"));
+        assertEquals(Set.of("1"), pinnedKeys.get("similarProducts"));
+        assertEquals(Set.of(), pinnedKeys.get("productDetail"));
+        HotKeyTracker.HotKey hottest = tracker.top(HotKeyTracker.SIMILAR_PRODUCTS).get(0);
+        assertEquals("1", hottest.key());
+        assertTrue(hottest.pinned());
+        assertEquals(0.5, hottest.share(), 0.05);
+        assertEquals(1.0, registry.get("hotkeys.pinned").tag("dimension", "similarProducts").gauge().value());
+        assertEquals(50.0, registry.get("hotkeys.top.estimate").tags("dimension", "similarProducts", "rank", "1")
+                .gauge().value(), 5.0);
+    }
+
+    @Test
+    void refresh_shouldUnpinKeys_whenPinningIsDisabled() {
+        for (int i = 0; i < 10; i++) {
+            tracker.record(HotKeyTracker.PRODUCT_DETAIL, "2");
+        }
+        tracker.refresh();
+        assertEquals(Set.of("2"), pinnedKeys.get("productDetail"));
+
+        props.getPinning().setEnabled(false);
+        tracker.refresh();
+
+        assertEquals(Set.of(), pinnedKeys.get("productDetail"));
+    }
+
+    @Test
+    void record_shouldBeIgnored_whenDisabled() {
+        props.setEnabled(false);
+
+        tracker.record(HotKeyTracker.PRODUCT_DETAIL, "2");
+
+        assertTrue(tracker.top(HotKeyTracker.PRODUCT_DETAIL).isEmpty());
+        assertNull(tracker.top("unknown"));
+    }
+}
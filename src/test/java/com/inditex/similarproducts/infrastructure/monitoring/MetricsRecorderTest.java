@@ -0,0 +1,125 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRecorderTest {
+
+    private SimpleMeterRegistry registry;
+
+    private MetricsRecorder metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MetricsRecorder(registry);
+    }
+
+    @Test
+    void constructor_shouldRegisterCountersAndTimersOfEveryFlow() {
+        for (String flow : MetricsEndpoint.FLOWS) {
+            for (MetricsType type : MetricsType.values()) {
+                assertNotNull(registry.find("api.requests").tags("flow", flow, "type", type.getValue()).counter());
+            }
+            assertNotNull(registry.find("api.latency").tag("flow", flow).timer());
+        }
+    }
+
+    @Test
+    void recordRequest_shouldIncrementCounterOfFlowAndType() {
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_IDS, MetricsType.NOT_FOUND);
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_IDS, MetricsType.NOT_FOUND);
+        metrics.recordRequest(MetricsEndpoint.SIMILAR_IDS, MetricsType.SUCCESS);
+
+        assertEquals(2.0, counter(MetricsEndpoint.SIMILAR_IDS, MetricsType.NOT_FOUND).count());
+        assertEquals(1.0, counter(MetricsEndpoint.SIMILAR_IDS, MetricsType.SUCCESS).count());
+        assertEquals(0.0, counter(MetricsEndpoint.PRODUCT_DETAIL, MetricsType.NOT_FOUND).count());
+    }
+
+    @Test
+    void recordRequest_shouldRegisterCounters_whenFlowIsUnknown() {
+        metrics.recordRequest("other", MetricsType.ERROR);
+
+        assertEquals(1.0, counter("other", MetricsType.ERROR).count());
+    }
+
+    @Test
+    void recordLatency_shouldRecordElapsedTimeOfFlow() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50);
+
+        metrics.recordLatency(MetricsEndpoint.PRODUCT_DETAIL, start);
+
+        Timer timer = registry.get("api.latency").tag("flow", MetricsEndpoint.PRODUCT_DETAIL).timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    void recordCoalesced_shouldIncrementCounterOfEachCache() {
+        metrics.recordCoalesced("productDetail");
+        metrics.recordCoalesced("productDetail");
+        metrics.recordCoalesced("similarIds");
+
+        assertEquals(2.0, registry.get("cache.coalesced").tag("cache", "productDetail").counter().count());
+        assertEquals(1.0, registry.get("cache.coalesced").tag("cache", "similarIds").counter().count());
+    }
+
+    @Test
+    void recordCacheRefresh_shouldIncrementSameCounterOfCacheAndResult() {
+        metrics.recordCacheRefresh("productDetail", "success");
+        Counter counter = registry.get("cache.refresh").tags("cache", "productDetail", "result", "success").counter();
+        metrics.recordCacheRefresh("productDetail", "success");
+        metrics.recordCacheRefresh("productDetail", "failure");
+
+        assertSame(counter, registry.get("cache.refresh").tags("cache", "productDetail", "result", "success").counter());
+        assertEquals(2.0, counter.count());
+        assertEquals(1.0, registry.get("cache.refresh").tags("cache", "productDetail", "result", "failure")
+                .counter().count());
+    }
+
+    @Test
+    void recordCacheEntryAge_shouldRecordIntoTimerOfCache() {
+        metrics.recordCacheEntryAge("similarIds", Duration.ofSeconds(1));
+        metrics.recordCacheEntryAge("similarIds", Duration.ofSeconds(3));
+
+        Timer timer = registry.get("cache.entry.age").tag("cache", "similarIds").timer();
+        assertEquals(2, timer.count());
+        assertEquals(4, timer.totalTime(TimeUnit.SECONDS));
+        assertEquals(1, registry.find("cache.entry.age").timers().size());
+    }
+
+    @Test
+    void recordNotFoundHit_shouldIncrementCounterOfEachCache() {
+        metrics.recordNotFoundHit("productDetail");
+        metrics.recordNotFoundHit("productDetail");
+        metrics.recordNotFoundHit("similarIds");
+
+        assertEquals(2.0, registry.get("cache.not_found.hits").tag("cache", "productDetail").counter().count());
+        assertEquals(1.0, registry.get("cache.not_found.hits").tag("cache", "similarIds").counter().count());
+    }
+
+    @Test
+    void assembledCacheGets_shouldRegisterHitAndMissCountersOfCache() {
+        Counter hits = metrics.assembledCacheGets("similarProducts", true);
+        Counter misses = metrics.assembledCacheGets("similarProducts", false);
+        hits.increment();
+
+        assertEquals(1.0, registry.get("cache.assembled.gets").tags("cache", "similarProducts", "result", "hit")
+                .counter().count());
+        assertEquals(0.0, registry.get("cache.assembled.gets").tags("cache", "similarProducts", "result", "miss")
+                .counter().count());
+        assertNotSame(hits, misses);
+    }
+
+    private Counter counter(String flow, MetricsType type) {
+        return registry.get("api.requests").tags("flow", flow, "type", type.getValue()).counter();
+    }
+}
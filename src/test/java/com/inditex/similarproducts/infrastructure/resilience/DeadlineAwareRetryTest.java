@@ -0,0 +1,160 @@
+package com.inditex.similarproducts.infrastructure.resilience;
+
+import com.inditex.similarproducts.domain.exception.DeadlineExceededException;
+import com.inditex.similarproducts.domain.exception.ExternalServiceException;
+import com.inditex.similarproducts.domain.exception.NotFoundException;
+import com.inditex.similarproducts.domain.model.Deadline;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareRetryTest {
+
+    private static final String NAME = "productDetail";
+
+    private SimpleMeterRegistry registry;
+
+    private DeadlineAwareRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(50))
+                .ignoreExceptions(NotFoundException.class)
+                .build());
+        retry = new DeadlineAwareRetry(retryRegistry, registry);
+    }
+
+    @Test
+    void execute_shouldRetryFailures_untilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retry.execute(NAME, Deadline.after(Duration.ofSeconds(5)), () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ExternalServiceException("boom", 500);
+            }
+            return "detail";
+        });
+
+        assertEquals("detail", result);
+        assertEquals(2.0, registry.get("upstream.retries").tag("result", "retried").counter().count());
+        assertEquals(2, registry.get("upstream.retry.budget").timer().count());
+    }
+
+    @Test
+    void execute_shouldNotRetryIgnoredExceptions() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(NotFoundException.class, () -> retry.execute(NAME, Deadline.none(), () -> {
+            calls.incrementAndGet();
+            throw new NotFoundException("not found");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldRethrowLastFailure_whenBackoffOutlastsDeadline() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ExternalServiceException.class, () -> retry.execute(NAME, Deadline.after(Duration.ofMillis(30)), () -> {
+            calls.incrementAndGet();
+            throw new ExternalServiceException("boom", 500);
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, registry.get("upstream.retries").tag("result", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    void execute_shouldNotStartCall_whenDeadlineHasPassed() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(DeadlineExceededException.class, () -> retry.execute(NAME, Deadline.after(Duration.ZERO), () -> {
+            calls.incrementAndGet();
+            return "detail";
+        }));
+
+        assertEquals(0, calls.get());
+        assertEquals(1.0, registry.get("upstream.deadline.exceeded").counter().count());
+    }
+
+    @Test
+    void execute_shouldReportDeadlineExceeded_whenCallFailsPastDeadline() {
+        ExternalServiceException timeout = new ExternalServiceException("read timed out", 500);
+
+        DeadlineExceededException ex = assertThrows(DeadlineExceededException.class,
+                () -> retry.execute(NAME, Deadline.after(Duration.ofMillis(10)), () -> {
+                    sleep(20);
+                    throw timeout;
+                }));
+
+        assertSame(timeout, ex.getCause());
+        assertEquals(1.0, registry.get("upstream.deadline.exceeded").counter().count());
+    }
+
+    @Test
+    void executeReactive_shouldResubscribeFailures_untilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ExternalServiceException("boom", 500);
+            }
+            return "detail";
+        });
+
+        assertEquals("detail", retry.execute(NAME, Deadline.after(Duration.ofSeconds(5)), call).block());
+        assertEquals(3, calls.get());
+        assertEquals(2.0, registry.get("upstream.retries").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    void executeReactive_shouldGiveUp_whenBackoffOutlastsDeadline() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new ExternalServiceException("boom", 500));
+        });
+
+        assertThrows(ExternalServiceException.class,
+                () -> retry.execute(NAME, Deadline.after(Duration.ofMillis(30)), call).block());
+        assertEquals(1, calls.get());
+        assertEquals(1.0, registry.get("upstream.retries").tag("result", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    void executeReactive_shouldCutAttemptShort_whenDeadlinePasses() {
+        Mono<String> call = Mono.delay(Duration.ofSeconds(5)).thenReturn("detail");
+
+        assertThrows(DeadlineExceededException.class,
+                () -> retry.execute(NAME, Deadline.after(Duration.ofMillis(20)), call).block(Duration.ofSeconds(1)));
+        assertEquals(1.0, registry.get("upstream.deadline.exceeded").counter().count());
+    }
+
+    @Test
+    void executeReactive_shouldNotSubscribe_whenDeadlineHasPassed() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(DeadlineExceededException.class, () -> retry.execute(NAME, Deadline.after(Duration.ZERO),
+                Mono.fromCallable(calls::incrementAndGet)).block());
+        assertEquals(0, calls.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
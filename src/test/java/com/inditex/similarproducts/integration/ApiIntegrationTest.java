@@ -59,6 +59,7 @@ class ApiIntegrationTest {
     static void registerDynamicProperties(DynamicPropertyRegistry registry) {
         registry.add("external.api.base-url", () -> "http://localhost:" + mockExternalApi.port());
         registry.add("spring.main.allow-bean-definition-overriding", () -> "true");
+        registry.add("cache.l1.invalidation-enabled", () -> "false");
     }
 
     @TestConfiguration